@@ -1,19 +1,93 @@
 public abstract class AbstractDuration implements Duration {
+  // "00" through "99", two characters per number, so a two-digit field is two array reads.
+  private static final char[] DIGIT_PAIRS = new char[200];
+  // The longest hour field is an int with its sign, then ":MM:SS".
+  private static final int MAX_HMS_LENGTH = 17;
+
+  static {
+    for (int i = 0; i < 100; i++) {
+      DIGIT_PAIRS[2 * i] = (char) ('0' + i / 10);
+      DIGIT_PAIRS[2 * i + 1] = (char) ('0' + i % 10);
+    }
+  }
+
+  // Durations are immutable, so the rendered string never changes. Racing threads at worst
+  // render it twice.
+  private String hms;
 
   @Override
   public String asHms() {
-    return String.format("%02d:%02d:%02d", this.hoursOf(this.inSeconds()), this.minutesOf(this.inSeconds()), this.secondsOf(this.inSeconds()));
+    String result = this.hms;
+    if (result == null) {
+      char[] buffer = new char[MAX_HMS_LENGTH];
+      result = new String(buffer, 0, this.formatHmsTo(buffer, 0));
+      this.hms = result;
+    }
+    return result;
   }
 
   @Override
-  public int compareTo(Duration other) {
-    long difference = this.inSeconds() - other.inSeconds();
-    if (difference < 0) {
-      return -1;
-    } else if (difference > 0) {
-      return 1;
+  public void formatHmsTo(StringBuilder out) {
+    long total = this.inSeconds();
+    int hours = this.hoursOf(total);
+    if (hours >= 0 && hours < 100) {
+      appendPair(hours, out);
+    } else {
+      out.append(hours);
     }
-    return 0;
+    appendPair(this.minutesOf(total), out.append(':'));
+    appendPair(this.secondsOf(total), out.append(':'));
+  }
+
+  @Override
+  public int formatHmsTo(char[] buffer, int offset) {
+    long total = this.inSeconds();
+    int hours = this.hoursOf(total);
+    int position;
+    if (hours >= 0 && hours < 100) {
+      position = writePair(hours, buffer, offset);
+    } else if (hours > 0) {
+      position = offset + digitCount(hours);
+      for (int i = position - 1; i >= offset; i--) {
+        buffer[i] = (char) ('0' + hours % 10);
+        hours /= 10;
+      }
+    } else {
+      // Only reachable when the hours overflow an int, exactly as String.format would show.
+      String digits = Integer.toString(hours);
+      digits.getChars(0, digits.length(), buffer, offset);
+      position = offset + digits.length();
+    }
+    buffer[position] = ':';
+    position = writePair(this.minutesOf(total), buffer, position + 1);
+    buffer[position] = ':';
+    return writePair(this.secondsOf(total), buffer, position + 1);
+  }
+
+  private static void appendPair(int value, StringBuilder out) {
+    out.append(DIGIT_PAIRS[2 * value]).append(DIGIT_PAIRS[2 * value + 1]);
+  }
+
+  private static int writePair(int value, char[] buffer, int offset) {
+    buffer[offset] = DIGIT_PAIRS[2 * value];
+    buffer[offset + 1] = DIGIT_PAIRS[2 * value + 1];
+    return offset + 2;
+  }
+
+  private static int digitCount(int value) {
+    int count = 1;
+    while (value >= 10) {
+      value /= 10;
+      count++;
+    }
+    return count;
+  }
+
+  @Override
+  public int compareTo(Duration other) {
+    // Long.compare compiles to a branch-free compare, and unlike subtracting the two
+    // lengths it cannot overflow.
+    return Long.compare(this.inSeconds(), other.inSeconds());
   }
 
   @Override
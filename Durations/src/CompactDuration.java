@@ -1,4 +1,6 @@
 public class CompactDuration extends AbstractDuration {
+  private static final DurationCache CACHE = new DurationCache(CompactDuration::new);
+
   private final long seconds;
 
   CompactDuration(long seconds) {
@@ -13,7 +15,18 @@ public class CompactDuration extends AbstractDuration {
     return this.seconds;
   }
 
+  /**
+   * Returns a compact duration of the given number of seconds, shared for common values.
+   *
+   * @param seconds the number of seconds
+   * @return the duration
+   * @throws IllegalArgumentException if the seconds are negative
+   */
+  static Duration of(long seconds) {
+    return CACHE.get(seconds);
+  }
+
   protected Duration fromDuration(long seconds) {
-    return new CompactDuration(seconds);
+    return of(seconds);
   }
 }
@@ -0,0 +1,86 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A running total of durations that many threads can add to at once. The count of seconds
+ * is striped across cells of a {@link LongAdder}, so threads adding at the same time rarely
+ * contend, and adding creates no objects. Reading the total while threads are still adding
+ * gives a value that may miss their latest additions.
+ *
+ * <p>Adding does not check for overflow, since that would need the sum of every cell.
+ * Instead, reading a total past {@link Long#MAX_VALUE} seconds throws. Since no addition is
+ * negative, such a total shows as a negative sum, unless it grows past 2<sup>64</sup>
+ * seconds between two reads.
+ */
+public class ConcurrentDurationAccumulator {
+  private final LongAdder seconds;
+
+  /**
+   * Creates an accumulator with a total of zero.
+   */
+  public ConcurrentDurationAccumulator() {
+    this.seconds = new LongAdder();
+  }
+
+  /**
+   * Adds the given duration to the total.
+   *
+   * @param duration the duration to add
+   */
+  public void add(Duration duration) {
+    this.seconds.add(duration.inSeconds());
+  }
+
+  /**
+   * Adds the given number of seconds to the total.
+   *
+   * @param seconds the number of seconds to add
+   * @throws IllegalArgumentException if the seconds are negative
+   */
+  public void addSeconds(long seconds) {
+    if (seconds < 0) {
+      throw new IllegalArgumentException("Seconds cannot be negative");
+    }
+    this.seconds.add(seconds);
+  }
+
+  /**
+   * Adds the total of another accumulator to this one.
+   *
+   * @param other the accumulator whose total is added
+   * @throws ArithmeticException if the other total has overflowed a long
+   */
+  public void combine(ConcurrentDurationAccumulator other) {
+    this.seconds.add(other.inSeconds());
+  }
+
+  /**
+   * Returns the total so far in seconds.
+   *
+   * @return the total number of seconds
+   * @throws ArithmeticException if the total has overflowed a long
+   */
+  public long inSeconds() {
+    long total = this.seconds.sum();
+    if (total < 0) {
+      throw new ArithmeticException("long overflow");
+    }
+    return total;
+  }
+
+  /**
+   * Returns the total so far as a duration.
+   *
+   * @return the total duration
+   * @throws ArithmeticException if the total has overflowed a long
+   */
+  public Duration toDuration() {
+    return Duration.ofSeconds(this.inSeconds());
+  }
+
+  /**
+   * Sets the total back to zero. Additions made while resetting may be lost.
+   */
+  public void reset() {
+    this.seconds.reset();
+  }
+}
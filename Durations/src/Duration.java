@@ -3,6 +3,18 @@
  */
 public interface Duration extends Comparable<Duration> {
 
+  /**
+   * Returns a duration of the given number of seconds. Common values (by default, anything
+   * under a day) are shared instances, so asking for them again does not allocate.
+   *
+   * @param seconds the number of seconds
+   * @return the duration
+   * @throws IllegalArgumentException if the seconds are negative
+   */
+  static Duration ofSeconds(long seconds) {
+    return CompactDuration.of(seconds);
+  }
+
   /**
    * Return the value of this duration in terms of seconds.
    *
@@ -12,6 +24,24 @@ public interface Duration extends Comparable<Duration> {
 
   String asHms();
 
+  /**
+   * Appends this duration to the given builder exactly as {@link #asHms()} formats it,
+   * without creating any intermediate objects.
+   *
+   * @param out the builder to append to
+   */
+  void formatHmsTo(StringBuilder out);
+
+  /**
+   * Writes this duration into the given buffer exactly as {@link #asHms()} formats it,
+   * without creating any intermediate objects.
+   *
+   * @param buffer the buffer to write to, with room for at least 17 characters
+   * @param offset the position of the first character to write
+   * @return the position just after the last character written
+   */
+  int formatHmsTo(char[] buffer, int offset);
+
   Duration add(Duration other);
 
   /**
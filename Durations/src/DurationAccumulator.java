@@ -0,0 +1,76 @@
+/**
+ * A running total of durations kept as a single primitive count of seconds. Adding to it
+ * creates no objects; a {@link Duration} is only made when the total is asked for. It is
+ * not safe to share between threads; see {@link ConcurrentDurationAccumulator} for that.
+ * A total past {@link Long#MAX_VALUE} seconds cannot be represented, so the addition that
+ * would reach it throws instead of wrapping to a negative total.
+ */
+public class DurationAccumulator {
+  private long seconds;
+
+  /**
+   * Creates an accumulator with a total of zero.
+   */
+  public DurationAccumulator() {
+    this.seconds = 0;
+  }
+
+  /**
+   * Adds the given duration to the total.
+   *
+   * @param duration the duration to add
+   * @throws ArithmeticException if the total would overflow a long
+   */
+  public void add(Duration duration) {
+    this.seconds = Math.addExact(this.seconds, duration.inSeconds());
+  }
+
+  /**
+   * Adds the given number of seconds to the total.
+   *
+   * @param seconds the number of seconds to add
+   * @throws IllegalArgumentException if the seconds are negative
+   * @throws ArithmeticException      if the total would overflow a long
+   */
+  public void addSeconds(long seconds) {
+    if (seconds < 0) {
+      throw new IllegalArgumentException("Seconds cannot be negative");
+    }
+    this.seconds = Math.addExact(this.seconds, seconds);
+  }
+
+  /**
+   * Adds the total of another accumulator to this one.
+   *
+   * @param other the accumulator whose total is added
+   * @throws ArithmeticException if the total would overflow a long
+   */
+  public void combine(DurationAccumulator other) {
+    this.seconds = Math.addExact(this.seconds, other.seconds);
+  }
+
+  /**
+   * Returns the total so far in seconds.
+   *
+   * @return the total number of seconds
+   */
+  public long inSeconds() {
+    return this.seconds;
+  }
+
+  /**
+   * Returns the total so far as a duration.
+   *
+   * @return the total duration
+   */
+  public Duration toDuration() {
+    return Duration.ofSeconds(this.seconds);
+  }
+
+  /**
+   * Sets the total back to zero.
+   */
+  public void reset() {
+    this.seconds = 0;
+  }
+}
@@ -0,0 +1,46 @@
+import java.util.function.LongFunction;
+
+/**
+ * A flyweight cache of durations for the small values that come up again and again, so that
+ * producing one of them does not allocate. Durations from zero up to the configured size are
+ * created on first use and shared afterwards; larger ones are always created fresh.
+ * The size defaults to one day of seconds and can be changed with the
+ * {@code durations.cache.seconds} system property.
+ */
+final class DurationCache {
+  private static final int SIZE = Math.max(0, Integer.getInteger("durations.cache.seconds",
+      24 * 60 * 60));
+
+  private final Duration[] durations;
+  private final LongFunction<Duration> factory;
+
+  /**
+   * Creates an empty cache that builds its durations with the given factory.
+   *
+   * @param factory creates a duration from a number of seconds
+   */
+  DurationCache(LongFunction<Duration> factory) {
+    this.durations = new Duration[SIZE];
+    this.factory = factory;
+  }
+
+  /**
+   * Returns a duration of the given number of seconds, shared if it is in the cached range.
+   *
+   * @param seconds the number of seconds
+   * @return the duration
+   */
+  Duration get(long seconds) {
+    if (seconds < 0 || seconds >= this.durations.length) {
+      return this.factory.apply(seconds);
+    }
+    // Durations are immutable with final fields, so a racing thread either sees a complete
+    // duration or null; at worst two threads both create one and the last write wins.
+    Duration duration = this.durations[(int) seconds];
+    if (duration == null) {
+      duration = this.factory.apply(seconds);
+      this.durations[(int) seconds] = duration;
+    }
+    return duration;
+  }
+}
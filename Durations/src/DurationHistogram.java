@@ -0,0 +1,226 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations in a fixed number of buckets, so that any number of them can be recorded
+ * in bounded memory and percentiles read back without keeping or sorting the durations.
+ * Durations shorter than the number of sub-buckets are counted exactly. Longer ones share a
+ * bucket with others of the same magnitude, each power of two being split into half that
+ * many sub-buckets, so a percentile is never off by more than a small relative error:
+ * under 1.6% with the default precision of 7 bits.
+ *
+ * <p>Recording is lock-free and safe from any number of threads. A reading taken while other
+ * threads are recording may leave out the recordings still in progress.</p>
+ */
+public class DurationHistogram {
+  private static final int DEFAULT_PRECISION = 7;
+
+  private final int precision;
+  private final int subBuckets;
+  private final int halfSubBuckets;
+  private final AtomicLongArray counts;
+  private final AtomicLong min;
+  private final AtomicLong max;
+
+  /**
+   * Creates an empty histogram with the default precision.
+   */
+  public DurationHistogram() {
+    this(DEFAULT_PRECISION);
+  }
+
+  /**
+   * Creates an empty histogram that counts durations below {@code 2^precision} seconds
+   * exactly and longer ones to within a relative error of {@code 2^(1 - precision)}.
+   *
+   * @param precision the number of bits of each duration to keep, from 1 to 16
+   * @throws IllegalArgumentException if the precision is outside 1 to 16
+   */
+  public DurationHistogram(int precision) {
+    if (precision < 1 || precision > 16) {
+      throw new IllegalArgumentException("Precision must be between 1 and 16");
+    }
+    this.precision = precision;
+    this.subBuckets = 1 << precision;
+    this.halfSubBuckets = this.subBuckets >> 1;
+    this.counts = new AtomicLongArray(this.subBuckets + (63 - precision) * this.halfSubBuckets);
+    this.min = new AtomicLong(Long.MAX_VALUE);
+    this.max = new AtomicLong(-1);
+  }
+
+  /**
+   * Records one occurrence of the given duration.
+   *
+   * @param duration the duration to record
+   */
+  public void record(Duration duration) {
+    this.recordSeconds(duration.inSeconds());
+  }
+
+  /**
+   * Records one occurrence of a duration of the given number of seconds.
+   *
+   * @param seconds the number of seconds
+   * @throws IllegalArgumentException if the seconds are negative
+   */
+  public void recordSeconds(long seconds) {
+    if (seconds < 0) {
+      throw new IllegalArgumentException("Seconds cannot be negative");
+    }
+    // Widen the range first, so that a reader never finds a count outside it.
+    updateMin(this.min, seconds);
+    updateMax(this.max, seconds);
+    this.counts.incrementAndGet(this.indexOf(seconds));
+  }
+
+  /**
+   * Adds everything recorded in the other histogram to this one.
+   *
+   * @param other the histogram to add, of the same precision as this one
+   * @throws IllegalArgumentException if the precisions differ
+   */
+  public void add(DurationHistogram other) {
+    if (other.precision != this.precision) {
+      throw new IllegalArgumentException("Histograms must have the same precision");
+    }
+    updateMin(this.min, other.min.get());
+    updateMax(this.max, other.max.get());
+    for (int i = 0; i < this.counts.length(); i++) {
+      long count = other.counts.get(i);
+      if (count != 0) {
+        this.counts.addAndGet(i, count);
+      }
+    }
+  }
+
+  /**
+   * Returns a copy of this histogram as it stands, which later recordings do not change.
+   *
+   * @return the copy
+   */
+  public DurationHistogram snapshot() {
+    DurationHistogram copy = new DurationHistogram(this.precision);
+    copy.add(this);
+    return copy;
+  }
+
+  /**
+   * Discards everything recorded so far.
+   */
+  public void reset() {
+    for (int i = 0; i < this.counts.length(); i++) {
+      this.counts.set(i, 0);
+    }
+    this.min.set(Long.MAX_VALUE);
+    this.max.set(-1);
+  }
+
+  /**
+   * Returns the number of durations recorded.
+   *
+   * @return the number of durations
+   */
+  public long count() {
+    long total = 0;
+    for (int i = 0; i < this.counts.length(); i++) {
+      total += this.counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * Returns the shortest duration recorded.
+   *
+   * @return the shortest duration
+   * @throws IllegalStateException if nothing has been recorded
+   */
+  public Duration min() {
+    long value = this.min.get();
+    if (value == Long.MAX_VALUE) {
+      throw new IllegalStateException("Histogram is empty");
+    }
+    return CompactDuration.of(value);
+  }
+
+  /**
+   * Returns the longest duration recorded.
+   *
+   * @return the longest duration
+   * @throws IllegalStateException if nothing has been recorded
+   */
+  public Duration max() {
+    long value = this.max.get();
+    if (value < 0) {
+      throw new IllegalStateException("Histogram is empty");
+    }
+    return CompactDuration.of(value);
+  }
+
+  /**
+   * Returns the duration at the given percentile using the nearest-rank method: the
+   * shortest duration that is at least as long as the given percentage of all durations
+   * recorded, to within the precision of this histogram.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the duration at that percentile
+   * @throws IllegalArgumentException if the percentile is outside 0 to 100
+   * @throws IllegalStateException    if nothing has been recorded
+   */
+  public Duration percentile(double percentile) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100");
+    }
+    long[] current = new long[this.counts.length()];
+    long total = 0;
+    for (int i = 0; i < current.length; i++) {
+      current[i] = this.counts.get(i);
+      total += current[i];
+    }
+    if (total == 0) {
+      throw new IllegalStateException("Histogram is empty");
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    int index = 0;
+    long seen = current[0];
+    while (seen < rank) {
+      seen += current[++index];
+    }
+    long value = Math.min(this.highestInBucket(index), this.max.get());
+    return CompactDuration.of(Math.max(value, this.min.get()));
+  }
+
+  // Small values index their own bucket. Larger ones keep their top precision bits, which
+  // fall in the upper half of the sub-buckets, and are grouped by how far they were shifted.
+  private int indexOf(long seconds) {
+    if (seconds < this.subBuckets) {
+      return (int) seconds;
+    }
+    int shift = (63 - Long.numberOfLeadingZeros(seconds)) - (this.precision - 1);
+    return this.subBuckets + (shift - 1) * this.halfSubBuckets
+        + (int) (seconds >>> shift) - this.halfSubBuckets;
+  }
+
+  private long highestInBucket(int index) {
+    if (index < this.subBuckets) {
+      return index;
+    }
+    int offset = index - this.subBuckets;
+    int shift = offset / this.halfSubBuckets + 1;
+    long lowest = (long) (offset % this.halfSubBuckets + this.halfSubBuckets) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  private static void updateMin(AtomicLong min, long value) {
+    long current = min.get();
+    while (value < current && !min.compareAndSet(current, value)) {
+      current = min.get();
+    }
+  }
+
+  private static void updateMax(AtomicLong max, long value) {
+    long current = max.get();
+    while (value > current && !max.compareAndSet(current, value)) {
+      current = max.get();
+    }
+  }
+}
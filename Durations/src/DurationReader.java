@@ -0,0 +1,136 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads back a file of durations written by {@link DurationWriter}.
+ * The file is memory-mapped rather than copied into buffers, a window of up to 1 GB at a
+ * time, so files far larger than the heap can be read; when the reader nears the end of a
+ * window it maps the next one, starting where it left off.
+ */
+public class DurationReader implements Closeable {
+  private static final long WINDOW_SIZE = 1L << 30;
+
+  private final FileChannel channel;
+  private final long size;
+  private final long windowSize;
+  private MappedByteBuffer window;
+  private long windowStart;
+  private long previous;
+  private boolean hms;
+
+  /**
+   * Creates a reader for the duration stream in the given channel, starting at its
+   * beginning.
+   *
+   * @param channel the channel to read
+   * @throws IOException if the channel fails or does not hold a duration stream
+   */
+  public DurationReader(FileChannel channel) throws IOException {
+    this(channel, WINDOW_SIZE);
+  }
+
+  DurationReader(FileChannel channel, long windowSize) throws IOException {
+    this.channel = channel;
+    this.size = channel.size();
+    this.windowSize = Math.max(windowSize, DurationWriter.MAX_ENCODED_LENGTH);
+    this.map(0);
+    if (this.size < 4 || this.window.getInt() != DurationWriter.MAGIC) {
+      throw new IOException("Not a duration stream");
+    }
+    this.previous = 0;
+  }
+
+  /**
+   * Creates a reader for the duration stream in the given file.
+   *
+   * @param path the file to read
+   * @return the reader
+   * @throws IOException if the file cannot be read or does not hold a duration stream
+   */
+  public static DurationReader open(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      return new DurationReader(channel);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Determines whether there are more durations to read.
+   *
+   * @return true if another duration follows
+   */
+  public boolean hasNext() {
+    return this.windowStart + this.window.position() < this.size;
+  }
+
+  /**
+   * Reads the next duration, in the representation it was written in.
+   *
+   * @return the duration
+   * @throws IOException            if the channel fails or the stream is corrupt
+   * @throws NoSuchElementException if there are no more durations
+   */
+  public Duration next() throws IOException {
+    long seconds = this.nextSeconds();
+    return this.hms ? HMSDuration.of(seconds) : CompactDuration.of(seconds);
+  }
+
+  /**
+   * Reads the length in seconds of the next duration.
+   *
+   * @return the number of seconds
+   * @throws IOException            if the channel fails or the stream is corrupt
+   * @throws NoSuchElementException if there are no more durations
+   */
+  public long nextSeconds() throws IOException {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException("No more durations");
+    }
+    if (this.window.remaining() < DurationWriter.MAX_ENCODED_LENGTH
+        && this.windowStart + this.window.limit() < this.size) {
+      this.map(this.windowStart + this.window.position());
+    }
+    int next = this.window.get() & 0xFF;
+    this.hms = (next & 1) != 0;
+    long zigzag = (next >>> 1) & 0x3F;
+    int shift = 6;
+    while ((next & 0x80) != 0) {
+      if (shift > 62 || !this.window.hasRemaining()) {
+        throw new IOException("Corrupt duration stream");
+      }
+      next = this.window.get() & 0xFF;
+      zigzag |= (long) (next & 0x7F) << shift;
+      shift += 7;
+    }
+    long seconds = this.previous + ((zigzag >>> 1) ^ -(zigzag & 1));
+    if (seconds < 0) {
+      throw new IOException("Corrupt duration stream");
+    }
+    this.previous = seconds;
+    return seconds;
+  }
+
+  private void map(long start) throws IOException {
+    this.windowStart = start;
+    this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start,
+        Math.min(this.windowSize, this.size - start));
+  }
+
+  /**
+   * Closes the underlying channel.
+   *
+   * @throws IOException if the channel fails to close
+   */
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+}
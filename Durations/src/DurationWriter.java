@@ -0,0 +1,137 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a stream of durations in a compact binary format that {@link DurationReader} reads
+ * back. The stream starts with a four-byte magic number. Each duration is then stored as the
+ * difference from the one before it, so that runs of similar durations take one or two bytes
+ * each. The difference is zigzag encoded, so that small negative differences stay small,
+ * and written as a variable-length integer of seven bits per byte, least significant first.
+ * The lowest bit of the first byte records whether the duration was an
+ * {@link HMSDuration}, so that each duration is read back in the representation it was
+ * written in; that leaves six bits of the difference in the first byte.
+ */
+public class DurationWriter implements Closeable {
+  /**
+   * The first four bytes of every duration stream, "DUR1" in ASCII.
+   */
+  static final int MAGIC = 0x44555231;
+  /**
+   * The most bytes a single duration can take up.
+   */
+  static final int MAX_ENCODED_LENGTH = 10;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer;
+  private long previous;
+
+  /**
+   * Creates a writer that starts a new duration stream on the given channel.
+   * Nothing is written to the channel until the writer's buffer fills, or it is flushed or
+   * closed.
+   *
+   * @param channel the channel to write to
+   */
+  public DurationWriter(WritableByteChannel channel) {
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    this.buffer.putInt(MAGIC);
+    this.previous = 0;
+  }
+
+  /**
+   * Creates a writer for a new duration stream in the given file, replacing anything already
+   * in it.
+   *
+   * @param path the file to write
+   * @return the writer
+   * @throws IOException if the file cannot be opened
+   */
+  public static DurationWriter create(Path path) throws IOException {
+    return new DurationWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+  }
+
+  /**
+   * Writes the given duration.
+   *
+   * @param duration the duration to write
+   * @throws IOException if the channel fails
+   */
+  public void write(Duration duration) throws IOException {
+    this.encode(duration.inSeconds(), duration instanceof HMSDuration);
+  }
+
+  /**
+   * Writes a duration of the given number of seconds, to be read back as a compact duration.
+   *
+   * @param seconds the number of seconds
+   * @throws IOException              if the channel fails
+   * @throws IllegalArgumentException if the seconds are negative
+   */
+  public void writeSeconds(long seconds) throws IOException {
+    if (seconds < 0) {
+      throw new IllegalArgumentException("Seconds cannot be negative");
+    }
+    this.encode(seconds, false);
+  }
+
+  private void encode(long seconds, boolean hms) throws IOException {
+    if (this.buffer.remaining() < MAX_ENCODED_LENGTH) {
+      this.drain();
+    }
+    long delta = seconds - this.previous;
+    this.previous = seconds;
+    long zigzag = (delta << 1) ^ (delta >> 63);
+    int first = (int) (zigzag & 0x3F) << 1 | (hms ? 1 : 0);
+    zigzag >>>= 6;
+    if (zigzag == 0) {
+      this.buffer.put((byte) first);
+      return;
+    }
+    this.buffer.put((byte) (first | 0x80));
+    while ((zigzag & ~0x7FL) != 0) {
+      this.buffer.put((byte) (zigzag | 0x80));
+      zigzag >>>= 7;
+    }
+    this.buffer.put((byte) zigzag);
+  }
+
+  /**
+   * Writes everything buffered so far to the channel.
+   *
+   * @throws IOException if the channel fails
+   */
+  public void flush() throws IOException {
+    this.drain();
+  }
+
+  private void drain() throws IOException {
+    this.buffer.flip();
+    while (this.buffer.hasRemaining()) {
+      this.channel.write(this.buffer);
+    }
+    this.buffer.clear();
+  }
+
+  /**
+   * Writes everything buffered so far and closes the channel.
+   *
+   * @throws IOException if the channel fails
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      this.drain();
+    } finally {
+      this.channel.close();
+    }
+  }
+}
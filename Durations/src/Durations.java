@@ -0,0 +1,443 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collector;
+
+/**
+ * Utility operations over many durations at once.
+ * Sorting and selection work on the {@link Duration#inSeconds()} keys, extracted once into a
+ * primitive array, rather than calling {@code compareTo} on the objects for every comparison.
+ */
+public final class Durations {
+  private Durations() {
+  }
+
+  /**
+   * Returns a collector that adds up a stream of durations. Each element is added to a
+   * primitive running total, so only the final result is a new object.
+   *
+   * @return the summing collector
+   */
+  public static Collector<Duration, DurationAccumulator, Duration> summing() {
+    return Collector.of(
+        DurationAccumulator::new,
+        DurationAccumulator::add,
+        (left, right) -> {
+          left.combine(right);
+          return left;
+        },
+        DurationAccumulator::toDuration);
+  }
+
+  /**
+   * Returns a collector that adds up a parallel stream of durations into a single shared
+   * total, instead of one total per thread that are combined at the end.
+   *
+   * @return the concurrent summing collector
+   */
+  public static Collector<Duration, ConcurrentDurationAccumulator, Duration> summingConcurrent() {
+    return Collector.of(
+        ConcurrentDurationAccumulator::new,
+        ConcurrentDurationAccumulator::add,
+        (left, right) -> {
+          left.combine(right);
+          return left;
+        },
+        ConcurrentDurationAccumulator::toDuration,
+        Collector.Characteristics.CONCURRENT,
+        Collector.Characteristics.UNORDERED);
+  }
+
+  /**
+   * Sorts the given list of durations from shortest to longest with a radix sort over their
+   * lengths in seconds. The sort is stable, and it reads each key only once, so its cost
+   * grows linearly with the size of the list.
+   *
+   * @param durations the list to sort
+   * @param <T>       the type of duration in the list
+   * @throws IllegalArgumentException if any duration is negative
+   */
+  public static <T extends Duration> void radixSort(List<T> durations) {
+    Object[] items = durations.toArray();
+    long[] keys = keysOf(items);
+    int[] order = identity(items.length);
+    radixSort(keys, order, 0, items.length);
+    reorder(durations, items, order);
+  }
+
+  /**
+   * Sorts the given durations in seconds from shortest to longest with a radix sort.
+   *
+   * @param seconds the lengths in seconds to sort
+   * @throws IllegalArgumentException if any length is negative
+   */
+  public static void radixSort(long[] seconds) {
+    for (long value : seconds) {
+      checkKey(value);
+    }
+    radixSort(seconds, null, 0, seconds.length);
+  }
+
+  /**
+   * Sorts the given list of durations from shortest to longest on the common fork-join pool.
+   * The list is split into pieces that are radix sorted in parallel and then merged.
+   * The sort is stable.
+   *
+   * @param durations the list to sort
+   * @param <T>       the type of duration in the list
+   * @throws IllegalArgumentException if any duration is negative
+   */
+  public static <T extends Duration> void parallelSort(List<T> durations) {
+    Object[] items = durations.toArray();
+    long[] keys = keysOf(items);
+    int[] order = identity(items.length);
+    ForkJoinPool.commonPool().invoke(new SortTask(keys, order, 0, items.length));
+    reorder(durations, items, order);
+  }
+
+  /**
+   * Sorts the given durations in seconds from shortest to longest on the common fork-join
+   * pool.
+   *
+   * @param seconds the lengths in seconds to sort
+   */
+  public static void parallelSort(long[] seconds) {
+    Arrays.parallelSort(seconds);
+  }
+
+  /**
+   * Returns the k longest of the given durations, longest first. Only k durations are held
+   * at a time, so the input is read once without being sorted or copied.
+   *
+   * @param durations the durations to choose from
+   * @param k         the number of durations to return
+   * @param <T>       the type of duration
+   * @return the longest durations, fewer than k if there are not that many
+   * @throws IllegalArgumentException if k is negative
+   */
+  public static <T extends Duration> List<T> longest(Iterable<? extends T> durations, int k) {
+    SelectionHeap heap = new SelectionHeap(k, SelectionHeap.INITIAL_CAPACITY);
+    for (T duration : durations) {
+      heap.offer(duration.inSeconds(), duration);
+    }
+    return heap.drain();
+  }
+
+  /**
+   * Returns the k shortest of the given durations, shortest first. Only k durations are held
+   * at a time, so the input is read once without being sorted or copied.
+   *
+   * @param durations the durations to choose from
+   * @param k         the number of durations to return
+   * @param <T>       the type of duration
+   * @return the shortest durations, fewer than k if there are not that many
+   * @throws IllegalArgumentException if k is negative
+   */
+  public static <T extends Duration> List<T> shortest(Iterable<? extends T> durations, int k) {
+    SelectionHeap heap = new SelectionHeap(k, SelectionHeap.INITIAL_CAPACITY);
+    for (T duration : durations) {
+      heap.offer(~duration.inSeconds(), duration);
+    }
+    return heap.drain();
+  }
+
+  /**
+   * Returns the k longest of the given durations in seconds, longest first.
+   *
+   * @param seconds the lengths in seconds to choose from
+   * @param k       the number of lengths to return
+   * @return the longest lengths, fewer than k if there are not that many
+   * @throws IllegalArgumentException if k is negative
+   */
+  public static long[] longest(long[] seconds, int k) {
+    SelectionHeap heap = new SelectionHeap(k, seconds.length);
+    for (long value : seconds) {
+      heap.offer(value, null);
+    }
+    return heap.drainKeys();
+  }
+
+  /**
+   * Returns the k shortest of the given durations in seconds, shortest first.
+   *
+   * @param seconds the lengths in seconds to choose from
+   * @param k       the number of lengths to return
+   * @return the shortest lengths, fewer than k if there are not that many
+   * @throws IllegalArgumentException if k is negative
+   */
+  public static long[] shortest(long[] seconds, int k) {
+    SelectionHeap heap = new SelectionHeap(k, seconds.length);
+    for (long value : seconds) {
+      heap.offer(~value, null);
+    }
+    long[] result = heap.drainKeys();
+    for (int i = 0; i < result.length; i++) {
+      result[i] = ~result[i];
+    }
+    return result;
+  }
+
+  private static long[] keysOf(Object[] items) {
+    long[] keys = new long[items.length];
+    for (int i = 0; i < items.length; i++) {
+      keys[i] = checkKey(((Duration) items[i]).inSeconds());
+    }
+    return keys;
+  }
+
+  // The radix sort reads keys as unsigned bytes, so a negative key would sort after every
+  // positive one.
+  private static long checkKey(long seconds) {
+    if (seconds < 0) {
+      throw new IllegalArgumentException("Seconds cannot be negative");
+    }
+    return seconds;
+  }
+
+  private static int[] identity(int length) {
+    int[] order = new int[length];
+    for (int i = 0; i < length; i++) {
+      order[i] = i;
+    }
+    return order;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void reorder(List<T> list, Object[] items, int[] order) {
+    ListIterator<T> it = list.listIterator();
+    for (int index : order) {
+      it.next();
+      it.set((T) items[index]);
+    }
+  }
+
+  // Sorts the non-negative keys in [from, to) a byte at a time, least significant first,
+  // moving the matching entries of order (if any) along with them. Passes over bytes that
+  // are the same in every key are skipped.
+  private static void radixSort(long[] keys, int[] order, int from, int to) {
+    int length = to - from;
+    if (length < 2) {
+      return;
+    }
+    long bits = 0;
+    for (int i = from; i < to; i++) {
+      bits |= keys[i];
+    }
+    long[] sourceKeys = keys;
+    int[] sourceOrder = order;
+    int sourceFrom = from;
+    long[] targetKeys = new long[length];
+    int[] targetOrder = order == null ? null : new int[length];
+    int targetFrom = 0;
+    int[] counts = new int[256];
+    for (int shift = 0; shift < 64 && (bits >>> shift) != 0; shift += 8) {
+      Arrays.fill(counts, 0);
+      for (int i = sourceFrom; i < sourceFrom + length; i++) {
+        counts[(int) (sourceKeys[i] >>> shift) & 0xFF]++;
+      }
+      if (counts[(int) (sourceKeys[sourceFrom] >>> shift) & 0xFF] == length) {
+        continue;
+      }
+      int start = targetFrom;
+      for (int digit = 0; digit < 256; digit++) {
+        int count = counts[digit];
+        counts[digit] = start;
+        start += count;
+      }
+      for (int i = sourceFrom; i < sourceFrom + length; i++) {
+        int position = counts[(int) (sourceKeys[i] >>> shift) & 0xFF]++;
+        targetKeys[position] = sourceKeys[i];
+        if (order != null) {
+          targetOrder[position] = sourceOrder[i];
+        }
+      }
+      long[] swapKeys = sourceKeys;
+      sourceKeys = targetKeys;
+      targetKeys = swapKeys;
+      int[] swapOrder = sourceOrder;
+      sourceOrder = targetOrder;
+      targetOrder = swapOrder;
+      int swapFrom = sourceFrom;
+      sourceFrom = targetFrom;
+      targetFrom = swapFrom;
+    }
+    if (sourceKeys != keys) {
+      System.arraycopy(sourceKeys, sourceFrom, keys, from, length);
+      if (order != null) {
+        System.arraycopy(sourceOrder, sourceFrom, order, from, length);
+      }
+    }
+  }
+
+  /**
+   * Sorts a range of keys, and the order that goes with them, by radix sorting small ranges
+   * and merging the two sorted halves of larger ones.
+   */
+  private static final class SortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private static final int THRESHOLD = 1 << 13;
+
+    private final long[] keys;
+    private final int[] order;
+    private final int from;
+    private final int to;
+
+    private SortTask(long[] keys, int[] order, int from, int to) {
+      this.keys = keys;
+      this.order = order;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= THRESHOLD) {
+        radixSort(this.keys, this.order, this.from, this.to);
+        return;
+      }
+      int middle = (this.from + this.to) >>> 1;
+      invokeAll(new SortTask(this.keys, this.order, this.from, middle),
+          new SortTask(this.keys, this.order, middle, this.to));
+      this.merge(middle);
+    }
+
+    private void merge(int middle) {
+      if (this.keys[middle - 1] <= this.keys[middle]) {
+        return;
+      }
+      long[] leftKeys = Arrays.copyOfRange(this.keys, this.from, middle);
+      int[] leftOrder = Arrays.copyOfRange(this.order, this.from, middle);
+      int left = 0;
+      int right = middle;
+      int target = this.from;
+      while (left < leftKeys.length && right < this.to) {
+        if (leftKeys[left] <= this.keys[right]) {
+          this.keys[target] = leftKeys[left];
+          this.order[target++] = leftOrder[left++];
+        } else {
+          this.keys[target] = this.keys[right];
+          this.order[target++] = this.order[right++];
+        }
+      }
+      int remaining = leftKeys.length - left;
+      System.arraycopy(leftKeys, left, this.keys, target, remaining);
+      System.arraycopy(leftOrder, left, this.order, target, remaining);
+    }
+  }
+
+  /**
+   * Keeps the entries with the k largest keys seen so far in a binary min-heap, so that the
+   * smallest of them, the first to be replaced, is always at the root. Callers wanting the
+   * k smallest flip every bit of the keys, which reverses their order.
+   */
+  private static final class SelectionHeap {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int limit;
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    // The heap starts with room for the given capacity, or the limit if that is smaller, and
+    // grows as needed up to the limit, so a k far larger than the input allocates no more
+    // than the input needs.
+    private SelectionHeap(int limit, int capacity) {
+      if (limit < 0) {
+        throw new IllegalArgumentException("Count cannot be negative");
+      }
+      this.limit = limit;
+      int initial = Math.min(limit, capacity);
+      this.keys = new long[initial];
+      this.values = new Object[initial];
+      this.size = 0;
+    }
+
+    private void offer(long key, Object value) {
+      if (this.size < this.limit) {
+        if (this.size == this.keys.length) {
+          this.grow();
+        }
+        int child = this.size++;
+        while (child > 0) {
+          int parent = (child - 1) >>> 1;
+          if (this.keys[parent] <= key) {
+            break;
+          }
+          this.keys[child] = this.keys[parent];
+          this.values[child] = this.values[parent];
+          child = parent;
+        }
+        this.keys[child] = key;
+        this.values[child] = value;
+      } else if (this.size > 0 && key > this.keys[0]) {
+        this.siftDown(key, value);
+      }
+    }
+
+    private void grow() {
+      int capacity = (int) Math.min(this.limit,
+          Math.max(INITIAL_CAPACITY, 2L * this.keys.length));
+      this.keys = Arrays.copyOf(this.keys, capacity);
+      this.values = Arrays.copyOf(this.values, capacity);
+    }
+
+    // Places the entry at the root and moves it down until both children are no smaller.
+    private void siftDown(long key, Object value) {
+      int parent = 0;
+      int child = 1;
+      while (child < this.size) {
+        if (child + 1 < this.size && this.keys[child + 1] < this.keys[child]) {
+          child++;
+        }
+        if (key <= this.keys[child]) {
+          break;
+        }
+        this.keys[parent] = this.keys[child];
+        this.values[parent] = this.values[child];
+        parent = child;
+        child = 2 * parent + 1;
+      }
+      this.keys[parent] = key;
+      this.values[parent] = value;
+    }
+
+    // Empties the heap from the smallest key up, filling the results from the back so that
+    // the largest key comes first. The values are dropped if resultValues is null.
+    private int drainInto(long[] resultKeys, Object[] resultValues) {
+      int count = this.size;
+      for (int i = count - 1; i >= 0; i--) {
+        resultKeys[i] = this.keys[0];
+        if (resultValues != null) {
+          resultValues[i] = this.values[0];
+        }
+        long lastKey = this.keys[--this.size];
+        Object lastValue = this.values[this.size];
+        this.values[this.size] = null;
+        if (this.size > 0) {
+          this.siftDown(lastKey, lastValue);
+        }
+      }
+      return count;
+    }
+
+    private long[] drainKeys() {
+      long[] result = new long[this.size];
+      this.drainInto(result, null);
+      return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> drain() {
+      Object[] result = new Object[this.size];
+      this.drainInto(new long[this.size], result);
+      List<T> list = new ArrayList<>(result.length);
+      for (Object value : result) {
+        list.add((T) value);
+      }
+      return list;
+    }
+  }
+}
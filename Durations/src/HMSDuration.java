@@ -1,5 +1,10 @@
 public class HMSDuration extends AbstractDuration {
+  private static final DurationCache CACHE = new DurationCache(HMSDuration::new);
+
   private final int hours, minutes, seconds;
+  // The canonical length in seconds, kept alongside the fields so that comparing, hashing
+  // and adding do not recompute it.
+  private final long totalSeconds;
 
   HMSDuration(int hours, int minutes, int seconds) {
     if (hours < 0) {
@@ -21,6 +26,7 @@ public class HMSDuration extends AbstractDuration {
     this.hours = hours;
     this.minutes = minutes;
     this.seconds = seconds;
+    this.totalSeconds = 3600 * (long) hours + 60 * minutes + seconds;
   }
 
   private HMSDuration(long inSeconds) {
@@ -31,14 +37,27 @@ public class HMSDuration extends AbstractDuration {
     this.hours = this.hoursOf(inSeconds);
     this.seconds = this.secondsOf(inSeconds);
     this.minutes = this.minutesOf(inSeconds);
+    this.totalSeconds = inSeconds;
   }
 
   @Override
   public long inSeconds() {
-    return 3600 * (long) this.hours + 60 * this.minutes + this.seconds;
+    return this.totalSeconds;
+  }
+
+  /**
+   * Returns an hours-minutes-seconds duration of the given number of seconds, shared for
+   * common values.
+   *
+   * @param seconds the number of seconds
+   * @return the duration
+   * @throws IllegalArgumentException if the seconds are negative
+   */
+  static Duration of(long seconds) {
+    return CACHE.get(seconds);
   }
 
   protected Duration fromDuration(long seconds) {
-    return new HMSDuration(seconds);
+    return of(seconds);
   }
 }
@@ -0,0 +1,131 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Parses durations written in the HH:MM:SS format of {@link Duration#asHms()} straight into
+ * a number of seconds, without splitting the text or going through
+ * {@link Integer#parseInt}. Hours have at least two digits; minutes and seconds have exactly
+ * two and are below 60. Malformed text is reported by returning -1 rather than throwing, so
+ * callers scanning large inputs pay nothing for the check.
+ */
+public final class HmsParser {
+  // Fifteen digits of hours, in seconds, still fit in a long.
+  private static final int MAX_HOUR_DIGITS = 15;
+
+  private HmsParser() {
+  }
+
+  /**
+   * Parses a duration that starts at the given offset of the given text. The duration ends
+   * after the two digits of the seconds; anything following it is ignored.
+   *
+   * @param text   the text to read
+   * @param offset the position of the first digit of the hours
+   * @return the number of seconds, or -1 if the text there is not a valid duration
+   */
+  public static long parse(CharSequence text, int offset) {
+    int length = text.length();
+    if (offset < 0) {
+      return -1;
+    }
+    int i = offset;
+    long hours = 0;
+    while (i < length && i - offset <= MAX_HOUR_DIGITS && isDigit(text.charAt(i))) {
+      hours = hours * 10 + (text.charAt(i) - '0');
+      i++;
+    }
+    if (i - offset < 2 || i - offset > MAX_HOUR_DIGITS || i + 6 > length
+        || text.charAt(i) != ':' || text.charAt(i + 3) != ':') {
+      return -1;
+    }
+    int minutes = twoDigits(text.charAt(i + 1), text.charAt(i + 2));
+    int seconds = twoDigits(text.charAt(i + 4), text.charAt(i + 5));
+    return toSeconds(hours, minutes, seconds);
+  }
+
+  /**
+   * Parses a duration that occupies exactly the given range of absolute indices of the given
+   * buffer of ASCII text, without changing the buffer's position.
+   *
+   * @param in     the buffer to read
+   * @param offset the index of the first digit of the hours
+   * @param limit  the index just past the last digit of the seconds
+   * @return the number of seconds, or -1 if the bytes there are not exactly one valid
+   *         duration
+   */
+  public static long parse(ByteBuffer in, int offset, int limit) {
+    int i = offset;
+    long hours = 0;
+    while (i < limit && i - offset <= MAX_HOUR_DIGITS && isDigit(in.get(i))) {
+      hours = hours * 10 + (in.get(i) - '0');
+      i++;
+    }
+    if (i - offset < 2 || i - offset > MAX_HOUR_DIGITS || i + 6 != limit
+        || in.get(i) != ':' || in.get(i + 3) != ':') {
+      return -1;
+    }
+    int minutes = twoDigits(in.get(i + 1), in.get(i + 2));
+    int seconds = twoDigits(in.get(i + 4), in.get(i + 5));
+    return toSeconds(hours, minutes, seconds);
+  }
+
+  /**
+   * Parses newline-delimited ASCII text, one HH:MM:SS duration per line, from the buffer's
+   * position into the given array. Lines may end in {@code \r\n} and blank lines are
+   * skipped. Each line that is not exactly one valid duration is stored as -1, so one bad
+   * line does not stop the batch. Parsing stops at the buffer's limit or when the array is
+   * full, and the buffer's position is left at the start of the first line not read, so a
+   * large input can be parsed in chunks by calling again.
+   *
+   * <p>A last line with no newline after it is only parsed at the end of the input. Before
+   * that it may be a record cut in two by the end of the chunk, so it is left unread for the
+   * call that has the rest of it.
+   *
+   * @param in         the text to read
+   * @param seconds    the array to fill with numbers of seconds
+   * @param offset     the index of the first element to fill
+   * @param endOfInput whether the buffer's limit is the end of the whole input
+   * @return the number of elements filled
+   */
+  public static int parseLines(ByteBuffer in, long[] seconds, int offset, boolean endOfInput) {
+    int limit = in.limit();
+    int start = in.position();
+    int count = offset;
+    while (start < limit && count < seconds.length) {
+      int end = start;
+      while (end < limit && in.get(end) != '\n') {
+        end++;
+      }
+      if (end == limit && !endOfInput) {
+        break;
+      }
+      int next = Math.min(limit, end + 1);
+      if (end > start && in.get(end - 1) == '\r') {
+        end--;
+      }
+      if (end > start) {
+        seconds[count++] = parse(in, start, end);
+      }
+      start = next;
+    }
+    in.position(start);
+    return count - offset;
+  }
+
+  private static long toSeconds(long hours, int minutes, int seconds) {
+    if (minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59) {
+      return -1;
+    }
+    return hours * 3600 + minutes * 60 + seconds;
+  }
+
+  private static int twoDigits(int tens, int ones) {
+    if (!isDigit(tens) || !isDigit(ones)) {
+      return -1;
+    }
+    return (tens - '0') * 10 + (ones - '0');
+  }
+
+  private static boolean isDigit(int c) {
+    return c >= '0' && c <= '9';
+  }
+}
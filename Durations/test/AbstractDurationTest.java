@@ -0,0 +1,90 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Represents the examples and tests for the HH:MM:SS rendering of AbstractDuration.
+ */
+public class AbstractDurationTest {
+
+  // The rendering asHms used before it stopped going through String.format.
+  private static String formatted(long seconds) {
+    return String.format("%02d:%02d:%02d", (int) (seconds / 3600), (int) (seconds % 3600 / 60),
+        (int) (seconds % 60));
+  }
+
+  private static void assertRendersLikeFormat(Duration duration) {
+    String expected = formatted(duration.inSeconds());
+    assertEquals(expected, duration.asHms());
+
+    StringBuilder out = new StringBuilder("x");
+    duration.formatHmsTo(out);
+    assertEquals("x" + expected, out.toString());
+
+    char[] buffer = new char[20];
+    int end = duration.formatHmsTo(buffer, 3);
+    assertEquals(expected, new String(buffer, 3, end - 3));
+  }
+
+  @Test
+  public void testExamples() {
+    assertEquals("00:00:00", new CompactDuration(0).asHms());
+    assertEquals("01:02:03", new HMSDuration(1, 2, 3).asHms());
+    assertEquals("99:59:59", new CompactDuration(99 * 3600 + 3599).asHms());
+    assertEquals("100:00:00", new HMSDuration(100, 0, 0).asHms());
+    assertEquals("123456:07:08", new HMSDuration(123456, 7, 8).asHms());
+    assertEquals("2147483647:00:00", new CompactDuration(3600L * Integer.MAX_VALUE).asHms());
+  }
+
+  @Test
+  public void testOverflowingHoursMatchFormat() {
+    // Past Integer.MAX_VALUE hours, the int cast in hoursOf wraps to negative values.
+    long[] values = {
+        3600L * (1L << 31),
+        3600L * (1L << 31) + 3599,
+        3600L * ((1L << 32) - 5) + 61,
+        3600L * ((1L << 32) - 100) + 59,
+        3600L * ((1L << 32) - 12345),
+        Long.MAX_VALUE
+    };
+    for (long seconds : values) {
+      Duration duration = new CompactDuration(seconds);
+      assertRendersLikeFormat(duration);
+    }
+    assertEquals("-5:01:01", new CompactDuration(3600L * ((1L << 32) - 5) + 61).asHms());
+  }
+
+  @Test
+  public void testRandomValuesMatchFormat() {
+    Random random = new Random(11);
+    for (int i = 0; i < 200_000; i++) {
+      long seconds;
+      switch (i % 4) {
+        case 0:
+          seconds = random.nextInt(100 * 3600);
+          break;
+        case 1:
+          seconds = (long) random.nextInt(Integer.MAX_VALUE) * random.nextInt(1 << 16);
+          break;
+        case 2:
+          seconds = random.nextLong() >>> (1 + random.nextInt(63));
+          break;
+        default:
+          seconds = 3600L * random.nextInt(100_000) + random.nextInt(3600);
+          break;
+      }
+      Duration duration = random.nextBoolean() ? new CompactDuration(seconds)
+          : HMSDuration.of(seconds);
+      assertRendersLikeFormat(duration);
+    }
+  }
+
+  @Test
+  public void testAsHmsIsCached() {
+    Duration duration = new HMSDuration(12, 34, 56);
+    assertSame(duration.asHms(), duration.asHms());
+  }
+}
@@ -0,0 +1,179 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Represents the examples and tests for DurationAccumulator, ConcurrentDurationAccumulator
+ * and the summing collectors built on them.
+ */
+public class DurationAccumulatorTest {
+
+  private static List<Duration> randomDurations(int count) {
+    Random random = new Random(7);
+    List<Duration> durations = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int seconds = random.nextInt(1_000_000);
+      durations.add(random.nextBoolean() ? Duration.ofSeconds(seconds)
+          : new HMSDuration(0, 0, seconds));
+    }
+    return durations;
+  }
+
+  private static long plainSum(List<Duration> durations) {
+    long total = 0;
+    for (Duration duration : durations) {
+      total += duration.inSeconds();
+    }
+    return total;
+  }
+
+  @Test
+  public void testAccumulator() {
+    DurationAccumulator accumulator = new DurationAccumulator();
+    assertEquals(0, accumulator.inSeconds());
+    accumulator.add(new HMSDuration(1, 2, 3));
+    accumulator.addSeconds(7);
+    assertEquals(3730, accumulator.inSeconds());
+    assertEquals(Duration.ofSeconds(3730), accumulator.toDuration());
+
+    DurationAccumulator other = new DurationAccumulator();
+    other.addSeconds(270);
+    accumulator.combine(other);
+    assertEquals(4000, accumulator.inSeconds());
+    assertEquals(270, other.inSeconds());
+
+    accumulator.reset();
+    assertEquals(0, accumulator.inSeconds());
+  }
+
+  @Test
+  public void testConcurrentAccumulator() {
+    ConcurrentDurationAccumulator accumulator = new ConcurrentDurationAccumulator();
+    accumulator.add(new HMSDuration(1, 2, 3));
+    accumulator.addSeconds(7);
+    assertEquals(3730, accumulator.inSeconds());
+    assertEquals(Duration.ofSeconds(3730), accumulator.toDuration());
+
+    ConcurrentDurationAccumulator other = new ConcurrentDurationAccumulator();
+    other.addSeconds(270);
+    accumulator.combine(other);
+    assertEquals(4000, accumulator.inSeconds());
+    assertEquals(270, other.inSeconds());
+
+    accumulator.reset();
+    assertEquals(0, accumulator.inSeconds());
+  }
+
+  @Test
+  public void testNegativeSecondsRejected() {
+    DurationAccumulator accumulator = new DurationAccumulator();
+    ConcurrentDurationAccumulator concurrent = new ConcurrentDurationAccumulator();
+    try {
+      accumulator.addSeconds(-1);
+      fail("Did not throw an exception for negative seconds");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    try {
+      concurrent.addSeconds(-1);
+      fail("Did not throw an exception for negative seconds");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    assertEquals(0, accumulator.inSeconds());
+    assertEquals(0, concurrent.inSeconds());
+  }
+
+  @Test
+  public void testOverflowRejected() {
+    DurationAccumulator accumulator = new DurationAccumulator();
+    accumulator.addSeconds(Long.MAX_VALUE - 1);
+    accumulator.addSeconds(1);
+    DurationAccumulator one = new DurationAccumulator();
+    one.addSeconds(1);
+    try {
+      accumulator.addSeconds(1);
+      fail("Did not throw an exception for an overflowing total");
+    } catch (ArithmeticException e) {
+      //passes
+    }
+    try {
+      accumulator.add(Duration.ofSeconds(1));
+      fail("Did not throw an exception for an overflowing total");
+    } catch (ArithmeticException e) {
+      //passes
+    }
+    try {
+      accumulator.combine(one);
+      fail("Did not throw an exception for an overflowing total");
+    } catch (ArithmeticException e) {
+      //passes
+    }
+    assertEquals(Long.MAX_VALUE, accumulator.inSeconds());
+
+    ConcurrentDurationAccumulator concurrent = new ConcurrentDurationAccumulator();
+    concurrent.addSeconds(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, concurrent.inSeconds());
+    concurrent.add(Duration.ofSeconds(1));
+    try {
+      concurrent.inSeconds();
+      fail("Did not throw an exception for an overflowing total");
+    } catch (ArithmeticException e) {
+      //passes
+    }
+    try {
+      concurrent.toDuration();
+      fail("Did not throw an exception for an overflowing total");
+    } catch (ArithmeticException e) {
+      //passes
+    }
+    try {
+      new ConcurrentDurationAccumulator().combine(concurrent);
+      fail("Did not throw an exception for an overflowing total");
+    } catch (ArithmeticException e) {
+      //passes
+    }
+
+    List<Duration> durations = new ArrayList<>();
+    durations.add(new CompactDuration(Long.MAX_VALUE));
+    durations.add(new CompactDuration(Long.MAX_VALUE));
+    try {
+      durations.stream().collect(Durations.summing());
+      fail("Did not throw an exception for an overflowing total");
+    } catch (ArithmeticException e) {
+      //passes
+    }
+    try {
+      durations.parallelStream().collect(Durations.summingConcurrent());
+      fail("Did not throw an exception for an overflowing total");
+    } catch (ArithmeticException e) {
+      //passes
+    }
+  }
+
+  @Test
+  public void testSummingMatchesPlainSum() {
+    List<Duration> durations = randomDurations(100_000);
+    long expected = plainSum(durations);
+    assertEquals(expected, durations.stream().collect(Durations.summing()).inSeconds());
+    assertEquals(expected,
+        durations.parallelStream().collect(Durations.summing()).inSeconds());
+    assertEquals(expected,
+        durations.stream().collect(Durations.summingConcurrent()).inSeconds());
+    assertEquals(expected,
+        durations.parallelStream().collect(Durations.summingConcurrent()).inSeconds());
+  }
+
+  @Test
+  public void testSummingEmptyStream() {
+    List<Duration> durations = new ArrayList<>();
+    assertEquals(Duration.ofSeconds(0), durations.stream().collect(Durations.summing()));
+    assertEquals(Duration.ofSeconds(0),
+        durations.parallelStream().collect(Durations.summingConcurrent()));
+  }
+}
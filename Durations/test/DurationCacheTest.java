@@ -0,0 +1,72 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Represents the examples and tests for the shared durations of DurationCache.
+ */
+public class DurationCacheTest {
+  // The same setting the cache reads when its class loads.
+  private static final int LIMIT = Math.max(0, Integer.getInteger("durations.cache.seconds",
+      24 * 60 * 60));
+
+  @Test
+  public void testValuesBelowTheLimitAreShared() {
+    for (long seconds : new long[] {0, 1, 59, 3600, LIMIT - 1}) {
+      Duration first = Duration.ofSeconds(seconds);
+      assertSame(first, Duration.ofSeconds(seconds));
+      assertEquals(seconds, first.inSeconds());
+      assertSame(HMSDuration.of(seconds), HMSDuration.of(seconds));
+    }
+  }
+
+  @Test
+  public void testValuesAtOrAboveTheLimitAreFresh() {
+    for (long seconds : new long[] {LIMIT, LIMIT + 1L, Long.MAX_VALUE}) {
+      Duration first = Duration.ofSeconds(seconds);
+      Duration second = Duration.ofSeconds(seconds);
+      assertNotSame(first, second);
+      assertEquals(first, second);
+      assertEquals(seconds, first.inSeconds());
+      assertNotSame(HMSDuration.of(seconds), HMSDuration.of(seconds));
+    }
+  }
+
+  @Test
+  public void testAddKeepsTheRepresentation() {
+    Duration compact = new CompactDuration(50).add(new HMSDuration(0, 0, 20));
+    assertTrue(compact instanceof CompactDuration);
+    assertEquals(70, compact.inSeconds());
+    assertSame(Duration.ofSeconds(70), compact);
+
+    Duration hms = new HMSDuration(1, 0, 0).add(new CompactDuration(LIMIT));
+    assertTrue(hms instanceof HMSDuration);
+    assertEquals(LIMIT + 3600L, hms.inSeconds());
+
+    Duration small = new HMSDuration(0, 0, 1).add(new HMSDuration(0, 0, 1));
+    assertTrue(small instanceof HMSDuration);
+    assertSame(HMSDuration.of(2), small);
+  }
+
+  @Test
+  public void testNegativeSecondsThrow() {
+    for (long seconds : new long[] {-1, Long.MIN_VALUE}) {
+      try {
+        Duration.ofSeconds(seconds);
+        fail("Did not throw an exception for " + seconds);
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+      try {
+        HMSDuration.of(seconds);
+        fail("Did not throw an exception for " + seconds);
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+  }
+}
@@ -0,0 +1,233 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Represents the examples and tests for the binary format of DurationWriter and
+ * DurationReader.
+ */
+public class DurationCodecTest {
+  private static final byte[] MAGIC = {'D', 'U', 'R', '1'};
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path write(List<Duration> durations) throws IOException {
+    Path path = this.folder.newFile().toPath();
+    try (DurationWriter writer = DurationWriter.create(path)) {
+      for (Duration duration : durations) {
+        writer.write(duration);
+      }
+    }
+    return path;
+  }
+
+  private Path writeBytes(byte[] bytes) throws IOException {
+    Path path = this.folder.newFile().toPath();
+    Files.write(path, bytes);
+    return path;
+  }
+
+  private static DurationReader open(Path path, long windowSize) throws IOException {
+    return new DurationReader(FileChannel.open(path, StandardOpenOption.READ), windowSize);
+  }
+
+  // The bytes a writer produces for the given seconds, without the magic number.
+  private static byte[] encode(long... seconds) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (DurationWriter writer = new DurationWriter(Channels.newChannel(out))) {
+      for (long value : seconds) {
+        writer.writeSeconds(value);
+      }
+    }
+    byte[] bytes = out.toByteArray();
+    byte[] body = new byte[bytes.length - MAGIC.length];
+    System.arraycopy(bytes, MAGIC.length, body, 0, body.length);
+    return body;
+  }
+
+  private static List<Duration> mixedDurations(int count) {
+    Random random = new Random(16);
+    List<Duration> durations = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      long seconds;
+      switch (random.nextInt(5)) {
+        case 0:
+          seconds = random.nextInt(100);
+          break;
+        case 1:
+          seconds = random.nextInt(100_000);
+          break;
+        case 2:
+          seconds = random.nextLong() >>> (1 + random.nextInt(63));
+          break;
+        case 3:
+          seconds = random.nextBoolean() ? Long.MAX_VALUE : 0;
+          break;
+        default:
+          seconds = durations.isEmpty() ? 0 : durations.get(i - 1).inSeconds();
+          break;
+      }
+      durations.add(random.nextBoolean() ? HMSDuration.of(seconds)
+          : CompactDuration.of(seconds));
+    }
+    return durations;
+  }
+
+  private static void assertReadsBack(List<Duration> expected, DurationReader reader)
+      throws IOException {
+    for (int i = 0; i < expected.size(); i++) {
+      assertTrue(reader.hasNext());
+      Duration duration = reader.next();
+      assertEquals("index " + i, expected.get(i).inSeconds(), duration.inSeconds());
+      assertEquals("index " + i, expected.get(i) instanceof HMSDuration,
+          duration instanceof HMSDuration);
+    }
+    assertFalse(reader.hasNext());
+    try {
+      reader.next();
+      fail("Did not throw an exception past the end of the stream");
+    } catch (NoSuchElementException e) {
+      //passes
+    }
+    try {
+      reader.nextSeconds();
+      fail("Did not throw an exception past the end of the stream");
+    } catch (NoSuchElementException e) {
+      //passes
+    }
+  }
+
+  @Test
+  public void testRoundTripMixedValues() throws IOException {
+    List<Duration> durations = mixedDurations(100_000);
+    Path path = this.write(durations);
+    try (DurationReader reader = DurationReader.open(path)) {
+      assertReadsBack(durations, reader);
+    }
+  }
+
+  @Test
+  public void testRoundTripAcrossWindows() throws IOException {
+    // Windows this small are remapped every few values, often partway through one.
+    List<Duration> durations = mixedDurations(5_000);
+    Path path = this.write(durations);
+    for (long windowSize : new long[] {1, 10, 11, 17, 64, 1000}) {
+      try (DurationReader reader = open(path, windowSize)) {
+        assertReadsBack(durations, reader);
+      }
+    }
+
+    // Ten-byte values back to back, so every remap lands in the middle of one.
+    List<Duration> extremes = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      extremes.add(CompactDuration.of(i % 2 == 0 ? Long.MAX_VALUE : 0));
+    }
+    path = this.write(extremes);
+    assertEquals(4 + 10 * 100, Files.size(path));
+    for (long windowSize : new long[] {10, 13, 15}) {
+      try (DurationReader reader = open(path, windowSize)) {
+        assertReadsBack(extremes, reader);
+      }
+    }
+  }
+
+  @Test
+  public void testEncoding() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (DurationWriter writer = new DurationWriter(Channels.newChannel(out))) {
+      writer.write(HMSDuration.of(0));
+    }
+    assertArrayEquals(new byte[] {'D', 'U', 'R', '1', 1}, out.toByteArray());
+
+    assertArrayEquals(new byte[] {0}, encode(0));
+    // A delta of 31 zigzags to 62, the most that fits in the six bits of the first byte.
+    assertArrayEquals(new byte[] {124}, encode(31));
+    assertArrayEquals(new byte[] {(byte) 0x80, 1}, encode(32));
+    // Negative deltas zigzag to odd numbers: -1 is 1, -32 is 63.
+    assertArrayEquals(new byte[] {0, 124, 2, 0}, encode(0, 31, 30, 30));
+    assertArrayEquals(new byte[] {(byte) 0x80, 1, 126}, encode(32, 0));
+    assertEquals(10, encode(Long.MAX_VALUE).length);
+    assertEquals(20, encode(Long.MAX_VALUE, 0).length);
+    assertEquals(DurationWriter.MAX_ENCODED_LENGTH, encode(Long.MAX_VALUE).length);
+  }
+
+  @Test
+  public void testRejectsNegativeSeconds() throws IOException {
+    try (DurationWriter writer = new DurationWriter(
+        Channels.newChannel(new ByteArrayOutputStream()))) {
+      writer.writeSeconds(-1);
+      fail("Did not throw an exception for negative seconds");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+  }
+
+  @Test
+  public void testNotADurationStream() throws IOException {
+    Path[] paths = {
+        this.writeBytes(new byte[0]),
+        this.writeBytes(new byte[] {'D', 'U', 'R'}),
+        this.writeBytes(new byte[] {'D', 'U', 'R', '2', 0}),
+        this.writeBytes(new byte[4])
+    };
+    for (Path path : paths) {
+      try {
+        DurationReader.open(path).close();
+        fail("Did not throw an exception for " + Files.size(path) + " bytes");
+      } catch (IOException e) {
+        assertEquals("Not a duration stream", e.getMessage());
+      }
+    }
+
+    // The magic number alone is an empty stream.
+    try (DurationReader reader = DurationReader.open(this.writeBytes(MAGIC))) {
+      assertFalse(reader.hasNext());
+    }
+  }
+
+  @Test
+  public void testCorruptStream() throws IOException {
+    byte[][] bodies = {
+        // A continuation bit on the last byte.
+        {(byte) 0x80},
+        {0, (byte) 0x81, (byte) 0xFF},
+        // More continuation bytes than a long can hold.
+        {(byte) 0x80, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 1},
+        // A delta of -1 from zero, which would make a negative duration.
+        {2}
+    };
+    for (byte[] body : bodies) {
+      byte[] bytes = new byte[MAGIC.length + body.length];
+      System.arraycopy(MAGIC, 0, bytes, 0, MAGIC.length);
+      System.arraycopy(body, 0, bytes, MAGIC.length, body.length);
+      try (DurationReader reader = DurationReader.open(this.writeBytes(bytes))) {
+        while (reader.hasNext()) {
+          reader.nextSeconds();
+        }
+        fail("Did not throw an exception for a corrupt stream of " + body.length + " bytes");
+      } catch (IOException e) {
+        assertEquals("Corrupt duration stream", e.getMessage());
+      }
+    }
+  }
+}
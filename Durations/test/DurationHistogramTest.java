@@ -0,0 +1,210 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Represents the examples and tests for the DurationHistogram class.
+ */
+public class DurationHistogramTest {
+
+  // Values spread over many magnitudes, from a few seconds to about 2^50.
+  private static long[] randomSeconds(Random random, int count) {
+    long[] seconds = new long[count];
+    for (int i = 0; i < count; i++) {
+      seconds[i] = random.nextLong() >>> (14 + random.nextInt(50));
+    }
+    return seconds;
+  }
+
+  private static long nearestRank(long[] sorted, double percentile) {
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+
+  private static void assertWithinError(long[] seconds, DurationHistogram histogram,
+                                        int precision) {
+    long[] sorted = seconds.clone();
+    Arrays.sort(sorted);
+    double error = Math.pow(2, 1 - precision);
+    for (double percentile = 0; percentile <= 100; percentile += 0.5) {
+      long exact = nearestRank(sorted, percentile);
+      long reported = histogram.percentile(percentile).inSeconds();
+      String message = "precision " + precision + ", percentile " + percentile + ": exact "
+          + exact + ", reported " + reported;
+      assertTrue(message, reported >= exact);
+      assertTrue(message, reported == exact || reported - exact < exact * error);
+      if (exact < 1L << precision) {
+        assertEquals(message, exact, reported);
+      }
+    }
+  }
+
+  @Test
+  public void testPercentileWithinDocumentedError() {
+    Random random = new Random(8);
+    for (int precision : new int[] {1, 7, 16}) {
+      long[] seconds = randomSeconds(random, 20_000);
+      DurationHistogram histogram = new DurationHistogram(precision);
+      for (long value : seconds) {
+        histogram.recordSeconds(value);
+      }
+      assertEquals(seconds.length, histogram.count());
+      assertWithinError(seconds, histogram, precision);
+
+      long[] sorted = seconds.clone();
+      Arrays.sort(sorted);
+      assertEquals(sorted[0], histogram.min().inSeconds());
+      assertEquals(sorted[sorted.length - 1], histogram.max().inSeconds());
+      assertEquals(sorted[sorted.length - 1], histogram.percentile(100).inSeconds());
+    }
+  }
+
+  @Test
+  public void testSmallValuesAreExact() {
+    DurationHistogram histogram = new DurationHistogram();
+    for (int seconds = 0; seconds < 100; seconds++) {
+      histogram.record(Duration.ofSeconds(seconds));
+    }
+    assertEquals(Duration.ofSeconds(0), histogram.percentile(0));
+    assertEquals(Duration.ofSeconds(49), histogram.percentile(50));
+    assertEquals(Duration.ofSeconds(98), histogram.percentile(99));
+    assertEquals(Duration.ofSeconds(99), histogram.percentile(100));
+  }
+
+  @Test
+  public void testAddAndSnapshot() {
+    Random random = new Random(9);
+    long[] first = randomSeconds(random, 5000);
+    long[] second = randomSeconds(random, 3000);
+    DurationHistogram left = new DurationHistogram(7);
+    DurationHistogram right = new DurationHistogram(7);
+    for (long value : first) {
+      left.recordSeconds(value);
+    }
+    for (long value : second) {
+      right.recordSeconds(value);
+    }
+
+    DurationHistogram snapshot = left.snapshot();
+    left.add(right);
+    assertEquals(8000, left.count());
+    assertEquals(3000, right.count());
+    long[] all = Arrays.copyOf(first, 8000);
+    System.arraycopy(second, 0, all, 5000, 3000);
+    assertWithinError(all, left, 7);
+
+    // The snapshot is unchanged by the later merge and recordings.
+    left.recordSeconds(1);
+    assertEquals(5000, snapshot.count());
+    assertWithinError(first, snapshot, 7);
+
+    try {
+      left.add(new DurationHistogram(8));
+      fail("Did not throw an exception for a different precision");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+  }
+
+  @Test
+  public void testEmptyAndReset() {
+    DurationHistogram histogram = new DurationHistogram(3);
+    assertEquals(0, histogram.count());
+    assertEmpty(histogram);
+
+    histogram.recordSeconds(5);
+    histogram.recordSeconds(1_000_000);
+    assertEquals(2, histogram.count());
+    histogram.reset();
+    assertEquals(0, histogram.count());
+    assertEmpty(histogram);
+
+    histogram.recordSeconds(6);
+    assertEquals(Duration.ofSeconds(6), histogram.min());
+    assertEquals(Duration.ofSeconds(6), histogram.max());
+    assertEquals(Duration.ofSeconds(6), histogram.percentile(50));
+  }
+
+  private static void assertEmpty(DurationHistogram histogram) {
+    try {
+      histogram.percentile(50);
+      fail("Did not throw an exception for an empty histogram");
+    } catch (IllegalStateException e) {
+      //passes
+    }
+    try {
+      histogram.min();
+      fail("Did not throw an exception for an empty histogram");
+    } catch (IllegalStateException e) {
+      //passes
+    }
+    try {
+      histogram.max();
+      fail("Did not throw an exception for an empty histogram");
+    } catch (IllegalStateException e) {
+      //passes
+    }
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    for (int precision : new int[] {0, 17}) {
+      try {
+        new DurationHistogram(precision);
+        fail("Did not throw an exception for precision " + precision);
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+    DurationHistogram histogram = new DurationHistogram();
+    histogram.recordSeconds(1);
+    try {
+      histogram.recordSeconds(-1);
+      fail("Did not throw an exception for negative seconds");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    for (double percentile : new double[] {-1, 101, Double.NaN}) {
+      try {
+        histogram.percentile(percentile);
+        fail("Did not throw an exception for percentile " + percentile);
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentRecording() throws InterruptedException {
+    DurationHistogram histogram = new DurationHistogram();
+    int perThread = 100_000;
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      long seed = t;
+      threads.add(new Thread(() -> {
+        Random random = new Random(seed);
+        for (int i = 0; i < perThread; i++) {
+          histogram.recordSeconds(1 + random.nextInt(1_000_000));
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    histogram.recordSeconds(0);
+    histogram.recordSeconds(5_000_000);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(4L * perThread + 2, histogram.count());
+    assertEquals(Duration.ofSeconds(0), histogram.min());
+    assertEquals(Duration.ofSeconds(5_000_000), histogram.max());
+  }
+}
@@ -0,0 +1,200 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Represents the examples and tests for the DurationVector class.
+ */
+public class DurationVectorTest {
+
+  private static DurationVector vectorOf(long... seconds) {
+    DurationVector vector = new DurationVector(0);
+    for (long value : seconds) {
+      vector.addSeconds(value);
+    }
+    return vector;
+  }
+
+  // The nearest-rank percentile read straight off a sorted copy.
+  private static long expectedPercentile(long[] seconds, double percentile) {
+    long[] sorted = seconds.clone();
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+
+  @Test
+  public void testAddAndGet() {
+    DurationVector vector = vectorOf(5, 0, 90_000);
+    vector.add(new HMSDuration(1, 0, 0));
+    assertEquals(4, vector.size());
+    assertEquals(90_000, vector.inSeconds(2));
+    assertEquals(Duration.ofSeconds(3600), vector.get(3));
+    assertEquals(Duration.ofSeconds(93_605), vector.total());
+    assertEquals(Duration.ofSeconds(0), vector.min());
+    assertEquals(Duration.ofSeconds(90_000), vector.max());
+
+    vector.sort();
+    assertEquals(0, vector.inSeconds(0));
+    assertEquals(90_000, vector.inSeconds(3));
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    DurationVector vector = vectorOf(1, 2);
+    try {
+      new DurationVector(-1);
+      fail("Did not throw an exception for a negative capacity");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    try {
+      vector.addSeconds(-1);
+      fail("Did not throw an exception for negative seconds");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    try {
+      vector.inSeconds(2);
+      fail("Did not throw an exception for an index past the end");
+    } catch (IndexOutOfBoundsException e) {
+      //passes
+    }
+    for (double percentile : new double[] {-0.5, 100.5, Double.NaN}) {
+      try {
+        vector.percentile(percentile);
+        fail("Did not throw an exception for percentile " + percentile);
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+  }
+
+  @Test
+  public void testEmptyVector() {
+    DurationVector vector = new DurationVector();
+    assertEquals(Duration.ofSeconds(0), vector.total());
+    try {
+      vector.min();
+      fail("Did not throw an exception for an empty vector");
+    } catch (IllegalStateException e) {
+      //passes
+    }
+    try {
+      vector.percentile(50);
+      fail("Did not throw an exception for an empty vector");
+    } catch (IllegalStateException e) {
+      //passes
+    }
+  }
+
+  @Test
+  public void testAddToAllAndAddAll() {
+    DurationVector vector = vectorOf(1, 2, 3);
+    vector.addToAll(Duration.ofSeconds(10));
+    assertEquals(13, vector.inSeconds(2));
+
+    vector.addAll(vectorOf(100, 200, 300));
+    assertEquals(111, vector.inSeconds(0));
+    assertEquals(313, vector.inSeconds(2));
+
+    for (DurationVector other : new DurationVector[] {vectorOf(1, 2), vectorOf(1, 2, 3, 4),
+        new DurationVector()}) {
+      try {
+        vector.addAll(other);
+        fail("Did not throw an exception for size " + other.size());
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+    assertEquals(111, vector.inSeconds(0));
+  }
+
+  @Test
+  public void testScale() {
+    DurationVector vector = vectorOf(3, 5, 7, 10, 0);
+    vector.scale(0.5);
+    // Halves round half up: 1.5 to 2, 2.5 to 3 and 3.5 to 4.
+    assertEquals(2, vector.inSeconds(0));
+    assertEquals(3, vector.inSeconds(1));
+    assertEquals(4, vector.inSeconds(2));
+    assertEquals(5, vector.inSeconds(3));
+    assertEquals(0, vector.inSeconds(4));
+
+    vector = vectorOf(10, 20);
+    vector.scale(1.0 / 3);
+    assertEquals(3, vector.inSeconds(0));
+    assertEquals(7, vector.inSeconds(1));
+
+    vector.scale(0);
+    assertEquals(0, vector.inSeconds(1));
+
+    for (double factor : new double[] {-1, -0.0001, Double.NaN}) {
+      vector = vectorOf(10);
+      try {
+        vector.scale(factor);
+        fail("Did not throw an exception for factor " + factor);
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+      assertEquals(10, vector.inSeconds(0));
+    }
+  }
+
+  @Test
+  public void testPercentileSmallVectors() {
+    DurationVector one = vectorOf(42);
+    for (double percentile : new double[] {0, 1, 50, 99.9, 100}) {
+      assertEquals(Duration.ofSeconds(42), one.percentile(percentile));
+    }
+
+    DurationVector two = vectorOf(9, 4);
+    assertEquals(Duration.ofSeconds(4), two.percentile(0));
+    assertEquals(Duration.ofSeconds(4), two.percentile(50));
+    assertEquals(Duration.ofSeconds(9), two.percentile(50.001));
+    assertEquals(Duration.ofSeconds(9), two.percentile(100));
+    // Left in its original order.
+    assertEquals(9, two.inSeconds(0));
+  }
+
+  @Test
+  public void testPercentileMatchesSortedCopy() {
+    Random random = new Random(3);
+    for (int size = 1; size <= 200; size++) {
+      long[] seconds = new long[size];
+      // Vary the shape: random, heavy duplicates, ascending, descending and all equal.
+      for (int i = 0; i < size; i++) {
+        switch (size % 5) {
+          case 0:
+            seconds[i] = random.nextInt(1_000_000);
+            break;
+          case 1:
+            seconds[i] = random.nextInt(4);
+            break;
+          case 2:
+            seconds[i] = i;
+            break;
+          case 3:
+            seconds[i] = size - i;
+            break;
+          default:
+            seconds[i] = 7;
+            break;
+        }
+      }
+      DurationVector vector = vectorOf(seconds);
+      for (int percentile = 0; percentile <= 100; percentile++) {
+        assertEquals("size " + size + ", percentile " + percentile,
+            expectedPercentile(seconds, percentile), vector.percentile(percentile).inSeconds());
+      }
+      assertEquals(expectedPercentile(seconds, 99.9), vector.percentile(99.9).inSeconds());
+      for (int i = 0; i < size; i++) {
+        assertEquals(seconds[i], vector.inSeconds(i));
+      }
+    }
+  }
+}
@@ -0,0 +1,222 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Represents the examples and tests for the sorting and selection in Durations.
+ */
+public class DurationsTest {
+
+  // Distinct duration objects, many of them of equal length when the bound is small, so
+  // stability can be checked by identity.
+  private static List<Duration> randomDurations(Random random, int count, long bound) {
+    List<Duration> durations = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      long seconds = (long) (random.nextDouble() * bound);
+      durations.add(random.nextBoolean() ? new CompactDuration(seconds)
+          : HMSDuration.of(seconds));
+    }
+    return durations;
+  }
+
+  private static long[] randomSeconds(Random random, int count, long bound) {
+    long[] seconds = new long[count];
+    for (int i = 0; i < count; i++) {
+      seconds[i] = (long) (random.nextDouble() * bound);
+    }
+    return seconds;
+  }
+
+  // List.sort is stable, so equal durations must come out as the same objects in the same
+  // order.
+  private static void assertSortedStably(List<Duration> original, List<Duration> sorted) {
+    List<Duration> expected = new ArrayList<>(original);
+    expected.sort(Comparator.comparingLong(Duration::inSeconds));
+    assertEquals(expected.size(), sorted.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSame("index " + i, expected.get(i), sorted.get(i));
+    }
+  }
+
+  @Test
+  public void testRadixSortList() {
+    Random random = new Random(1);
+    for (long bound : new long[] {1, 10, 1_000_000, Long.MAX_VALUE}) {
+      for (int size : new int[] {0, 1, 2, 100, 5000}) {
+        List<Duration> durations = randomDurations(random, size, bound);
+        List<Duration> sorted = new ArrayList<>(durations);
+        Durations.radixSort(sorted);
+        assertSortedStably(durations, sorted);
+      }
+    }
+    // Lists without fast random access are written back through their iterator.
+    List<Duration> durations = randomDurations(random, 1000, 50);
+    List<Duration> linked = new LinkedList<>(durations);
+    Durations.radixSort(linked);
+    assertSortedStably(durations, linked);
+  }
+
+  @Test
+  public void testRadixSortArray() {
+    Random random = new Random(2);
+    for (long bound : new long[] {1, 256, 1L << 40, Long.MAX_VALUE}) {
+      for (int size : new int[] {0, 1, 2, 100, 50_000}) {
+        long[] seconds = randomSeconds(random, size, bound);
+        long[] expected = seconds.clone();
+        Arrays.sort(expected);
+        Durations.radixSort(seconds);
+        assertArrayEquals(expected, seconds);
+      }
+    }
+    long[] extremes = {Long.MAX_VALUE, 0, 1L << 56, 255, Long.MAX_VALUE - 1, 0};
+    Durations.radixSort(extremes);
+    assertArrayEquals(new long[] {0, 0, 255, 1L << 56, Long.MAX_VALUE - 1, Long.MAX_VALUE},
+        extremes);
+
+    try {
+      Durations.radixSort(new long[] {3, -1, 2});
+      fail("Did not throw an exception for negative seconds");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+  }
+
+  @Test
+  public void testParallelSortList() {
+    Random random = new Random(3);
+    // Past 8192 elements the sort splits into tasks whose results are merged.
+    for (int size : new int[] {0, 1, 8192, 8193, 50_000, 200_003}) {
+      for (long bound : new long[] {3, 1_000, Long.MAX_VALUE}) {
+        List<Duration> durations = randomDurations(random, size, bound);
+        List<Duration> sorted = new ArrayList<>(durations);
+        Durations.parallelSort(sorted);
+        assertSortedStably(durations, sorted);
+      }
+    }
+    // Halves that are already in order relative to each other skip the merge.
+    List<Duration> ascending = new ArrayList<>();
+    for (int i = 0; i < 30_000; i++) {
+      ascending.add(new CompactDuration(i / 7));
+    }
+    List<Duration> sorted = new ArrayList<>(ascending);
+    Durations.parallelSort(sorted);
+    assertSortedStably(ascending, sorted);
+  }
+
+  @Test
+  public void testParallelSortArray() {
+    long[] seconds = randomSeconds(new Random(4), 100_000, 1L << 33);
+    long[] expected = seconds.clone();
+    Arrays.sort(expected);
+    Durations.parallelSort(seconds);
+    assertArrayEquals(expected, seconds);
+  }
+
+  @Test
+  public void testLongestAndShortestList() {
+    Random random = new Random(5);
+    for (int size : new int[] {0, 1, 10, 1000}) {
+      List<Duration> durations = randomDurations(random, size, 500);
+      List<Duration> sorted = new ArrayList<>(durations);
+      sorted.sort(Comparator.comparingLong(Duration::inSeconds));
+      for (int k : new int[] {0, 1, 5, size, size + 1, 10_000_000, Integer.MAX_VALUE}) {
+        List<Duration> longest = Durations.longest(durations, k);
+        List<Duration> shortest = Durations.shortest(durations, k);
+        int count = Math.min(k, size);
+        assertEquals(count, longest.size());
+        assertEquals(count, shortest.size());
+        for (int i = 0; i < count; i++) {
+          assertEquals(sorted.get(size - 1 - i).inSeconds(), longest.get(i).inSeconds());
+          assertEquals(sorted.get(i).inSeconds(), shortest.get(i).inSeconds());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLongestAndShortestArray() {
+    Random random = new Random(6);
+    for (int size : new int[] {0, 1, 10, 1000}) {
+      long[] seconds = randomSeconds(random, size, 500);
+      long[] sorted = seconds.clone();
+      Arrays.sort(sorted);
+      for (int k : new int[] {0, 1, 5, size, size + 1, 10_000_000, Integer.MAX_VALUE}) {
+        int count = Math.min(k, size);
+        long[] expectedShortest = Arrays.copyOf(sorted, count);
+        long[] expectedLongest = new long[count];
+        for (int i = 0; i < count; i++) {
+          expectedLongest[i] = sorted[size - 1 - i];
+        }
+        assertArrayEquals(expectedLongest, Durations.longest(seconds, k));
+        assertArrayEquals(expectedShortest, Durations.shortest(seconds, k));
+      }
+    }
+    assertArrayEquals(new long[] {Long.MAX_VALUE, 5},
+        Durations.longest(new long[] {5, 0, Long.MAX_VALUE}, 2));
+    assertArrayEquals(new long[] {0, 5},
+        Durations.shortest(new long[] {5, 0, Long.MAX_VALUE}, 2));
+  }
+
+  @Test
+  public void testNegativeCountRejected() {
+    List<Duration> durations = new ArrayList<>();
+    try {
+      Durations.longest(durations, -1);
+      fail("Did not throw an exception for a negative count");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    try {
+      Durations.shortest(new long[] {1}, -1);
+      fail("Did not throw an exception for a negative count");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+  }
+
+  @Test
+  public void testNegativeSecondsRejected() {
+    // No duration of this package can be negative, but another implementation could be.
+    Duration negative = new AbstractDuration() {
+      @Override
+      public long inSeconds() {
+        return -1;
+      }
+
+      @Override
+      protected Duration fromDuration(long seconds) {
+        return new CompactDuration(seconds);
+      }
+    };
+    List<Duration> small = new ArrayList<>(randomDurations(new Random(7), 10, 100));
+    small.add(3, negative);
+    List<Duration> large = new ArrayList<>(randomDurations(new Random(8), 20_000, 100));
+    large.add(15_000, negative);
+    for (List<Duration> durations : Arrays.asList(small, large)) {
+      List<Duration> original = new ArrayList<>(durations);
+      try {
+        Durations.radixSort(durations);
+        fail("Did not throw an exception for negative seconds");
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+      try {
+        Durations.parallelSort(durations);
+        fail("Did not throw an exception for negative seconds");
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+      assertEquals(original, durations);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Represents the examples and tests for the HMSDuration class, and for comparing it with
+ * CompactDuration.
+ */
+public class HMSDurationTest {
+
+  // Pairs far enough apart that subtracting them and casting to int gives the wrong sign, or
+  // zero.
+  private static final long[][] DISTANT = {
+      {Long.MAX_VALUE, 0},
+      {Long.MAX_VALUE, 1},
+      {1L << 32, 0},
+      {(1L << 31) + 5, 5},
+      {3L << 31, 1L << 31},
+      {Long.MAX_VALUE, Long.MAX_VALUE / 2 - 1}
+  };
+
+  private static Duration hms(long seconds) {
+    return HMSDuration.of(seconds);
+  }
+
+  private static Duration compact(long seconds) {
+    return new CompactDuration(seconds);
+  }
+
+  private static void assertOrdered(Duration shorter, Duration longer) {
+    assertTrue(shorter.compareTo(longer) < 0);
+    assertTrue(longer.compareTo(shorter) > 0);
+    assertNotEquals(shorter, longer);
+    assertNotEquals(longer, shorter);
+  }
+
+  private static void assertSameLength(Duration a, Duration b) {
+    assertEquals(0, a.compareTo(b));
+    assertEquals(0, b.compareTo(a));
+    assertEquals(a, b);
+    assertEquals(b, a);
+    assertEquals(a.hashCode(), b.hashCode());
+  }
+
+  @Test
+  public void testKeepsExactSeconds() {
+    long[] values = {0, 1, 59, 3600, 86_399, 86_400, 3600L * Integer.MAX_VALUE + 3599,
+        3600L * (1L << 31), 3600L * (1L << 32) + 61, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+    for (long seconds : values) {
+      assertEquals(seconds, hms(seconds).inSeconds());
+    }
+    Random random = new Random(12);
+    for (int i = 0; i < 100_000; i++) {
+      long seconds = random.nextLong() >>> (1 + random.nextInt(63));
+      assertEquals(seconds, hms(seconds).inSeconds());
+    }
+  }
+
+  @Test
+  public void testFieldConstructorNormalizes() {
+    assertEquals(14_500, new HMSDuration(1, 120, 3700).inSeconds());
+    assertEquals("04:01:40", new HMSDuration(1, 120, 3700).asHms());
+    assertEquals(3600L * Integer.MAX_VALUE + 3599,
+        new HMSDuration(Integer.MAX_VALUE, 59, 59).inSeconds());
+  }
+
+  @Test
+  public void testAsHmsUnchanged() {
+    // Both representations render the same text for the same length, including hours that
+    // wrap past Integer.MAX_VALUE.
+    long[] values = {0, 3723, 99 * 3600 + 3599, 360_000, 3600L * Integer.MAX_VALUE,
+        3600L * (1L << 31) + 3599, 3600L * ((1L << 32) - 5) + 61, Long.MAX_VALUE};
+    for (long seconds : values) {
+      assertEquals(compact(seconds).asHms(), hms(seconds).asHms());
+    }
+    assertEquals("01:02:03", hms(3723).asHms());
+    assertEquals("100:00:00", hms(360_000).asHms());
+    assertEquals("-5:01:01", hms(3600L * ((1L << 32) - 5) + 61).asHms());
+  }
+
+  @Test
+  public void testCompareDistantDurations() {
+    for (long[] pair : DISTANT) {
+      assertOrdered(hms(pair[1]), hms(pair[0]));
+      assertOrdered(compact(pair[1]), hms(pair[0]));
+      assertOrdered(hms(pair[1]), compact(pair[0]));
+      assertOrdered(compact(pair[1]), compact(pair[0]));
+    }
+  }
+
+  @Test
+  public void testMixedRepresentationsAgree() {
+    Random random = new Random(13);
+    for (int i = 0; i < 100_000; i++) {
+      long a = random.nextLong() >>> (1 + random.nextInt(63));
+      long b = random.nextBoolean() ? a : random.nextLong() >>> (1 + random.nextInt(63));
+      Duration left = random.nextBoolean() ? hms(a) : compact(a);
+      Duration right = random.nextBoolean() ? hms(b) : compact(b);
+      assertEquals(Long.signum(Long.compare(a, b)), Long.signum(left.compareTo(right)));
+      assertEquals(a == b, left.equals(right));
+      if (a == b) {
+        assertEquals(left.hashCode(), right.hashCode());
+      }
+    }
+    assertSameLength(new HMSDuration(1, 0, 0), compact(3600));
+    assertSameLength(new HMSDuration(0, 0, 90), new HMSDuration(0, 1, 30));
+    assertSameLength(hms(Long.MAX_VALUE), compact(Long.MAX_VALUE));
+    assertNotEquals(compact(5), Long.valueOf(5));
+  }
+}
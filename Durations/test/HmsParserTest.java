@@ -0,0 +1,137 @@
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Represents the examples and tests for the HmsParser class.
+ */
+public class HmsParserTest {
+
+  private static ByteBuffer ascii(String text) {
+    return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  // Parses the whole text with both overloads, which must agree.
+  private static long parseBoth(String text) {
+    long fromText = HmsParser.parse(text, 0);
+    long fromBuffer = HmsParser.parse(ascii(text), 0, text.length());
+    assertEquals(text, fromText, fromBuffer);
+    return fromText;
+  }
+
+  @Test
+  public void testRoundTripWithAsHms() {
+    Random random = new Random(17);
+    for (int i = 0; i < 100_000; i++) {
+      // Hours from two digits up to the ten of Integer.MAX_VALUE, which asHms can render.
+      long hours = (long) (random.nextDouble() * Math.pow(10, 2 + random.nextInt(9)));
+      long seconds = Math.min(hours, Integer.MAX_VALUE) * 3600 + random.nextInt(3600);
+      String text = Duration.ofSeconds(seconds).asHms();
+      assertEquals(text, seconds, parseBoth(text));
+    }
+    assertEquals(3600L * Integer.MAX_VALUE + 3599,
+        parseBoth(Duration.ofSeconds(3600L * Integer.MAX_VALUE + 3599).asHms()));
+  }
+
+  @Test
+  public void testExamples() {
+    assertEquals(0, parseBoth("00:00:00"));
+    assertEquals(82_799, parseBoth("22:59:59"));
+    assertEquals(360_000, parseBoth("100:00:00"));
+    assertEquals(3600 * 7 + 60 * 8 + 9, parseBoth("007:08:09"));
+    // Fifteen digits of hours is the most accepted.
+    assertEquals(999_999_999_999_999L * 3600 + 3599, parseBoth("999999999999999:59:59"));
+    // Text after the seconds is ignored by the CharSequence overload.
+    assertEquals(61, HmsParser.parse("at 00:01:01 sharp", 3));
+  }
+
+  @Test
+  public void testRejectsMalformedText() {
+    String[] bad = {
+        "0:00:00",
+        "1:02:03",
+        "00:0:00",
+        "00:00:0",
+        "00:60:00",
+        "00:00:60",
+        "00:99:99",
+        "1234567890123456:00:00",
+        "00-00-00",
+        "aa:00:00",
+        "00:0a:00",
+        ":00:00",
+        "00:00",
+        ""
+    };
+    for (String text : bad) {
+      assertEquals(text, -1, HmsParser.parse(text, 0));
+      assertEquals(text, -1, HmsParser.parse(ascii(text), 0, text.length()));
+    }
+    // The buffer overload needs the range to hold exactly one duration.
+    assertEquals(-1, HmsParser.parse(ascii("00:00:00 "), 0, 9));
+    assertEquals(-1, HmsParser.parse("00:00:00", -1));
+    assertEquals(-1, HmsParser.parse("00:00:00", 3));
+  }
+
+  @Test
+  public void testParseLines() {
+    ByteBuffer in = ascii("01:00:00\r\n\n00:00:07\nbad\r\n\r\n00:60:00\n12:34:56");
+    long[] seconds = new long[10];
+    assertEquals(5, HmsParser.parseLines(in, seconds, 0, true));
+    assertArrayEquals(new long[] {3600, 7, -1, -1, 45_296},
+        Arrays.copyOf(seconds, 5));
+    assertEquals(in.limit(), in.position());
+    assertEquals(0, HmsParser.parseLines(in, seconds, 0, true));
+  }
+
+  @Test
+  public void testParseLinesStopsWhenFull() {
+    String text = "00:00:01\n\n00:00:02\r\n00:00:03\n00:00:04\n";
+    ByteBuffer in = ascii(text);
+    long[] seconds = new long[3];
+    assertEquals(2, HmsParser.parseLines(in, seconds, 1, true));
+    assertArrayEquals(new long[] {0, 1, 2}, seconds);
+    // Left at the start of the first line not read.
+    assertEquals(text.indexOf("00:00:03"), in.position());
+
+    assertEquals(2, HmsParser.parseLines(in, seconds, 0, true));
+    assertArrayEquals(new long[] {3, 4, 2}, seconds);
+    assertEquals(text.length(), in.position());
+
+    // Nothing is read into a full array.
+    in = ascii(text);
+    assertEquals(0, HmsParser.parseLines(in, seconds, 3, true));
+    assertEquals(0, in.position());
+  }
+
+  @Test
+  public void testParseLinesLeavesUnterminatedLine() {
+    // One record split across two chunks, first in the middle of the seconds, then in the
+    // middle of a CRLF.
+    ByteBuffer in = ByteBuffer.allocate(64);
+    in.put("01:00:00\n00:00:0".getBytes(StandardCharsets.US_ASCII)).flip();
+    long[] seconds = new long[10];
+    assertEquals(1, HmsParser.parseLines(in, seconds, 0, false));
+    assertEquals(9, in.position());
+
+    in.compact().put("7\r".getBytes(StandardCharsets.US_ASCII)).flip();
+    assertEquals(0, HmsParser.parseLines(in, seconds, 1, false));
+    assertEquals(0, in.position());
+
+    in.compact().put("\n12:34:56".getBytes(StandardCharsets.US_ASCII)).flip();
+    assertEquals(1, HmsParser.parseLines(in, seconds, 1, false));
+    assertEquals(10, in.position());
+    assertEquals("12:34:56".length(), in.remaining());
+
+    // At the end of the input the last line is parsed without a newline.
+    assertEquals(1, HmsParser.parseLines(in, seconds, 2, true));
+    assertEquals(in.limit(), in.position());
+    assertArrayEquals(new long[] {3600, 7, 45_296}, Arrays.copyOf(seconds, 3));
+  }
+}
@@ -0,0 +1,106 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents a date that many threads can read and move at once without locking.
+ * The date is held as a single epoch day in an {@link AtomicInteger}, so every read sees a
+ * whole date and every update replaces it in one atomic step. Like
+ * {@link MyDate#advance(int)}, moving the date before 0000-01-01 clamps at that date, and
+ * moving it past 5879609-12-31, the last date an {@link EpochDate} can hold, clamps there.
+ */
+public class AtomicDate {
+  private final AtomicInteger epochDay;
+
+  /**
+   * Constructs an atomic date holding the given date.
+   *
+   * @param initial the starting date
+   */
+  public AtomicDate(EpochDate initial) {
+    this.epochDay = new AtomicInteger(initial.toEpochDay());
+  }
+
+  /**
+   * Constructs an atomic date holding the given date. Later changes to the given date do not
+   * affect this one.
+   *
+   * @param initial the starting date
+   */
+  public AtomicDate(MyDate initial) {
+    this(initial.toEpochDate());
+  }
+
+  /**
+   * Returns the current date.
+   *
+   * @return the current date
+   */
+  public EpochDate get() {
+    return EpochDate.ofEpochDay(this.epochDay.get());
+  }
+
+  /**
+   * Replaces the current date.
+   *
+   * @param date the new date
+   */
+  public void set(EpochDate date) {
+    this.epochDay.set(date.toEpochDay());
+  }
+
+  /**
+   * Atomically advances (or recedes) the current date by the given number of days.
+   *
+   * @param days the number of days to adjust (can be negative)
+   * @return the date after the update
+   */
+  public EpochDate advanceAndGet(int days) {
+    int current;
+    int updated;
+    do {
+      current = this.epochDay.get();
+      updated = advance(current, days);
+    } while (!this.epochDay.compareAndSet(current, updated));
+    return EpochDate.ofEpochDay(updated);
+  }
+
+  /**
+   * Atomically advances (or recedes) the current date by the given number of days.
+   *
+   * @param days the number of days to adjust (can be negative)
+   * @return the date before the update
+   */
+  public EpochDate getAndAdvance(int days) {
+    int current;
+    do {
+      current = this.epochDay.get();
+    } while (!this.epochDay.compareAndSet(current, advance(current, days)));
+    return EpochDate.ofEpochDay(current);
+  }
+
+  /**
+   * Atomically replaces the current date with the given update, but only if the current date
+   * is the expected one.
+   *
+   * @param expected the date this is expected to hold
+   * @param update   the new date
+   * @return true if the date was replaced, false if it held a different date
+   */
+  public boolean compareAndSet(EpochDate expected, EpochDate update) {
+    return this.epochDay.compareAndSet(expected.toEpochDay(), update.toEpochDay());
+  }
+
+  /**
+   * Returns the current date formatted as a string in YYYY-MM-DD format.
+   *
+   * @return the formatted date string
+   */
+  @Override
+  public String toString() {
+    return this.get().toString();
+  }
+
+  private static int advance(int epochDay, int days) {
+    long result = (long) epochDay + days;
+    return (int) Math.max(0, Math.min(CalendarMath.MAX_EPOCH_DAY, result));
+  }
+}
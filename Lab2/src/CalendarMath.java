@@ -0,0 +1,152 @@
+/**
+ * Holds the calendar arithmetic shared by the date classes.
+ * Dates are counted as epoch days, the number of days since 0000-01-01,
+ * in the proleptic Gregorian calendar. All conversions run in constant time,
+ * using lookup tables for month lengths and a leap year test that settles most years
+ * with a single bit mask.
+ * A converted date is packed into a single int as
+ * {@code year << 9 | month << 5 | day} so that callers needing all three
+ * fields do not pay for the conversion three times.
+ */
+final class CalendarMath {
+  /**
+   * The greatest year whose every date has an epoch day that fits in an int.
+   */
+  static final int MAX_YEAR = 5_879_609;
+
+  // Both tables describe a non-leap year, indexed by month; entry 0 is unused. The leap
+  // day is added by a test on February that almost always predicts well, which measured
+  // faster than a second half of each table for leap years indexed without a branch.
+  private static final int[] DAYS_IN_MONTH =
+      {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+  private static final int[] DAYS_BEFORE_MONTH =
+      {0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+  private static final int DAYS_PER_ERA = 146097;
+  private static final int DAYS_BEFORE_MARCH_OF_YEAR_ZERO = 60;
+
+  /**
+   * The epoch day of 31 December {@link #MAX_YEAR}, the last date that can be represented.
+   */
+  static final int MAX_EPOCH_DAY = toEpochDay(31, 12, MAX_YEAR);
+
+  private CalendarMath() {
+  }
+
+  /**
+   * Determines whether the given year is a leap year.
+   *
+   * @param year the year
+   * @return true if the year has 366 days
+   */
+  static boolean isLeapYear(int year) {
+    // Three years in four fail the cheap mask test, so it goes first. A multiple of 4 is a
+    // multiple of 100 exactly when it is a multiple of 25, and a multiple of 100 is a
+    // multiple of 400 exactly when it is a multiple of 16.
+    return (year & 3) == 0 && ((year % 25) != 0 || (year & 15) == 0);
+  }
+
+  /**
+   * Returns the number of days in the given month of the given year.
+   *
+   * @param month the month of the year (1–12)
+   * @param year  the year
+   * @return the number of days in that month
+   */
+  static int daysInMonth(int month, int year) {
+    if (month == 2 && isLeapYear(year)) {
+      return 29;
+    }
+    return DAYS_IN_MONTH[month];
+  }
+
+  /**
+   * Determines whether the given day, month and year form a valid date.
+   *
+   * @param day   the day of the month
+   * @param month the month of the year
+   * @param year  the year
+   * @return true if the date exists and is not before 0000-01-01
+   */
+  static boolean isValidDate(int day, int month, int year) {
+    if (year < 0 || month < 1 || month > 12 || day < 1) {
+      return false;
+    }
+    return day <= daysInMonth(month, year);
+  }
+
+  /**
+   * Converts a valid date to its epoch day.
+   *
+   * @param day   the day of the month
+   * @param month the month of the year
+   * @param year  the non-negative year
+   * @return the number of days since 0000-01-01
+   */
+  static int toEpochDay(int day, int month, int year) {
+    int leapYearsBefore = (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    int days = 365 * year + leapYearsBefore + DAYS_BEFORE_MONTH[month] + day - 1;
+    if (month > 2 && isLeapYear(year)) {
+      days++;
+    }
+    return days;
+  }
+
+  /**
+   * Converts a non-negative epoch day to a packed date.
+   *
+   * @param epochDay the number of days since 0000-01-01
+   * @return the packed year, month and day
+   */
+  static int toPackedDate(int epochDay) {
+    // Shift the count so that each year starts on March 1st; the leap day then falls at the
+    // very end of a year and the 400-year cycle can be split without special cases.
+    int shifted = epochDay - DAYS_BEFORE_MARCH_OF_YEAR_ZERO;
+    int era = Math.floorDiv(shifted, DAYS_PER_ERA);
+    int dayOfEra = shifted - era * DAYS_PER_ERA;
+    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int shiftedMonth = (5 * dayOfYear + 2) / 153;
+
+    int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    int month;
+    int year;
+    if (shiftedMonth < 10) {
+      month = shiftedMonth + 3;
+      year = era * 400 + yearOfEra;
+    } else {
+      month = shiftedMonth - 9;
+      year = era * 400 + yearOfEra + 1;
+    }
+    return year << 9 | month << 5 | day;
+  }
+
+  /**
+   * Extracts the year from a packed date.
+   *
+   * @param packedDate the packed date
+   * @return the year
+   */
+  static int yearOf(int packedDate) {
+    return packedDate >>> 9;
+  }
+
+  /**
+   * Extracts the month from a packed date.
+   *
+   * @param packedDate the packed date
+   * @return the month of the year (1–12)
+   */
+  static int monthOf(int packedDate) {
+    return (packedDate >>> 5) & 0xF;
+  }
+
+  /**
+   * Extracts the day of the month from a packed date.
+   *
+   * @param packedDate the packed date
+   * @return the day of the month
+   */
+  static int dayOf(int packedDate) {
+    return packedDate & 0x1F;
+  }
+}
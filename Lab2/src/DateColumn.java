@@ -0,0 +1,243 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Represents a growable column of dates stored as epoch days in a single {@code int[]}.
+ * Each date costs four bytes instead of a whole {@link MyDate} object, and the bulk
+ * operations are simple loops over the array that the JIT compiler can vectorize.
+ */
+public class DateColumn {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] epochDays;
+  private int size;
+
+  /**
+   * Constructs an empty column.
+   */
+  public DateColumn() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs an empty column with room for the given number of dates.
+   *
+   * @param initialCapacity the number of dates to reserve space for
+   * @throws IllegalArgumentException if the capacity is negative
+   */
+  public DateColumn(int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative");
+    }
+    this.epochDays = new int[initialCapacity];
+    this.size = 0;
+  }
+
+  /**
+   * Reads a column of dates from newline-delimited ASCII text, one YYYY-MM-DD date per line,
+   * from the buffer's position to its limit. Lines may end in {@code \r\n} and blank lines
+   * are skipped. Dates are decoded straight from the buffer without creating any objects per
+   * line. The buffer's position is moved to its limit.
+   *
+   * @param in the text to read
+   * @return a column with the dates in the order they appear
+   * @throws IllegalArgumentException if a line does not hold exactly one valid date
+   */
+  public static DateColumn parseLines(ByteBuffer in) {
+    DateColumn result = new DateColumn(Math.max(DEFAULT_CAPACITY, in.remaining() / 11));
+    int limit = in.limit();
+    int line = 1;
+    int start = in.position();
+    while (start < limit) {
+      int end = start;
+      while (end < limit && in.get(end) != '\n') {
+        end++;
+      }
+      int next = end + 1;
+      if (end > start && in.get(end - 1) == '\r') {
+        end--;
+      }
+      if (end > start) {
+        int epochDay = IsoDates.parse(in, start, end);
+        if (epochDay < 0) {
+          throw new IllegalArgumentException("Invalid date on line " + line);
+        }
+        result.addEpochDay(epochDay);
+      }
+      start = next;
+      line++;
+    }
+    in.position(limit);
+    return result;
+  }
+
+  /**
+   * Appends the given date to the end of this column.
+   *
+   * @param date the date to append
+   */
+  public void add(EpochDate date) {
+    this.addEpochDay(date.toEpochDay());
+  }
+
+  /**
+   * Appends the given date to the end of this column.
+   *
+   * @param date the date to append
+   */
+  public void add(MyDate date) {
+    this.addEpochDay(date.toEpochDate().toEpochDay());
+  }
+
+  private void addEpochDay(int epochDay) {
+    if (this.size == this.epochDays.length) {
+      this.epochDays = Arrays.copyOf(this.epochDays, Math.max(DEFAULT_CAPACITY, this.size * 2));
+    }
+    this.epochDays[this.size++] = epochDay;
+  }
+
+  /**
+   * Returns the number of dates in this column.
+   *
+   * @return the number of dates
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the date at the given position.
+   *
+   * @param index the position in this column
+   * @return the date at that position
+   * @throws IndexOutOfBoundsException if the index is outside this column
+   */
+  public EpochDate get(int index) {
+    return EpochDate.ofEpochDay(this.epochDays[this.checkIndex(index)]);
+  }
+
+  /**
+   * Advances (or recedes) every date in this column by the given number of days.
+   * As with {@link MyDate#advance(int)}, dates moved before 0000-01-01 clamp at that date;
+   * dates moved past 5879609-12-31, the last date an {@link EpochDate} can hold, clamp
+   * there.
+   *
+   * @param days the number of days to adjust (can be negative)
+   */
+  public void advanceAll(int days) {
+    int[] values = this.epochDays;
+    for (int i = 0; i < this.size; i++) {
+      long result = (long) values[i] + days;
+      values[i] = (int) Math.max(0, Math.min(CalendarMath.MAX_EPOCH_DAY, result));
+    }
+  }
+
+  /**
+   * Returns the earliest date in this column.
+   *
+   * @return the earliest date
+   * @throws IllegalStateException if this column is empty
+   */
+  public EpochDate min() {
+    this.checkNotEmpty();
+    int[] values = this.epochDays;
+    int min = values[0];
+    for (int i = 1; i < this.size; i++) {
+      min = Math.min(min, values[i]);
+    }
+    return EpochDate.ofEpochDay(min);
+  }
+
+  /**
+   * Returns the latest date in this column.
+   *
+   * @return the latest date
+   * @throws IllegalStateException if this column is empty
+   */
+  public EpochDate max() {
+    this.checkNotEmpty();
+    int[] values = this.epochDays;
+    int max = values[0];
+    for (int i = 1; i < this.size; i++) {
+      max = Math.max(max, values[i]);
+    }
+    return EpochDate.ofEpochDay(max);
+  }
+
+  /**
+   * Returns a new column with the dates of this column that fall between the given dates,
+   * inclusive, in their current order.
+   *
+   * @param from the earliest date to keep
+   * @param to   the latest date to keep
+   * @return the filtered column
+   */
+  public DateColumn filter(EpochDate from, EpochDate to) {
+    int low = from.toEpochDay();
+    int high = to.toEpochDay();
+    DateColumn result = new DateColumn(this.size);
+    int[] values = this.epochDays;
+    int[] kept = result.epochDays;
+    int count = 0;
+    for (int i = 0; i < this.size; i++) {
+      int value = values[i];
+      kept[count] = value;
+      if (value >= low && value <= high) {
+        count++;
+      }
+    }
+    result.size = count;
+    return result;
+  }
+
+  /**
+   * Sorts the dates in this column from earliest to latest.
+   */
+  public void sort() {
+    Arrays.sort(this.epochDays, 0, this.size);
+  }
+
+  /**
+   * Appends the date at the given position to the given builder in YYYY-MM-DD format.
+   *
+   * @param out   the builder to append to
+   * @param index the position in this column
+   * @throws IndexOutOfBoundsException if the index is outside this column
+   */
+  public void formatTo(StringBuilder out, int index) {
+    IsoDates.format(this.epochDays[this.checkIndex(index)], out);
+  }
+
+  /**
+   * Returns the dates of this column as a comma-separated list in YYYY-MM-DD format,
+   * enclosed in square brackets.
+   *
+   * @return the formatted column
+   */
+  @Override
+  public String toString() {
+    StringBuilder out = new StringBuilder(2 + 12 * this.size);
+    out.append('[');
+    for (int i = 0; i < this.size; i++) {
+      if (i > 0) {
+        out.append(", ");
+      }
+      this.formatTo(out, i);
+    }
+    return out.append(']').toString();
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size "
+          + this.size);
+    }
+    return index;
+  }
+
+  private void checkNotEmpty() {
+    if (this.size == 0) {
+      throw new IllegalStateException("Column is empty");
+    }
+  }
+}
@@ -0,0 +1,165 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Represents every day from a start date to an end date, both inclusive.
+ * Iterating steps the day, month and year forward one day at a time instead of converting
+ * from an epoch day for each date, and the range splits evenly so that
+ * {@code stream().parallel()} spreads the days across threads.
+ * Each date produced is a new {@link MyDate}, so callers may advance it freely.
+ */
+public class DateRange implements Iterable<MyDate> {
+  private final int first;
+  private final int last;
+
+  /**
+   * Constructs the range of days from start to end, both inclusive.
+   *
+   * @param start the first day of the range
+   * @param end   the last day of the range
+   * @throws IllegalArgumentException if the end is before the start
+   */
+  public DateRange(EpochDate start, EpochDate end) {
+    if (end.compareTo(start) < 0) {
+      throw new IllegalArgumentException("End cannot be before start");
+    }
+    this.first = start.toEpochDay();
+    this.last = end.toEpochDay();
+  }
+
+  /**
+   * Constructs the range of days from start to end, both inclusive. Later changes to
+   * either date do not affect the range.
+   *
+   * @param start the first day of the range
+   * @param end   the last day of the range
+   * @throws IllegalArgumentException if the end is before the start
+   */
+  public DateRange(MyDate start, MyDate end) {
+    this(start.toEpochDate(), end.toEpochDate());
+  }
+
+  /**
+   * Returns the number of days in this range.
+   *
+   * @return the number of days
+   */
+  public long size() {
+    return (long) this.last - this.first + 1;
+  }
+
+  @Override
+  public Iterator<MyDate> iterator() {
+    return new DayCursor(this.first, this.last);
+  }
+
+  @Override
+  public Spliterator<MyDate> spliterator() {
+    return new DayCursor(this.first, this.last);
+  }
+
+  /**
+   * Returns a sequential stream of the days in this range, in order.
+   *
+   * @return the stream of days
+   */
+  public Stream<MyDate> stream() {
+    return StreamSupport.stream(this.spliterator(), false);
+  }
+
+  /**
+   * Walks a run of consecutive days, keeping the current day, month and year so that moving
+   * to the next day only rolls the fields over at the end of a month.
+   */
+  private static final class DayCursor implements Iterator<MyDate>, Spliterator<MyDate> {
+    private long next;
+    private final int last;
+    private int day;
+    private int month;
+    private int year;
+
+    private DayCursor(int next, int last) {
+      this.next = next;
+      this.last = last;
+      this.seek(next);
+    }
+
+    private void seek(int epochDay) {
+      int packedDate = CalendarMath.toPackedDate(epochDay);
+      this.day = CalendarMath.dayOf(packedDate);
+      this.month = CalendarMath.monthOf(packedDate);
+      this.year = CalendarMath.yearOf(packedDate);
+    }
+
+    private MyDate step() {
+      MyDate current = new MyDate(this.day, this.month, this.year);
+      this.next++;
+      if (this.day < CalendarMath.daysInMonth(this.month, this.year)) {
+        this.day++;
+      } else if (this.month < 12) {
+        this.day = 1;
+        this.month++;
+      } else {
+        this.day = 1;
+        this.month = 1;
+        this.year++;
+      }
+      return current;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.next <= this.last;
+    }
+
+    @Override
+    public MyDate next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException("No more days in range");
+      }
+      return this.step();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super MyDate> action) {
+      if (!this.hasNext()) {
+        return false;
+      }
+      action.accept(this.step());
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super MyDate> action) {
+      while (this.next <= this.last) {
+        action.accept(this.step());
+      }
+    }
+
+    @Override
+    public Spliterator<MyDate> trySplit() {
+      if (this.last - this.next < 1) {
+        return null;
+      }
+      int middle = (int) (this.next + (this.last - this.next) / 2);
+      DayCursor prefix = new DayCursor((int) this.next, middle);
+      this.next = middle + 1;
+      this.seek(middle + 1);
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return Math.max(0, this.last - this.next + 1);
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/**
+ * Represents an immutable date stored as a single epoch day, the number of days since
+ * 0000-01-01. The day, month and year are derived from the epoch day only when asked for,
+ * so arithmetic and comparisons between dates are plain int operations.
+ * Dates before 0000-01-01 cannot be represented.
+ */
+public final class EpochDate implements Comparable<EpochDate> {
+  private final int epochDay;
+
+  /**
+   * Constructs a new EpochDate with the given day, month, and year.
+   *
+   * @param day   the day of the month (1–31 depending on month/year)
+   * @param month the month of the year (1–12)
+   * @param year  the year (0–5,879,609)
+   * @throws IllegalArgumentException if the date is invalid or its year is too large to
+   *                                  represent
+   */
+  public EpochDate(int day, int month, int year) {
+    if (year > CalendarMath.MAX_YEAR || !CalendarMath.isValidDate(day, month, year)) {
+      throw new IllegalArgumentException("Invalid date");
+    }
+    this.epochDay = CalendarMath.toEpochDay(day, month, year);
+  }
+
+  private EpochDate(int epochDay) {
+    this.epochDay = epochDay;
+  }
+
+  /**
+   * Returns the date that is the given number of days after 0000-01-01.
+   *
+   * @param epochDay the number of days since 0000-01-01
+   * @return the date
+   * @throws IllegalArgumentException if the epoch day is negative or after 5879609-12-31
+   */
+  public static EpochDate ofEpochDay(int epochDay) {
+    if (epochDay < 0 || epochDay > CalendarMath.MAX_EPOCH_DAY) {
+      throw new IllegalArgumentException("Invalid date");
+    }
+    return new EpochDate(epochDay);
+  }
+
+  /**
+   * Returns the number of days between 0000-01-01 and this date.
+   *
+   * @return the epoch day
+   */
+  public int toEpochDay() {
+    return this.epochDay;
+  }
+
+  /**
+   * Gets the day of the month of this date.
+   *
+   * @return the day of the month
+   */
+  public int getDay() {
+    return CalendarMath.dayOf(CalendarMath.toPackedDate(this.epochDay));
+  }
+
+  /**
+   * Gets the month of the year of this date.
+   *
+   * @return the month (1–12)
+   */
+  public int getMonth() {
+    return CalendarMath.monthOf(CalendarMath.toPackedDate(this.epochDay));
+  }
+
+  /**
+   * Gets the year of this date.
+   *
+   * @return the year
+   */
+  public int getYear() {
+    return CalendarMath.yearOf(CalendarMath.toPackedDate(this.epochDay));
+  }
+
+  /**
+   * Returns the date the given number of days after this one.
+   *
+   * @param days the number of days to add (can be negative)
+   * @return the resulting date
+   * @throws IllegalArgumentException if the result is before 0000-01-01 or cannot be
+   *                                  represented
+   */
+  public EpochDate plusDays(int days) {
+    long result = (long) this.epochDay + days;
+    if (result < 0 || result > CalendarMath.MAX_EPOCH_DAY) {
+      throw new IllegalArgumentException("Invalid date");
+    }
+    return new EpochDate((int) result);
+  }
+
+  /**
+   * Returns the date the given number of days before this one.
+   *
+   * @param days the number of days to subtract (can be negative)
+   * @return the resulting date
+   * @throws IllegalArgumentException if the result is before 0000-01-01 or cannot be
+   *                                  represented
+   */
+  public EpochDate minusDays(int days) {
+    return this.plusDays(-days);
+  }
+
+  /**
+   * Returns the number of days from this date to the given date.
+   *
+   * @param other the other date
+   * @return the number of days, negative if the other date is earlier
+   */
+  public int daysBetween(EpochDate other) {
+    return other.epochDay - this.epochDay;
+  }
+
+  @Override
+  public int compareTo(EpochDate other) {
+    return Integer.compare(this.epochDay, other.epochDay);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EpochDate)) {
+      return false;
+    }
+    return this.epochDay == ((EpochDate) o).epochDay;
+  }
+
+  @Override
+  public int hashCode() {
+    return Integer.hashCode(this.epochDay);
+  }
+
+  /**
+   * Returns the date formatted as a string in YYYY-MM-DD format,
+   * padded with leading zeros if needed.
+   *
+   * @return the formatted date string
+   */
+  @Override
+  public String toString() {
+    int packedDate = CalendarMath.toPackedDate(this.epochDay);
+    return IsoDates.toString(CalendarMath.dayOf(packedDate), CalendarMath.monthOf(packedDate),
+        CalendarMath.yearOf(packedDate));
+  }
+}
@@ -0,0 +1,183 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Formats and parses dates in ISO YYYY-MM-DD format without going through
+ * {@link String#format} or {@link Integer#parseInt}. Years are written with at least four
+ * digits and more when needed, matching {@code %04d}. Parsers report malformed text by
+ * returning -1 rather than throwing, so callers scanning large inputs pay nothing for the
+ * check.
+ */
+final class IsoDates {
+  /**
+   * The longest formatted date: a ten digit year, two dashes, a month and a day.
+   */
+  static final int MAX_LENGTH = 16;
+
+  private static final int MAX_YEAR_DIGITS = 7;
+
+  private IsoDates() {
+  }
+
+  /**
+   * Writes the given date into the buffer starting at the given offset.
+   *
+   * @param day    the day of the month
+   * @param month  the month of the year
+   * @param year   the non-negative year
+   * @param buffer the buffer to write to, with room for {@link #MAX_LENGTH} characters
+   * @param offset the position of the first character to write
+   * @return the position just after the last character written
+   */
+  static int format(int day, int month, int year, char[] buffer, int offset) {
+    int yearDigits = Math.max(4, digitCount(year));
+    int end = offset + yearDigits + 6;
+    writeTwoDigits(day, buffer, end - 2);
+    buffer[end - 3] = '-';
+    writeTwoDigits(month, buffer, end - 5);
+    buffer[end - 6] = '-';
+    for (int i = offset + yearDigits - 1; i >= offset; i--) {
+      buffer[i] = (char) ('0' + year % 10);
+      year /= 10;
+    }
+    return end;
+  }
+
+  /**
+   * Appends the given date to the given destination one character at a time.
+   *
+   * @param day   the day of the month
+   * @param month the month of the year
+   * @param year  the non-negative year
+   * @param out   the destination to append to
+   * @throws IOException if the destination fails
+   */
+  static void format(int day, int month, int year, Appendable out) throws IOException {
+    for (int power = pow10(Math.max(4, digitCount(year)) - 1); power > 0; power /= 10) {
+      out.append((char) ('0' + year / power % 10));
+    }
+    out.append('-').append((char) ('0' + month / 10)).append((char) ('0' + month % 10));
+    out.append('-').append((char) ('0' + day / 10)).append((char) ('0' + day % 10));
+  }
+
+  /**
+   * Appends the given date to the given builder.
+   *
+   * @param epochDay the date as a number of days since 0000-01-01
+   * @param out      the builder to append to
+   */
+  static void format(int epochDay, StringBuilder out) {
+    int packedDate = CalendarMath.toPackedDate(epochDay);
+    try {
+      format(CalendarMath.dayOf(packedDate), CalendarMath.monthOf(packedDate),
+          CalendarMath.yearOf(packedDate), out);
+    } catch (IOException e) {
+      throw new IllegalStateException("StringBuilder cannot fail", e);
+    }
+  }
+
+  /**
+   * Formats the given date as a new string.
+   *
+   * @param day   the day of the month
+   * @param month the month of the year
+   * @param year  the non-negative year
+   * @return the formatted date
+   */
+  static String toString(int day, int month, int year) {
+    char[] buffer = new char[MAX_LENGTH];
+    return new String(buffer, 0, format(day, month, year, buffer, 0));
+  }
+
+  /**
+   * Parses a date that starts at the given offset of the given text. The date ends after
+   * the two digits of the day; anything following it is ignored.
+   *
+   * @param text   the text to read
+   * @param offset the position of the first digit of the year
+   * @return the date as a number of days since 0000-01-01, or -1 if the text there is not a
+   *         valid date
+   */
+  static int parse(CharSequence text, int offset) {
+    int length = text.length();
+    int i = offset;
+    int year = 0;
+    while (i < length && i - offset <= MAX_YEAR_DIGITS && isDigit(text.charAt(i))) {
+      year = year * 10 + (text.charAt(i) - '0');
+      i++;
+    }
+    if (i - offset < 4 || i - offset > MAX_YEAR_DIGITS || i + 6 > length
+        || text.charAt(i) != '-' || text.charAt(i + 3) != '-') {
+      return -1;
+    }
+    int month = twoDigits(text.charAt(i + 1), text.charAt(i + 2));
+    int day = twoDigits(text.charAt(i + 4), text.charAt(i + 5));
+    return toEpochDay(day, month, year);
+  }
+
+  /**
+   * Parses a date that occupies exactly the given range of absolute indices of the given
+   * buffer of ASCII text, without changing the buffer's position.
+   *
+   * @param in     the buffer to read
+   * @param offset the index of the first digit of the year
+   * @param limit  the index just past the last digit of the day
+   * @return the date as a number of days since 0000-01-01, or -1 if the bytes there are not
+   *         exactly one valid date
+   */
+  static int parse(ByteBuffer in, int offset, int limit) {
+    int i = offset;
+    int year = 0;
+    while (i < limit && i - offset <= MAX_YEAR_DIGITS && isDigit(in.get(i))) {
+      year = year * 10 + (in.get(i) - '0');
+      i++;
+    }
+    if (i - offset < 4 || i - offset > MAX_YEAR_DIGITS || i + 6 != limit
+        || in.get(i) != '-' || in.get(i + 3) != '-') {
+      return -1;
+    }
+    int month = twoDigits(in.get(i + 1), in.get(i + 2));
+    int day = twoDigits(in.get(i + 4), in.get(i + 5));
+    return toEpochDay(day, month, year);
+  }
+
+  private static int toEpochDay(int day, int month, int year) {
+    if (year > CalendarMath.MAX_YEAR || !CalendarMath.isValidDate(day, month, year)) {
+      return -1;
+    }
+    return CalendarMath.toEpochDay(day, month, year);
+  }
+
+  private static int twoDigits(int tens, int ones) {
+    if (!isDigit(tens) || !isDigit(ones)) {
+      return -1;
+    }
+    return (tens - '0') * 10 + (ones - '0');
+  }
+
+  private static boolean isDigit(int c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static void writeTwoDigits(int value, char[] buffer, int offset) {
+    buffer[offset] = (char) ('0' + value / 10);
+    buffer[offset + 1] = (char) ('0' + value % 10);
+  }
+
+  private static int digitCount(int value) {
+    int count = 1;
+    while (value >= 10) {
+      value /= 10;
+      count++;
+    }
+    return count;
+  }
+
+  private static int pow10(int exponent) {
+    int result = 1;
+    for (int i = 0; i < exponent; i++) {
+      result *= 10;
+    }
+    return result;
+  }
+}
@@ -1,3 +1,5 @@
+import java.io.IOException;
+
 /**
  * Represents a custom date with non-negative year, month, and day.
  * Supports validating dates, advancing or receding by days,
@@ -17,10 +19,10 @@ public class MyDate {
    *
    * @param day   the day of the month (1–31 depending on month/year)
    * @param month the month of the year (1–12)
-   * @param year  the non-negative year (≥0)
+   * @param year  the year (0–5,879,609)
    */
   public MyDate(int day, int month, int year) {
-    if (!isValidDate(day, month, year)) {
+    if (year > CalendarMath.MAX_YEAR || !isValidDate(day, month, year)) {
       throw new IllegalArgumentException("Invalid date");
     }
     this.day = day;
@@ -28,18 +30,57 @@ public class MyDate {
     this.year = year;
   }
 
+  /**
+   * Constructs a new MyDate on the same day as the given {@link EpochDate}.
+   *
+   * @param date the date to copy
+   */
+  public MyDate(EpochDate date) {
+    this.fromAbsoluteDays(date.toEpochDay());
+  }
+
+  /**
+   * Parses a date in YYYY-MM-DD format that starts at the given offset of the given text.
+   * The year has at least four digits; anything after the day is ignored.
+   * No intermediate strings or numbers are created while reading the text.
+   *
+   * @param text   the text to read
+   * @param offset the position of the first digit of the year
+   * @return the parsed date
+   * @throws IllegalArgumentException if the text at that offset is not a valid date
+   */
+  public static MyDate parse(CharSequence text, int offset) {
+    if (offset < 0 || offset > text.length()) {
+      throw new IllegalArgumentException("Invalid date");
+    }
+    int epochDay = IsoDates.parse(text, offset);
+    if (epochDay < 0) {
+      throw new IllegalArgumentException("Invalid date");
+    }
+    MyDate date = new MyDate(1, 1, 0);
+    date.fromAbsoluteDays(epochDay);
+    return date;
+  }
+
   /**
    * Advances (or recedes) the date by the given number of days.
-   * If advancing backward past 0000-01-01, clamps at that date.
+   * If advancing backward past 0000-01-01, clamps at that date; if advancing forward past
+   * 5879609-12-31, the last date this can hold, clamps there.
    *
    * @param days the number of days to adjust (can be negative)
    */
   public void advance(int days) {
-    int totalDays = this.toAbsoluteDays() + days;
-    if (totalDays < 0) {
-      totalDays = 0;
-    }
-    this.fromAbsoluteDays(totalDays);
+    long totalDays = (long) this.toAbsoluteDays() + days;
+    this.fromAbsoluteDays((int) Math.max(0, Math.min(CalendarMath.MAX_EPOCH_DAY, totalDays)));
+  }
+
+  /**
+   * Returns an immutable {@link EpochDate} on the same day as this date.
+   *
+   * @return the equivalent epoch date
+   */
+  public EpochDate toEpochDate() {
+    return EpochDate.ofEpochDay(this.toAbsoluteDays());
   }
 
   /**
@@ -50,90 +91,45 @@ public class MyDate {
    */
   @Override
   public String toString() {
-    return String.format("%04d-%02d-%02d", this.year, this.month, this.day);
+    return IsoDates.toString(this.day, this.month, this.year);
   }
 
-  private boolean isLeapYear(int y) {
-    if (y % 4 != 0) {
-      return false;
-    }
-    if (y % 100 != 0) {
-      return true;
-    }
-    return y % 400 == 0;
+  /**
+   * Writes the date in YYYY-MM-DD format into the given buffer, as {@link #toString()}
+   * would format it, without allocating.
+   *
+   * @param buffer the buffer to write to
+   * @param offset the position of the first character to write
+   * @return the position just after the last character written
+   * @throws IndexOutOfBoundsException if the buffer is too small
+   */
+  public int formatTo(char[] buffer, int offset) {
+    return IsoDates.format(this.day, this.month, this.year, buffer, offset);
   }
 
-  private int daysInMonth(int month, int year) {
-    if (month == 2) {
-      if (isLeapYear(year)) {
-        return 29;
-      } else {
-        return 28;
-      }
-    } else if ((month <= 7 && month % 2 == 1) || (month >= 8 && month % 2 == 0)) {
-      return 31;
-    } else {
-      return 30;
-    }
+  /**
+   * Appends the date in YYYY-MM-DD format to the given destination, as {@link #toString()}
+   * would format it, without allocating.
+   *
+   * @param out the destination to append to
+   * @throws IOException if the destination fails
+   */
+  public void formatTo(Appendable out) throws IOException {
+    IsoDates.format(this.day, this.month, this.year, out);
   }
 
   private boolean isValidDate(int day, int month, int year) {
-    if (year < 0 || month < 1 || month > 12 || day < 1) {
-      return false;
-    }
-    int dim = daysInMonth(month, year);
-    return day <= dim;
+    return CalendarMath.isValidDate(day, month, year);
   }
 
   private int toAbsoluteDays() {
-    int days = 0;
-    int y = 0;
-    while (y < this.year) {
-      if (isLeapYear(y)) {
-        days += 366;
-      } else {
-        days += 365;
-      }
-      y++;
-    }
-
-    int m = 1;
-    while (m < this.month) {
-      days += daysInMonth(m, this.year);
-      m++;
-    }
-
-    days += this.day - 1;
-    return days;
+    return CalendarMath.toEpochDay(this.day, this.month, this.year);
   }
 
   private void fromAbsoluteDays(int absoluteDays) {
-    int yearCounter = 0;
-    while (true) {
-      int daysInYear;
-      if (isLeapYear(yearCounter)) {
-        daysInYear = 366;
-      } else {
-        daysInYear = 365;
-      }
-      if (absoluteDays < daysInYear) {
-        break;
-      }
-      absoluteDays -= daysInYear;
-      yearCounter++;
-    }
-    this.year = yearCounter;
-
-    int monthCounter = 1;
-    while (true) {
-      int dim = daysInMonth(monthCounter, this.year);
-      if (absoluteDays < dim) {
-        break;
-      }
-      absoluteDays -= dim;
-      monthCounter++;
-    }
-    this.month = monthCounter;
-    this.day = absoluteDays + 1;
+    int packedDate = CalendarMath.toPackedDate(absoluteDays);
+    this.year = CalendarMath.yearOf(packedDate);
+    this.month = CalendarMath.monthOf(packedDate);
+    this.day = CalendarMath.dayOf(packedDate);
   }
 }
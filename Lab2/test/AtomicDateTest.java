@@ -0,0 +1,66 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Represents the examples and tests for the AtomicDate class.
+ */
+public class AtomicDateTest {
+
+  @Test
+  public void testAdvance() {
+    AtomicDate date = new AtomicDate(new MyDate(31, 12, 2020));
+    assertEquals("2021-01-01", date.advanceAndGet(1).toString());
+    assertEquals("2021-01-01", date.getAndAdvance(-1).toString());
+    assertEquals("2020-12-31", date.toString());
+
+    date.set(new EpochDate(3, 1, 0));
+    assertEquals("0000-01-01", date.advanceAndGet(-10).toString());
+  }
+
+  @Test
+  public void testAdvanceClampsAtLastDate() {
+    EpochDate last = new EpochDate(31, 12, 5_879_609);
+    AtomicDate date = new AtomicDate(new EpochDate(1, 1, 2000));
+    assertEquals(last, date.advanceAndGet(Integer.MAX_VALUE));
+    assertEquals(last, date.getAndAdvance(1));
+    // The clamped date can still be rebuilt from its fields.
+    EpochDate clamped = date.get();
+    assertEquals(clamped,
+        new EpochDate(clamped.getDay(), clamped.getMonth(), clamped.getYear()));
+    assertEquals("0000-01-01", date.advanceAndGet(Integer.MIN_VALUE).toString());
+  }
+
+  @Test
+  public void testCompareAndSet() {
+    AtomicDate date = new AtomicDate(new EpochDate(1, 6, 2020));
+    assertFalse(date.compareAndSet(new EpochDate(2, 6, 2020), new EpochDate(1, 7, 2020)));
+    assertEquals("2020-06-01", date.get().toString());
+    assertTrue(date.compareAndSet(new EpochDate(1, 6, 2020), new EpochDate(1, 7, 2020)));
+    assertEquals("2020-07-01", date.get().toString());
+  }
+
+  @Test
+  public void testConcurrentAdvance() throws InterruptedException {
+    AtomicDate date = new AtomicDate(new EpochDate(1, 1, 2000));
+    List<Thread> workers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread worker = new Thread(() -> {
+        for (int j = 0; j < 10_000; j++) {
+          date.advanceAndGet(1);
+        }
+      });
+      workers.add(worker);
+      worker.start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    assertEquals(new EpochDate(1, 1, 2000).plusDays(40_000), date.get());
+  }
+}
@@ -0,0 +1,68 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Represents the examples and tests for the CalendarMath class.
+ */
+public class CalendarMathTest {
+  private static final long EPOCH = LocalDate.of(0, 1, 1).toEpochDay();
+
+  @Test
+  public void testLeapYearsMatchJavaTime() {
+    // The Gregorian calendar repeats every 400 years, so one full cycle covers every case.
+    for (int year = 0; year < 400; year++) {
+      assertEquals("year " + year, Year.isLeap(year), CalendarMath.isLeapYear(year));
+    }
+    int[] boundaries = {0, 4, 100, 200, 400, 1900, 2000, 2100, 2400,
+        CalendarMath.MAX_YEAR - 1, CalendarMath.MAX_YEAR};
+    for (int year : boundaries) {
+      assertEquals("year " + year, Year.isLeap(year), CalendarMath.isLeapYear(year));
+    }
+  }
+
+  @Test
+  public void testDaysInMonthMatchJavaTime() {
+    for (int year = 0; year < 400; year++) {
+      for (int month = 1; month <= 12; month++) {
+        assertEquals(year + "-" + month, YearMonth.of(year, month).lengthOfMonth(),
+            CalendarMath.daysInMonth(month, year));
+      }
+    }
+    assertEquals(29, CalendarMath.daysInMonth(2, 2000));
+    assertEquals(28, CalendarMath.daysInMonth(2, 2100));
+    assertEquals(31, CalendarMath.daysInMonth(12, 2100));
+  }
+
+  @Test
+  public void testEpochDayRoundTrip() {
+    // A full cycle past year 0, plus one at the top of the range.
+    int[] starts = {0, CalendarMath.MAX_YEAR - 399};
+    for (int start : starts) {
+      for (LocalDate date = LocalDate.of(start, 1, 1);
+           date.getYear() < start + 400; date = date.plusDays(1)) {
+        int epochDay = CalendarMath.toEpochDay(date.getDayOfMonth(), date.getMonthValue(),
+            date.getYear());
+        assertEquals(date.toString(), date.toEpochDay() - EPOCH, epochDay);
+        int packed = CalendarMath.toPackedDate(epochDay);
+        assertEquals(date.getYear(), CalendarMath.yearOf(packed));
+        assertEquals(date.getMonthValue(), CalendarMath.monthOf(packed));
+        assertEquals(date.getDayOfMonth(), CalendarMath.dayOf(packed));
+      }
+    }
+  }
+
+  @Test
+  public void testMaxYearIsLastThatFits() {
+    assertEquals(LocalDate.of(CalendarMath.MAX_YEAR, 12, 31).toEpochDay() - EPOCH,
+        CalendarMath.MAX_EPOCH_DAY);
+    // The last day of the next year would not fit in an int.
+    assertTrue(LocalDate.of(CalendarMath.MAX_YEAR + 1, 12, 31).toEpochDay() - EPOCH
+        > Integer.MAX_VALUE);
+  }
+}
@@ -0,0 +1,125 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Represents the examples and tests for the DateColumn class.
+ */
+public class DateColumnTest {
+  private DateColumn column;
+
+  /**
+   * Initializes a column with a few unsorted dates.
+   */
+  @Before
+  public void setUp() {
+    this.column = new DateColumn(2);
+    this.column.add(new MyDate(15, 3, 2021));
+    this.column.add(new EpochDate(1, 1, 5));
+    this.column.add(new MyDate(29, 2, 2020));
+    this.column.add(new EpochDate(31, 12, 12345));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeCapacity() {
+    new DateColumn(-1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetOutOfBounds() {
+    this.column.get(4);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testMinOfEmptyColumn() {
+    new DateColumn().min();
+  }
+
+  @Test
+  public void testAddAndGet() {
+    assertEquals(4, this.column.size());
+    assertEquals(new EpochDate(15, 3, 2021), this.column.get(0));
+    assertEquals(new EpochDate(31, 12, 12345), this.column.get(3));
+    assertEquals("[2021-03-15, 0005-01-01, 2020-02-29, 12345-12-31]", this.column.toString());
+  }
+
+  @Test
+  public void testAdvanceAll() {
+    this.column.advanceAll(1);
+    assertEquals("[2021-03-16, 0005-01-02, 2020-03-01, 12346-01-01]", this.column.toString());
+
+    this.column.advanceAll(-2000);
+    assertEquals("[2015-09-24, 0000-01-01, 2014-09-09, 12340-07-11]", this.column.toString());
+  }
+
+  @Test
+  public void testAdvanceAllClampsAtLastEpochDay() {
+    DateColumn column = new DateColumn(2);
+    column.add(new EpochDate(31, 12, 5_000_000));
+    column.add(new EpochDate(1, 1, 2000));
+    column.advanceAll(Integer.MAX_VALUE);
+    EpochDate last = new EpochDate(31, 12, 5_879_609);
+    assertEquals(last, column.get(0));
+    assertEquals(last, column.get(1));
+    assertEquals("5879609-12-31", column.get(1).toString());
+
+    column.advanceAll(Integer.MIN_VALUE);
+    assertEquals(new EpochDate(1, 1, 0), column.get(0));
+  }
+
+  @Test
+  public void testMinMax() {
+    assertEquals(new EpochDate(1, 1, 5), this.column.min());
+    assertEquals(new EpochDate(31, 12, 12345), this.column.max());
+  }
+
+  @Test
+  public void testFilter() {
+    DateColumn filtered = this.column.filter(new EpochDate(29, 2, 2020),
+        new EpochDate(15, 3, 2021));
+    assertEquals("[2021-03-15, 2020-02-29]", filtered.toString());
+    assertEquals(4, this.column.size());
+    assertEquals("[]", this.column.filter(new EpochDate(1, 1, 3), new EpochDate(1, 1, 4))
+        .toString());
+  }
+
+  @Test
+  public void testSort() {
+    this.column.sort();
+    assertEquals("[0005-01-01, 2020-02-29, 2021-03-15, 12345-12-31]", this.column.toString());
+  }
+
+  @Test
+  public void testFormatToSharedBuilder() {
+    StringBuilder out = new StringBuilder();
+    for (int i = 0; i < this.column.size(); i++) {
+      this.column.formatTo(out, i);
+      out.append('\n');
+    }
+    assertEquals("2021-03-15\n0005-01-01\n2020-02-29\n12345-12-31\n", out.toString());
+  }
+
+  @Test
+  public void testParseLines() {
+    ByteBuffer in = ByteBuffer.wrap(
+        "2021-03-15\n0005-01-01\r\n\n2020-02-29\n12345-12-31".getBytes(StandardCharsets.US_ASCII));
+    DateColumn parsed = DateColumn.parseLines(in);
+    assertEquals(this.column.toString(), parsed.toString());
+    assertEquals(in.limit(), in.position());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseLinesTrailingText() {
+    DateColumn.parseLines(ByteBuffer.wrap("2021-03-15\n2021-03-16 x\n".getBytes(
+        StandardCharsets.US_ASCII)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseLinesInvalidDate() {
+    DateColumn.parseLines(ByteBuffer.wrap("2021-13-15\n".getBytes(StandardCharsets.US_ASCII)));
+  }
+}
@@ -0,0 +1,83 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Represents the examples and tests for the DateRange class.
+ */
+public class DateRangeTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEndBeforeStart() {
+    new DateRange(new MyDate(2, 1, 2020), new MyDate(1, 1, 2020));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testIteratorExhausted() {
+    Iterator<MyDate> days = new DateRange(new MyDate(1, 1, 2020), new MyDate(1, 1, 2020))
+        .iterator();
+    assertEquals("2020-01-01", days.next().toString());
+    assertFalse(days.hasNext());
+    days.next();
+  }
+
+  @Test
+  public void testIteratesAcrossMonthsAndYears() {
+    DateRange range = new DateRange(new MyDate(27, 2, 2020), new MyDate(2, 3, 2020));
+    assertEquals(5, range.size());
+    StringBuilder out = new StringBuilder();
+    for (MyDate day : range) {
+      out.append(day).append(' ');
+    }
+    assertEquals("2020-02-27 2020-02-28 2020-02-29 2020-03-01 2020-03-02 ", out.toString());
+
+    assertEquals("[1999-12-31, 2000-01-01]",
+        new DateRange(new EpochDate(31, 12, 1999), new EpochDate(1, 1, 2000)).stream()
+            .map(MyDate::toString).collect(Collectors.toList()).toString());
+  }
+
+  @Test
+  public void testMatchesJavaTimeOverCenturies() {
+    DateRange range = new DateRange(new MyDate(1, 1, 1890), new MyDate(31, 12, 2110));
+    LocalDate expected = LocalDate.of(1890, 1, 1);
+    for (MyDate day : range) {
+      assertEquals(expected.toString(), day.toString());
+      expected = expected.plusDays(1);
+    }
+    assertEquals(LocalDate.of(2111, 1, 1), expected);
+  }
+
+  @Test
+  public void testParallelStream() {
+    DateRange range = new DateRange(new MyDate(1, 1, 0), new MyDate(31, 12, 9999));
+    assertEquals(range.size(), range.stream().parallel().count());
+    assertEquals(range.stream().map(MyDate::toString).collect(Collectors.joining()),
+        range.stream().parallel().map(MyDate::toString).collect(Collectors.joining()));
+  }
+
+  @Test
+  public void testSplitCoversRange() {
+    Spliterator<MyDate> suffix = new DateRange(new EpochDate(30, 12, 2020),
+        new EpochDate(2, 1, 2021)).spliterator();
+    Spliterator<MyDate> prefix = suffix.trySplit();
+    assertEquals(2, prefix.estimateSize());
+    assertEquals(2, suffix.estimateSize());
+
+    StringBuilder out = new StringBuilder();
+    prefix.forEachRemaining(day -> out.append(day).append(' '));
+    suffix.forEachRemaining(day -> out.append(day).append(' '));
+    assertEquals("2020-12-30 2020-12-31 2021-01-01 2021-01-02 ", out.toString());
+
+    Spliterator<MyDate> single = new DateRange(new EpochDate(1, 1, 2021),
+        new EpochDate(1, 1, 2021)).spliterator();
+    assertNull(single.trySplit());
+  }
+}
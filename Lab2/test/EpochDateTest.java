@@ -0,0 +1,136 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Represents the examples and tests for the EpochDate class.
+ */
+public class EpochDateTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorInvalidDate() {
+    new EpochDate(29, 2, 1900);
+  }
+
+  @Test
+  public void testConstructorYearTooLarge() {
+    EpochDate last = new EpochDate(31, 12, 5_879_609);
+    assertEquals("5879609-12-31", last.toString());
+    assertTrue(last.toEpochDay() > 0);
+    for (int year : new int[] {5_879_610, 6_000_000, Integer.MAX_VALUE}) {
+      try {
+        new EpochDate(1, 1, year);
+        fail("Did not throw an exception for year " + year);
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfEpochDayNegative() {
+    EpochDate.ofEpochDay(-1);
+  }
+
+  @Test
+  public void testPastLastDate() {
+    EpochDate last = new EpochDate(31, 12, 5_879_609);
+    assertEquals(last, EpochDate.ofEpochDay(last.toEpochDay()));
+    EpochDate start = new EpochDate(1, 1, 2000);
+    assertEquals(last, start.plusDays(last.toEpochDay() - start.toEpochDay()));
+    try {
+      EpochDate.ofEpochDay(last.toEpochDay() + 1);
+      fail("Did not throw an exception past the last date");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    try {
+      last.plusDays(1);
+      fail("Did not throw an exception past the last date");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMinusDaysBeforeFirstDate() {
+    new EpochDate(5, 1, 0).minusDays(5);
+  }
+
+  @Test
+  public void testFieldsAndEpochDay() {
+    EpochDate first = new EpochDate(1, 1, 0);
+    assertEquals(0, first.toEpochDay());
+
+    EpochDate date = new EpochDate(29, 2, 2024);
+    assertEquals(29, date.getDay());
+    assertEquals(2, date.getMonth());
+    assertEquals(2024, date.getYear());
+    assertEquals("2024-02-29", date.toString());
+    assertEquals(date, EpochDate.ofEpochDay(date.toEpochDay()));
+  }
+
+  @Test
+  public void testArithmetic() {
+    EpochDate date = new EpochDate(31, 12, 2020);
+    assertEquals("2021-01-01", date.plusDays(1).toString());
+    assertEquals("2020-12-30", date.minusDays(1).toString());
+    assertEquals("2020-12-31", date.toString());
+    assertEquals(366, new EpochDate(1, 1, 2020).daysBetween(new EpochDate(1, 1, 2021)));
+    assertEquals(-365, new EpochDate(1, 1, 2022).daysBetween(new EpochDate(1, 1, 2021)));
+  }
+
+  @Test
+  public void testOrderingAndEquality() {
+    List<EpochDate> dates = new ArrayList<>();
+    dates.add(new EpochDate(2, 1, 2020));
+    dates.add(new EpochDate(31, 12, 2019));
+    dates.add(new EpochDate(1, 1, 2020));
+    Collections.sort(dates);
+    assertEquals("[2019-12-31, 2020-01-01, 2020-01-02]", dates.toString());
+
+    assertTrue(dates.get(0).compareTo(dates.get(1)) < 0);
+    assertEquals(new EpochDate(1, 1, 2020), dates.get(1));
+    assertEquals(new EpochDate(1, 1, 2020).hashCode(), dates.get(1).hashCode());
+    assertNotEquals(dates.get(0), dates.get(1));
+  }
+
+  @Test
+  public void testConversionWithMyDate() {
+    MyDate date = new MyDate(15, 6, 1999);
+    EpochDate epochDate = date.toEpochDate();
+    assertEquals("1999-06-15", epochDate.toString());
+
+    MyDate copy = new MyDate(epochDate.plusDays(20));
+    assertEquals("1999-07-05", copy.toString());
+    copy.advance(1);
+    assertEquals("1999-06-15", date.toString());
+    assertEquals(epochDate.plusDays(21), copy.toEpochDate());
+  }
+
+  @Test
+  public void testCalendarMatchesJavaTime() {
+    for (int year = 0; year <= 2400; year++) {
+      for (int month = 1; month <= 12; month++) {
+        int length = LocalDate.of(year, month, 1).lengthOfMonth();
+        EpochDate last = new EpochDate(length, month, year);
+        assertEquals(LocalDate.of(year, month, length).toEpochDay()
+            - LocalDate.of(0, 1, 1).toEpochDay(), last.toEpochDay());
+        try {
+          new EpochDate(length + 1, month, year);
+          fail("Accepted day " + (length + 1) + " of " + month + "/" + year);
+        } catch (IllegalArgumentException e) {
+          // passes
+        }
+      }
+    }
+  }
+}
@@ -1,5 +1,8 @@
 import org.junit.Test;
 
+import java.io.IOException;
+import java.time.LocalDate;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -37,6 +40,26 @@ public class MyDateTest {
     new MyDate(1, 1, -1);
   }
 
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorInvalidYearTooLarge() {
+    new MyDate(1, 1, 5_879_610);
+  }
+
+  @Test
+  public void testAdvanceClampsAtLastDate() {
+    MyDate date = new MyDate(31, 12, 5_879_609);
+    assertEquals(date.toEpochDate(), new EpochDate(31, 12, 5_879_609));
+    date.advance(1);
+    assertEquals("5879609-12-31", date.toString());
+
+    MyDate early = new MyDate(1, 1, 2000);
+    early.advance(Integer.MAX_VALUE);
+    assertEquals("5879609-12-31", early.toString());
+    assertEquals(new EpochDate(31, 12, 5_879_609), early.toEpochDate());
+    early.advance(Integer.MIN_VALUE);
+    assertEquals("0000-01-01", early.toString());
+  }
+
   @Test
   public void testAdvanceVariousCases() {
     MyDate date1 = new MyDate(10, 1, 2020);
@@ -76,4 +99,83 @@ public class MyDateTest {
     MyDate noPaddingDate = new MyDate(15, 11, 2020);
     assertEquals("2020-11-15", noPaddingDate.toString());
   }
+
+  @Test
+  public void testAdvanceFarFutureDates() {
+    MyDate endOfTime = new MyDate(31, 12, 9999);
+    endOfTime.advance(1);
+    assertEquals("10000-01-01", endOfTime.toString());
+
+    MyDate leapDay = new MyDate(29, 2, 2000);
+    leapDay.advance(365 * 400 + 97);
+    assertEquals("2400-02-29", leapDay.toString());
+
+    MyDate firstDay = new MyDate(1, 1, 0);
+    firstDay.advance(3_000_000);
+    assertEquals("8213-09-21", firstDay.toString());
+    firstDay.advance(-3_000_000);
+    assertEquals("0000-01-01", firstDay.toString());
+  }
+
+  @Test
+  public void testAdvanceMatchesJavaTime() {
+    LocalDate expected = LocalDate.of(0, 1, 1);
+    MyDate date = new MyDate(1, 1, 0);
+    for (int i = 0; i < 2000; i++) {
+      int step = 1 + (i * 7919) % 1000;
+      expected = expected.plusDays(step);
+      date.advance(step);
+      assertEquals(expected.toString(), date.toString());
+    }
+    for (int i = 0; i < 2000; i++) {
+      int step = 1 + (i * 7919) % 1000;
+      expected = expected.minusDays(step);
+      date.advance(-step);
+      assertEquals(expected.toString(), date.toString());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseShortYear() {
+    MyDate.parse("202-01-01", 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseInvalidDay() {
+    MyDate.parse("2019-02-29", 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseMissingDigit() {
+    MyDate.parse("2019-02-1", 0);
+  }
+
+  @Test
+  public void testParse() {
+    assertEquals("2020-02-29", MyDate.parse("2020-02-29", 0).toString());
+    assertEquals("0007-12-01", MyDate.parse("due 0007-12-01 at noon", 4).toString());
+    assertEquals("12345-06-07", MyDate.parse("12345-06-07", 0).toString());
+  }
+
+  @Test
+  public void testFormatTo() throws IOException {
+    char[] buffer = new char[32];
+    MyDate date = new MyDate(9, 8, 7);
+    int end = date.formatTo(buffer, 3);
+    assertEquals(13, end);
+    assertEquals("0007-08-09", new String(buffer, 3, end - 3));
+
+    StringBuilder out = new StringBuilder("on ");
+    new MyDate(31, 12, 10000).formatTo(out);
+    assertEquals("on 10000-12-31", out.toString());
+  }
+
+  @Test
+  public void testFormatParseRoundTrip() {
+    MyDate date = new MyDate(1, 1, 0);
+    for (int i = 0; i < 1000; i++) {
+      date.advance(3671);
+      assertEquals(date.toString(), MyDate.parse(date.toString(), 0).toString());
+    }
+  }
 }
@@ -19,6 +19,20 @@ public abstract class AbstractChessPiece implements ChessPiece {
     this.color = color;
   }
 
+  /**
+   * Puts this piece somewhere else, so that one object can stand for a different piece of
+   * the same kind in each of many positions.
+   *
+   * @param row   the new row, which must not be negative
+   * @param col   the new column, which must not be negative
+   * @param color the new color
+   */
+  void place(int row, int col, Color color) {
+    this.row = row;
+    this.col = col;
+    this.color = color;
+  }
+
   /**
    * Gets the row of the chess piece on the chess board.
    *
@@ -49,6 +63,33 @@ public abstract class AbstractChessPiece implements ChessPiece {
     return this.color;
   }
 
+  /**
+   * Determines whether the piece can move to the given position, by testing that
+   * position's bit of {@link #movesMask()}.
+   *
+   * @param row the target row on the chess board
+   * @param col the target column on the chess board
+   * @return true if the piece can move to the specified position, false otherwise
+   */
+  @Override
+  public boolean canMove(int row, int col) {
+    // Both coordinates are on the board exactly when neither has a bit above the lowest 3.
+    if (((row | col) >>> 3) != 0) {
+      return false;
+    }
+    return ((this.movesMask() >>> (row << 3 | col)) & 1) != 0;
+  }
+
+  /**
+   * Gets the positions on which the piece can kill, which are the positions it can move to.
+   *
+   * @return the attacked positions as a bitboard
+   */
+  @Override
+  public long killsMask() {
+    return this.movesMask();
+  }
+
   /**
    * Determines whether the piece can kill the given piece.
    *
@@ -57,8 +98,9 @@ public abstract class AbstractChessPiece implements ChessPiece {
    */
   @Override
   public boolean canKill(ChessPiece piece) {
-    return (this.getColor() != piece.getColor()) && canMove(
-            piece.getRow(),
-            piece.getColumn());
+    int row = piece.getRow();
+    int col = piece.getColumn();
+    return (this.getColor() != piece.getColor()) && (((row | col) >>> 3) == 0)
+        && ((this.killsMask() >>> (row << 3 | col)) & 1) != 0;
   }
 }
@@ -0,0 +1,163 @@
+/**
+ * Holds the bitboard arithmetic shared by the board classes.
+ * A bitboard is a {@code long} with one bit per square of the board; the square at
+ * (row, col) is bit {@code row * 8 + col}, so row 0 fills the lowest byte.
+ * Knight, king and pawn attacks come from precomputed tables. Sliding attacks use hyperbola
+ * quintessence: for each line through the square, subtracting twice the piece's bit from
+ * the occupied squares on that line flips every bit up to and including the first blocker
+ * above the piece, and doing the same on the bit-reversed board covers the squares below
+ * it.
+ */
+final class Bitboards {
+  private static final long[] KNIGHT_ATTACKS = new long[64];
+  private static final long[] KING_ATTACKS = new long[64];
+  // Indexed by color, then square.
+  private static final long[][] PAWN_ATTACKS = new long[2][64];
+  // Every square on the same rank, file, diagonal or anti-diagonal, except the square itself.
+  private static final long[] RANK_MASKS = new long[64];
+  private static final long[] FILE_MASKS = new long[64];
+  private static final long[] DIAGONAL_MASKS = new long[64];
+  private static final long[] ANTI_DIAGONAL_MASKS = new long[64];
+
+  static {
+    int[][] jumps = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    for (int square = 0; square < 64; square++) {
+      int row = square >>> 3;
+      int col = square & 7;
+      for (int[] jump : jumps) {
+        KNIGHT_ATTACKS[square] |= bit(row + jump[0], col + jump[1]);
+      }
+      for (int rowStep = -1; rowStep <= 1; rowStep++) {
+        for (int colStep = -1; colStep <= 1; colStep++) {
+          if (rowStep != 0 || colStep != 0) {
+            KING_ATTACKS[square] |= bit(row + rowStep, col + colStep);
+          }
+        }
+      }
+      PAWN_ATTACKS[0][square] = bit(row + 1, col - 1) | bit(row + 1, col + 1);
+      PAWN_ATTACKS[1][square] = bit(row - 1, col - 1) | bit(row - 1, col + 1);
+      for (int i = 1; i < 8; i++) {
+        RANK_MASKS[square] |= bit(row, col + i) | bit(row, col - i);
+        FILE_MASKS[square] |= bit(row + i, col) | bit(row - i, col);
+        DIAGONAL_MASKS[square] |= bit(row + i, col + i) | bit(row - i, col - i);
+        ANTI_DIAGONAL_MASKS[square] |= bit(row + i, col - i) | bit(row - i, col + i);
+      }
+    }
+  }
+
+  private Bitboards() {
+  }
+
+  /**
+   * Determines whether the given position is on the board.
+   *
+   * @param row the row
+   * @param col the column
+   * @return true if both are between 0 and 7
+   */
+  static boolean isOnBoard(int row, int col) {
+    return ((row | col) & ~7) == 0;
+  }
+
+  /**
+   * Returns the square number of the given position on the board.
+   *
+   * @param row the row (0–7)
+   * @param col the column (0–7)
+   * @return the square number (0–63)
+   */
+  static int square(int row, int col) {
+    return row << 3 | col;
+  }
+
+  /**
+   * Returns the bitboard holding only the given position, or no squares at all if the
+   * position is off the board.
+   *
+   * @param row the row
+   * @param col the column
+   * @return the bitboard
+   */
+  static long bit(int row, int col) {
+    return isOnBoard(row, col) ? 1L << square(row, col) : 0;
+  }
+
+  /**
+   * Returns the squares a knight on the given square attacks.
+   *
+   * @param square the square of the knight
+   * @return the attacked squares
+   */
+  static long knightAttacks(int square) {
+    return KNIGHT_ATTACKS[square];
+  }
+
+  /**
+   * Returns the squares a king on the given square attacks.
+   *
+   * @param square the square of the king
+   * @return the attacked squares
+   */
+  static long kingAttacks(int square) {
+    return KING_ATTACKS[square];
+  }
+
+  /**
+   * Returns the squares a pawn of the given color on the given square attacks. White pawns
+   * attack towards higher rows.
+   *
+   * @param color  the ordinal of the color of the pawn
+   * @param square the square of the pawn
+   * @return the attacked squares
+   */
+  static long pawnAttacks(int color, int square) {
+    return PAWN_ATTACKS[color][square];
+  }
+
+  /**
+   * Returns the squares a rook on the given square attacks, up to and including the first
+   * occupied square in each direction.
+   *
+   * @param square   the square of the rook
+   * @param occupied the occupied squares
+   * @return the attacked squares
+   */
+  static long rookAttacks(int square, long occupied) {
+    return lineAttacks(square, occupied, RANK_MASKS[square])
+        | lineAttacks(square, occupied, FILE_MASKS[square]);
+  }
+
+  /**
+   * Returns the squares a bishop on the given square attacks, up to and including the first
+   * occupied square in each direction.
+   *
+   * @param square   the square of the bishop
+   * @param occupied the occupied squares
+   * @return the attacked squares
+   */
+  static long bishopAttacks(int square, long occupied) {
+    return lineAttacks(square, occupied, DIAGONAL_MASKS[square])
+        | lineAttacks(square, occupied, ANTI_DIAGONAL_MASKS[square]);
+  }
+
+  /**
+   * Returns the squares a queen on the given square attacks, up to and including the first
+   * occupied square in each direction.
+   *
+   * @param square   the square of the queen
+   * @param occupied the occupied squares
+   * @return the attacked squares
+   */
+  static long queenAttacks(int square, long occupied) {
+    return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+  }
+
+  private static long lineAttacks(int square, long occupied, long mask) {
+    long piece = 1L << square;
+    long forward = occupied & mask;
+    long reverse = Long.reverse(forward);
+    forward -= piece << 1;
+    reverse -= Long.reverse(piece) << 1;
+    return (forward ^ Long.reverse(reverse)) & mask;
+  }
+}
@@ -0,0 +1,168 @@
+/**
+ * Represents a chess board holding {@link ChessPiece}s, at most one per square.
+ * Alongside a square-by-square array of the pieces, the board keeps a 64-bit bitboard of
+ * the squares held by each kind of piece of each color, so the whole set of squares a piece
+ * attacks, stopping at the first piece in each direction, comes out of a few bitwise
+ * operations rather than one {@link ChessPiece#canMove} call per square.
+ * Square {@code row * 8 + col} is bit {@code row * 8 + col} of every bitboard.
+ */
+public class Board {
+  private final ChessPiece[] squares;
+  private final long[][] pieces;
+  private final long[] colors;
+
+  /**
+   * Constructs an empty board.
+   */
+  public Board() {
+    this.squares = new ChessPiece[64];
+    this.pieces = new long[Color.values().length][PieceType.values().length];
+    this.colors = new long[Color.values().length];
+  }
+
+  /**
+   * Places the given piece on the board at its current position.
+   *
+   * @param piece the piece to place
+   * @throws IllegalArgumentException if the piece is off the board, its square is already
+   *                                  taken or it is not one of the known kinds
+   */
+  public void add(ChessPiece piece) {
+    int row = piece.getRow();
+    int col = piece.getColumn();
+    if (!Bitboards.isOnBoard(row, col)) {
+      throw new IllegalArgumentException("Piece is off the board");
+    }
+    int square = Bitboards.square(row, col);
+    if (this.squares[square] != null) {
+      throw new IllegalArgumentException("Square is already occupied");
+    }
+    long bit = 1L << square;
+    this.pieces[piece.getColor().ordinal()][PieceType.of(piece).ordinal()] |= bit;
+    this.colors[piece.getColor().ordinal()] |= bit;
+    this.squares[square] = piece;
+  }
+
+  /**
+   * Takes the piece at the given position off the board.
+   *
+   * @param row the row of the piece
+   * @param col the column of the piece
+   * @return the piece that was removed, or null if the square was empty
+   */
+  public ChessPiece remove(int row, int col) {
+    ChessPiece piece = this.pieceAt(row, col);
+    if (piece != null) {
+      long bit = 1L << Bitboards.square(row, col);
+      this.pieces[piece.getColor().ordinal()][PieceType.of(piece).ordinal()] &= ~bit;
+      this.colors[piece.getColor().ordinal()] &= ~bit;
+      this.squares[Bitboards.square(row, col)] = null;
+    }
+    return piece;
+  }
+
+  /**
+   * Returns the piece at the given position.
+   *
+   * @param row the row
+   * @param col the column
+   * @return the piece there, or null if the square is empty or off the board
+   */
+  public ChessPiece pieceAt(int row, int col) {
+    if (!Bitboards.isOnBoard(row, col)) {
+      return null;
+    }
+    return this.squares[Bitboards.square(row, col)];
+  }
+
+  /**
+   * Returns the bitboard of every occupied square.
+   *
+   * @return the occupied squares
+   */
+  public long occupied() {
+    long occupied = 0;
+    for (long squares : this.colors) {
+      occupied |= squares;
+    }
+    return occupied;
+  }
+
+  /**
+   * Returns the bitboard of the squares held by pieces of the given color.
+   *
+   * @param color the color
+   * @return the squares held by that color
+   */
+  public long pieces(Color color) {
+    return this.colors[color.ordinal()];
+  }
+
+  /**
+   * Returns the bitboard of the squares held by pieces of the given color and kind.
+   *
+   * @param color the color
+   * @param type  the kind of piece
+   * @return the squares held by those pieces
+   */
+  public long pieces(Color color, PieceType type) {
+    return this.pieces[color.ordinal()][type.ordinal()];
+  }
+
+  /**
+   * Returns the bitboard of the squares the given piece attacks from its current position
+   * on this board. Sliding pieces stop at the first occupied square in each direction,
+   * which is included whatever its color. The piece itself need not be on the board.
+   *
+   * @param piece the attacking piece
+   * @return the attacked squares, or none if the piece is off the board
+   * @throws IllegalArgumentException if the piece is not one of the known kinds
+   */
+  public long attacks(ChessPiece piece) {
+    int row = piece.getRow();
+    int col = piece.getColumn();
+    if (!Bitboards.isOnBoard(row, col)) {
+      return 0;
+    }
+    return attacks(PieceType.of(piece), piece.getColor(), Bitboards.square(row, col),
+        this.occupied());
+  }
+
+  /**
+   * Returns the bitboard of every square attacked by at least one piece of the given color.
+   *
+   * @param color the attacking color
+   * @return the attacked squares
+   */
+  public long attacksBy(Color color) {
+    long occupied = this.occupied();
+    long attacked = 0;
+    for (PieceType type : PieceType.values()) {
+      long from = this.pieces[color.ordinal()][type.ordinal()];
+      while (from != 0) {
+        attacked |= attacks(type, color, Long.numberOfTrailingZeros(from), occupied);
+        from &= from - 1;
+      }
+    }
+    return attacked;
+  }
+
+  private static long attacks(PieceType type, Color color, int square, long occupied) {
+    switch (type) {
+      case KNIGHT:
+        return Bitboards.knightAttacks(square);
+      case BISHOP:
+        return Bitboards.bishopAttacks(square, occupied);
+      case ROOK:
+        return Bitboards.rookAttacks(square, occupied);
+      case QUEEN:
+        return Bitboards.queenAttacks(square, occupied);
+      case KING:
+        return Bitboards.kingAttacks(square);
+      case PAWN:
+        return Bitboards.pawnAttacks(color.ordinal(), square);
+      default:
+        throw new IllegalArgumentException("Unknown piece");
+    }
+  }
+}
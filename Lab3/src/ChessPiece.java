@@ -12,6 +12,24 @@ public interface ChessPiece {
    */
   boolean canMove(int row, int col);
 
+  /**
+   * Get every position this chess piece can be moved to, as a bitboard: the position
+   * (row,col) is bit {@code row * 8 + col}, and a bit is set exactly when
+   * {@link #canMove(int, int)} is true for that position.
+   *
+   * @return the positions this chess piece can be moved to
+   */
+  long movesMask();
+
+  /**
+   * Get every position on which this chess piece can kill a piece of another color, as a
+   * bitboard numbered like {@link #movesMask()}. For most pieces these are the positions it
+   * can move to; a pawn moves straight ahead but kills diagonally.
+   *
+   * @return the positions on which this chess piece can kill
+   */
+  long killsMask();
+
   /**
    * Can this chess piece kill the chess piece passed to this method?.
    *
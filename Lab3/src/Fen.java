@@ -0,0 +1,50 @@
+/**
+ * Holds the piece letters of Forsyth–Edwards Notation (FEN), the one-line text form of a
+ * chess position: K, Q, R, B, N and P for the white king, queen, rook, bishop, knight and
+ * pawn, and the same letters in lower case for black.
+ */
+final class Fen {
+  /**
+   * The position at the start of a game.
+   */
+  static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+  // Indexed by PieceType ordinal.
+  private static final char[] LETTERS = {'N', 'B', 'R', 'Q', 'K', 'P'};
+
+  private Fen() {
+  }
+
+  /**
+   * Returns the letter of the given piece.
+   *
+   * @param type  the kind of piece
+   * @param color the color of the piece
+   * @return the letter, upper case for white and lower case for black
+   */
+  static char letterOf(PieceType type, Color color) {
+    char letter = LETTERS[type.ordinal()];
+    return color == Color.WHITE ? letter : (char) (letter + ('a' - 'A'));
+  }
+
+  /**
+   * Returns the piece a letter stands for, as a piece code of {@link Position}: the color
+   * ordinal times the number of kinds, plus the kind's ordinal.
+   *
+   * @param letter the letter
+   * @return the piece code, or -1 if the letter is not a piece
+   */
+  static int pieceOf(int letter) {
+    int color = 0;
+    if (letter >= 'a' && letter <= 'z') {
+      color = 1;
+      letter -= 'a' - 'A';
+    }
+    for (int type = 0; type < LETTERS.length; type++) {
+      if (LETTERS[type] == letter) {
+        return color * LETTERS.length + type;
+      }
+    }
+    return -1;
+  }
+}
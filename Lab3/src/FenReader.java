@@ -0,0 +1,212 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads chess positions from a text file with one position per line, in FEN or in EPD,
+ * which is FEN without the move counters and with any operations after them. Only the
+ * pieces and the side to move are read; the rest of each line is skipped, and so are
+ * blank lines.
+ * The file is memory-mapped, a window of up to 1 GB at a time, and each line is decoded
+ * straight from the mapped bytes into a {@link PieceBuffer}, so reading a position
+ * allocates nothing. A reader may cover just a byte range of the file, so that several
+ * readers can share one file between threads: a line belongs to the range it starts in.
+ */
+public class FenReader implements Closeable {
+  /**
+   * The longest line that can be read, in bytes.
+   */
+  public static final int MAX_LINE_LENGTH = 4096;
+
+  private static final long WINDOW_SIZE = 1L << 30;
+  private static final PieceType[] TYPES = PieceType.values();
+  private static final Color[] COLORS = Color.values();
+
+  private final FileChannel channel;
+  private final long size;
+  private final long end;
+  private final long windowSize;
+  private MappedByteBuffer window;
+  private long windowStart;
+
+  /**
+   * Creates a reader for the whole of the given channel.
+   *
+   * @param channel the channel to read
+   * @throws IOException if the channel fails
+   */
+  public FenReader(FileChannel channel) throws IOException {
+    this(channel, 0, Long.MAX_VALUE);
+  }
+
+  /**
+   * Creates a reader for the lines of the given channel that start within a byte range.
+   *
+   * @param channel the channel to read
+   * @param start   the first byte of the range
+   * @param end     the byte after the last of the range
+   * @throws IOException              if the channel fails
+   * @throws IllegalArgumentException if the range is negative or empty
+   */
+  public FenReader(FileChannel channel, long start, long end) throws IOException {
+    this(channel, start, end, WINDOW_SIZE);
+  }
+
+  FenReader(FileChannel channel, long start, long end, long windowSize) throws IOException {
+    if (start < 0 || end <= start) {
+      throw new IllegalArgumentException("Invalid range");
+    }
+    this.channel = channel;
+    this.size = channel.size();
+    this.end = Math.min(end, this.size);
+    this.windowSize = Math.max(windowSize, MAX_LINE_LENGTH);
+    if (start == 0) {
+      this.map(0);
+    } else {
+      // Skip the rest of the line that starts before the range.
+      this.map(Math.min(start - 1, this.size));
+      this.skipLine();
+    }
+  }
+
+  /**
+   * Creates a reader for the given file.
+   *
+   * @param path the file to read
+   * @return the reader
+   * @throws IOException if the file cannot be read
+   */
+  public static FenReader open(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      return new FenReader(channel);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Reads the next position into the given buffer.
+   *
+   * @param into the buffer to fill
+   * @return true if a position was read, or false if there are no more
+   * @throws IOException if the channel fails, or a line is not a valid position or is
+   *                     longer than {@link #MAX_LINE_LENGTH}
+   */
+  public boolean read(PieceBuffer into) throws IOException {
+    while (true) {
+      long lineStart = this.position();
+      if (lineStart >= this.end) {
+        return false;
+      }
+      if (this.window.remaining() < MAX_LINE_LENGTH
+          && this.windowStart + this.window.limit() < this.size) {
+        this.map(lineStart);
+      }
+      int next = this.window.get(this.window.position());
+      if (next == '\n' || next == '\r') {
+        this.window.get();
+        continue;
+      }
+      if (!this.parse(into)) {
+        throw new IOException("Invalid position at byte " + lineStart);
+      }
+      this.skipLine();
+      return true;
+    }
+  }
+
+  // Reads the pieces and side to move, leaving the rest of the line unread.
+  private boolean parse(PieceBuffer into) {
+    MappedByteBuffer window = this.window;
+    into.clear();
+    int row = 7;
+    int col = 0;
+    while (true) {
+      if (!window.hasRemaining()) {
+        return false;
+      }
+      int c = window.get();
+      if (c == ' ') {
+        break;
+      } else if (c == '/') {
+        if (col != 8 || row == 0) {
+          return false;
+        }
+        row--;
+        col = 0;
+      } else if (c >= '1' && c <= '8') {
+        col += c - '0';
+        if (col > 8) {
+          return false;
+        }
+      } else {
+        int piece = Fen.pieceOf(c);
+        if (piece < 0 || col > 7) {
+          return false;
+        }
+        into.add(TYPES[piece % TYPES.length], row, col, COLORS[piece / TYPES.length]);
+        col++;
+      }
+    }
+    if (row != 0 || col != 8 || !window.hasRemaining()) {
+      return false;
+    }
+    int side = window.get();
+    if (side == 'w') {
+      into.setSideToMove(Color.WHITE);
+    } else if (side == 'b') {
+      into.setSideToMove(Color.BLACK);
+    } else {
+      return false;
+    }
+    return !window.hasRemaining() || isSeparator(window.get(window.position()));
+  }
+
+  private static boolean isSeparator(int c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+  }
+
+  // Moves past the next line break, or to the end of the file.
+  private void skipLine() throws IOException {
+    long lineStart = this.position();
+    while (true) {
+      while (this.window.hasRemaining()) {
+        if (this.window.get() == '\n') {
+          return;
+        }
+      }
+      if (this.windowStart + this.window.limit() >= this.size) {
+        return;
+      }
+      if (this.position() - lineStart > MAX_LINE_LENGTH) {
+        throw new IOException("Line too long at byte " + lineStart);
+      }
+      this.map(this.position());
+    }
+  }
+
+  private long position() {
+    return this.windowStart + this.window.position();
+  }
+
+  private void map(long start) throws IOException {
+    this.windowStart = start;
+    this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start,
+        Math.min(this.windowSize, this.size - start));
+  }
+
+  /**
+   * Closes the underlying channel.
+   *
+   * @throws IOException if the channel fails to close
+   */
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+}
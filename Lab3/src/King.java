@@ -0,0 +1,30 @@
+/**
+ * Represents a king chess piece that moves one square in any direction.
+ */
+public class King extends AbstractChessPiece {
+
+  /**
+   * Constructs a {@code King} object.
+   *
+   * @param row   the row on the chess board
+   * @param col   the column on the chess board
+   * @param color the color of the king
+   * @throws IllegalArgumentException if the position is invalid
+   */
+  public King(int row, int col, Color color) throws IllegalArgumentException {
+    super(row, col, color);
+    if ((row < 0) || (col < 0)) {
+      throw new IllegalArgumentException("Illegal position");
+    }
+  }
+
+  /**
+   * Gets the positions the king can move to, from a table precomputed for every square.
+   *
+   * @return the reachable positions as a bitboard
+   */
+  @Override
+  public long movesMask() {
+    return MoveMasks.king(this.row, this.col);
+  }
+}
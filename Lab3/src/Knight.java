@@ -19,21 +19,12 @@ public class Knight extends AbstractChessPiece {
   }
 
   /**
-   * Determines whether the knight can move to the given position.
+   * Gets the positions the knight can move to, from a table precomputed for every square.
    *
-   * @param row the target row on the chess board
-   * @param col the target column on the chess board
-   * @return true if the knight can move to the specified position, false otherwise
+   * @return the reachable positions as a bitboard
    */
   @Override
-  public boolean canMove(int row, int col) {
-    if ((row < 0) || (col < 0) || (row >= 8) || (col >= 8)) {
-      return false;
-    }
-
-    int rowDiff = Math.abs(this.row - row);
-    int colDiff = Math.abs(this.col - col);
-
-    return (rowDiff == 2 && colDiff == 1) || (rowDiff == 1 && colDiff == 2);
+  public long movesMask() {
+    return MoveMasks.knight(this.row, this.col);
   }
 } 
\ No newline at end of file
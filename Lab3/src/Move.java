@@ -0,0 +1,125 @@
+/**
+ * Encodes chess moves as single {@code int}s, so that move lists are plain arrays and
+ * generating a move allocates nothing. A move holds the square it starts from and the square
+ * it ends on, numbered like {@link Bitboards}, the kind of piece a pawn is promoted to, if
+ * any, and a flag for the special moves: a pawn's double step, an en passant kill and
+ * castling. They are packed as
+ * {@code flag << 15 | promotion << 12 | to << 6 | from}, where the promotion is the
+ * {@link PieceType} ordinal plus one, or zero for none.
+ */
+public final class Move {
+  /**
+   * Marks an ordinary move or kill.
+   */
+  public static final int NORMAL = 0;
+  /**
+   * Marks a pawn moving two squares from its starting row.
+   */
+  public static final int DOUBLE_STEP = 1;
+  /**
+   * Marks a pawn killing a pawn that has just made a double step past it.
+   */
+  public static final int EN_PASSANT = 2;
+  /**
+   * Marks a king castling, given as the king's own two-square move.
+   */
+  public static final int CASTLE = 3;
+
+  private Move() {
+  }
+
+  /**
+   * Encodes a move without a promotion.
+   *
+   * @param from the square the piece starts from
+   * @param to   the square the piece ends on
+   * @param flag one of {@link #NORMAL}, {@link #DOUBLE_STEP}, {@link #EN_PASSANT} or
+   *             {@link #CASTLE}
+   * @return the encoded move
+   */
+  public static int of(int from, int to, int flag) {
+    return flag << 15 | to << 6 | from;
+  }
+
+  /**
+   * Encodes a pawn move to the last row that promotes the pawn.
+   *
+   * @param from      the square the pawn starts from
+   * @param to        the square the pawn ends on
+   * @param promotion the kind of piece the pawn becomes
+   * @return the encoded move
+   */
+  public static int promotion(int from, int to, PieceType promotion) {
+    return (promotion.ordinal() + 1) << 12 | to << 6 | from;
+  }
+
+  /**
+   * Returns the square the moving piece starts from.
+   *
+   * @param move the encoded move
+   * @return the square (0–63)
+   */
+  public static int from(int move) {
+    return move & 0x3F;
+  }
+
+  /**
+   * Returns the square the moving piece ends on.
+   *
+   * @param move the encoded move
+   * @return the square (0–63)
+   */
+  public static int to(int move) {
+    return (move >>> 6) & 0x3F;
+  }
+
+  /**
+   * Returns the kind of piece the moving pawn is promoted to.
+   *
+   * @param move the encoded move
+   * @return the kind of piece, or null if the move is not a promotion
+   */
+  public static PieceType promotion(int move) {
+    int promotion = (move >>> 12) & 7;
+    return promotion == 0 ? null : PieceType.values()[promotion - 1];
+  }
+
+  /**
+   * Returns the flag of the move.
+   *
+   * @param move the encoded move
+   * @return one of {@link #NORMAL}, {@link #DOUBLE_STEP}, {@link #EN_PASSANT} or
+   *         {@link #CASTLE}
+   */
+  public static int flag(int move) {
+    return move >>> 15;
+  }
+
+  /**
+   * Returns the move in coordinate notation, such as {@code e2e4} or {@code e7e8q}. Columns
+   * 0 to 7 are files a to h and rows 0 to 7 are ranks 1 to 8.
+   *
+   * @param move the encoded move
+   * @return the move as text
+   */
+  public static String toString(int move) {
+    StringBuilder out = new StringBuilder(5);
+    appendSquare(from(move), out);
+    appendSquare(to(move), out);
+    PieceType promotion = promotion(move);
+    if (promotion != null) {
+      out.append(Fen.letterOf(promotion, Color.BLACK));
+    }
+    return out.toString();
+  }
+
+  /**
+   * Appends the name of the given square, such as {@code e4}, to the given builder.
+   *
+   * @param square the square (0–63)
+   * @param out    the builder to append to
+   */
+  static void appendSquare(int square, StringBuilder out) {
+    out.append((char) ('a' + (square & 7))).append((char) ('1' + (square >>> 3)));
+  }
+}
@@ -0,0 +1,174 @@
+/**
+ * Generates the moves of the side to move in a {@link Position}, encoded by {@link Move}
+ * into a caller-supplied array so that generation allocates nothing.
+ * Pseudo-legal moves follow every rule of how the pieces move, the same rules
+ * {@link ChessPiece#canMove} and {@link ChessPiece#canKill} check one square at a time, plus
+ * castling and en passant, but may leave the mover's own king attacked. Legal moves are the
+ * pseudo-legal moves that do not, found by playing each one and looking at the king.
+ */
+public final class MoveGenerator {
+  /**
+   * An upper bound on the number of moves in any position, and so a safe length for a move
+   * array.
+   */
+  public static final int MAX_MOVES = 256;
+
+  private static final long FIRST_ROW = 0xFFL;
+  private static final long LAST_ROW = 0xFFL << 56;
+  private static final PieceType[] PROMOTIONS =
+      {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+  private MoveGenerator() {
+  }
+
+  /**
+   * Writes the pseudo-legal moves of the side to move into the given array.
+   *
+   * @param position the position
+   * @param moves    the array to write to, with room for {@link #MAX_MOVES} moves from the
+   *                 offset
+   * @param offset   the index of the first move to write
+   * @return the number of moves written
+   */
+  public static int generatePseudoLegal(Position position, int[] moves, int offset) {
+    int us = position.side;
+    int them = us ^ 1;
+    long[] own = position.pieces[us];
+    long ours = position.colors[us];
+    long theirs = position.colors[them];
+    long occupied = ours | theirs;
+    int n = offset;
+
+    n = addPawnMoves(position, own[Position.PAWN], theirs, occupied, moves, n);
+    for (long from = own[Position.KNIGHT]; from != 0; from &= from - 1) {
+      int square = Long.numberOfTrailingZeros(from);
+      n = addMoves(square, Bitboards.knightAttacks(square) & ~ours, moves, n);
+    }
+    for (long from = own[Position.BISHOP]; from != 0; from &= from - 1) {
+      int square = Long.numberOfTrailingZeros(from);
+      n = addMoves(square, Bitboards.bishopAttacks(square, occupied) & ~ours, moves, n);
+    }
+    for (long from = own[Position.ROOK]; from != 0; from &= from - 1) {
+      int square = Long.numberOfTrailingZeros(from);
+      n = addMoves(square, Bitboards.rookAttacks(square, occupied) & ~ours, moves, n);
+    }
+    for (long from = own[Position.QUEEN]; from != 0; from &= from - 1) {
+      int square = Long.numberOfTrailingZeros(from);
+      n = addMoves(square, Bitboards.queenAttacks(square, occupied) & ~ours, moves, n);
+    }
+    int king = position.kingSquare(us);
+    n = addMoves(king, Bitboards.kingAttacks(king) & ~ours, moves, n);
+    n = addCastling(position, us, occupied, moves, n);
+    return n - offset;
+  }
+
+  /**
+   * Writes the legal moves of the side to move into the given array.
+   *
+   * @param position the position, which is left as it was
+   * @param moves    the array to write to, with room for {@link #MAX_MOVES} moves from the
+   *                 offset
+   * @param offset   the index of the first move to write
+   * @return the number of moves written
+   */
+  public static int generateLegal(Position position, int[] moves, int offset) {
+    int us = position.side;
+    int count = generatePseudoLegal(position, moves, offset);
+    int n = offset;
+    for (int i = offset; i < offset + count; i++) {
+      int move = moves[i];
+      position.makeMove(move);
+      if (!position.isAttacked(position.kingSquare(us), us ^ 1)) {
+        moves[n++] = move;
+      }
+      position.unmakeMove(move);
+    }
+    return n - offset;
+  }
+
+  private static int addMoves(int from, long targets, int[] moves, int n) {
+    for (; targets != 0; targets &= targets - 1) {
+      moves[n++] = Move.of(from, Long.numberOfTrailingZeros(targets), Move.NORMAL);
+    }
+    return n;
+  }
+
+  private static int addPawnMoves(Position position, long pawns, long theirs, long occupied,
+                                  int[] moves, int n) {
+    int us = position.side;
+    long empty = ~occupied;
+    long single;
+    long twice;
+    int step;
+    if (us == Position.WHITE) {
+      single = (pawns << 8) & empty;
+      twice = ((single & FIRST_ROW << 16) << 8) & empty;
+      step = 8;
+    } else {
+      single = (pawns >>> 8) & empty;
+      twice = ((single & LAST_ROW >>> 16) >>> 8) & empty;
+      step = -8;
+    }
+    for (; single != 0; single &= single - 1) {
+      int to = Long.numberOfTrailingZeros(single);
+      n = addPawnMove(to - step, to, moves, n);
+    }
+    for (; twice != 0; twice &= twice - 1) {
+      int to = Long.numberOfTrailingZeros(twice);
+      moves[n++] = Move.of(to - 2 * step, to, Move.DOUBLE_STEP);
+    }
+    for (long from = pawns; from != 0; from &= from - 1) {
+      int square = Long.numberOfTrailingZeros(from);
+      for (long kills = Bitboards.pawnAttacks(us, square) & theirs; kills != 0;
+           kills &= kills - 1) {
+        n = addPawnMove(square, Long.numberOfTrailingZeros(kills), moves, n);
+      }
+    }
+    if (position.enPassant >= 0) {
+      // The pawns that could kill on the en passant square are those a pawn of the other
+      // color standing there would attack.
+      long from = Bitboards.pawnAttacks(us ^ 1, position.enPassant) & pawns;
+      for (; from != 0; from &= from - 1) {
+        moves[n++] = Move.of(Long.numberOfTrailingZeros(from), position.enPassant,
+            Move.EN_PASSANT);
+      }
+    }
+    return n;
+  }
+
+  private static int addPawnMove(int from, int to, int[] moves, int n) {
+    if (((1L << to) & (FIRST_ROW | LAST_ROW)) == 0) {
+      moves[n++] = Move.of(from, to, Move.NORMAL);
+    } else {
+      for (PieceType promotion : PROMOTIONS) {
+        moves[n++] = Move.promotion(from, to, promotion);
+      }
+    }
+    return n;
+  }
+
+  private static int addCastling(Position position, int us, long occupied, int[] moves,
+                                 int n) {
+    int kingside = us == Position.WHITE ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE;
+    int queenside = us == Position.WHITE ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+    if ((position.castling & (kingside | queenside)) == 0) {
+      return n;
+    }
+    // Squares are given for white and moved to black's home row by the shift.
+    int shift = us == Position.WHITE ? 0 : 56;
+    int them = us ^ 1;
+    int king = 4 + shift;
+    if (position.isAttacked(king, them)) {
+      return n;
+    }
+    if ((position.castling & kingside) != 0 && (occupied & 0x60L << shift) == 0
+        && !position.isAttacked(king + 1, them)) {
+      moves[n++] = Move.of(king, king + 2, Move.CASTLE);
+    }
+    if ((position.castling & queenside) != 0 && (occupied & 0x0EL << shift) == 0
+        && !position.isAttacked(king - 1, them)) {
+      moves[n++] = Move.of(king, king - 2, Move.CASTLE);
+    }
+    return n;
+  }
+}
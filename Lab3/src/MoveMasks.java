@@ -0,0 +1,176 @@
+/**
+ * Holds the squares each kind of piece can move to from each square of an empty board, as
+ * bitboards numbered like {@link Bitboards}. The masks follow the pieces' own rules exactly,
+ * so the sliding pieces include their own square and the knight and king do not. Pawns,
+ * whose direction depends on their color, have separate tables for moving and for
+ * killing. The knight, king and pawn kill masks of squares on the board come from the
+ * attack tables in {@link Bitboards}; this class adds the sliding masks, which include the
+ * piece's own square, and the pawn move masks. Pieces standing off the board, which the
+ * constructors allow, have their masks built on demand by the same rules.
+ */
+final class MoveMasks {
+  private static final Reach KNIGHT_REACH = (rowDiff, colDiff) ->
+      (rowDiff == 2 && colDiff == 1) || (rowDiff == 1 && colDiff == 2);
+  private static final Reach BISHOP_REACH = (rowDiff, colDiff) -> rowDiff == colDiff;
+  private static final Reach ROOK_REACH = (rowDiff, colDiff) -> rowDiff == 0 || colDiff == 0;
+  private static final Reach QUEEN_REACH = (rowDiff, colDiff) ->
+      rowDiff == 0 || colDiff == 0 || rowDiff == colDiff;
+  private static final Reach KING_REACH = (rowDiff, colDiff) ->
+      rowDiff <= 1 && colDiff <= 1 && (rowDiff | colDiff) != 0;
+
+  private static final long[] BISHOP = table(BISHOP_REACH);
+  private static final long[] ROOK = table(ROOK_REACH);
+  private static final long[] QUEEN = table(QUEEN_REACH);
+  // Indexed by color, then square.
+  private static final long[][] PAWN_MOVES = new long[2][64];
+
+  static {
+    for (Color color : Color.values()) {
+      for (int square = 0; square < 64; square++) {
+        PAWN_MOVES[color.ordinal()][square] = buildPawnMoves(square >>> 3, square & 7, color);
+      }
+    }
+  }
+
+  private MoveMasks() {
+  }
+
+  /**
+   * Returns the squares a knight at the given position can move to.
+   *
+   * @param row the non-negative row of the knight
+   * @param col the non-negative column of the knight
+   * @return the reachable squares
+   */
+  static long knight(int row, int col) {
+    if (Bitboards.isOnBoard(row, col)) {
+      return Bitboards.knightAttacks(Bitboards.square(row, col));
+    }
+    return build(KNIGHT_REACH, row, col);
+  }
+
+  /**
+   * Returns the squares a bishop at the given position can move to.
+   *
+   * @param row the non-negative row of the bishop
+   * @param col the non-negative column of the bishop
+   * @return the reachable squares
+   */
+  static long bishop(int row, int col) {
+    return lookup(BISHOP, BISHOP_REACH, row, col);
+  }
+
+  /**
+   * Returns the squares a rook at the given position can move to.
+   *
+   * @param row the non-negative row of the rook
+   * @param col the non-negative column of the rook
+   * @return the reachable squares
+   */
+  static long rook(int row, int col) {
+    return lookup(ROOK, ROOK_REACH, row, col);
+  }
+
+  /**
+   * Returns the squares a queen at the given position can move to.
+   *
+   * @param row the non-negative row of the queen
+   * @param col the non-negative column of the queen
+   * @return the reachable squares
+   */
+  static long queen(int row, int col) {
+    return lookup(QUEEN, QUEEN_REACH, row, col);
+  }
+
+  /**
+   * Returns the squares a king at the given position can move to.
+   *
+   * @param row the non-negative row of the king
+   * @param col the non-negative column of the king
+   * @return the reachable squares
+   */
+  static long king(int row, int col) {
+    if (Bitboards.isOnBoard(row, col)) {
+      return Bitboards.kingAttacks(Bitboards.square(row, col));
+    }
+    return build(KING_REACH, row, col);
+  }
+
+  /**
+   * Returns the squares a pawn at the given position can move to without killing: one row
+   * forward, or two from its starting row. White pawns move towards higher rows.
+   *
+   * @param row   the non-negative row of the pawn
+   * @param col   the non-negative column of the pawn
+   * @param color the color of the pawn
+   * @return the reachable squares
+   */
+  static long pawnMoves(int row, int col, Color color) {
+    if (Bitboards.isOnBoard(row, col)) {
+      return PAWN_MOVES[color.ordinal()][Bitboards.square(row, col)];
+    }
+    return buildPawnMoves(row, col, color);
+  }
+
+  /**
+   * Returns the squares on which a pawn at the given position can kill: one row forward and
+   * one column to either side.
+   *
+   * @param row   the non-negative row of the pawn
+   * @param col   the non-negative column of the pawn
+   * @param color the color of the pawn
+   * @return the squares it attacks
+   */
+  static long pawnKills(int row, int col, Color color) {
+    if (Bitboards.isOnBoard(row, col)) {
+      return Bitboards.pawnAttacks(color.ordinal(), Bitboards.square(row, col));
+    }
+    return buildPawnKills(row, col, color);
+  }
+
+  private static long lookup(long[] table, Reach reach, int row, int col) {
+    if (Bitboards.isOnBoard(row, col)) {
+      return table[Bitboards.square(row, col)];
+    }
+    return build(reach, row, col);
+  }
+
+  private static long[] table(Reach reach) {
+    long[] table = new long[64];
+    for (int square = 0; square < 64; square++) {
+      table[square] = build(reach, square >>> 3, square & 7);
+    }
+    return table;
+  }
+
+  private static long build(Reach reach, int row, int col) {
+    long mask = 0;
+    for (int square = 0; square < 64; square++) {
+      if (reach.test(Math.abs(row - (square >>> 3)), Math.abs(col - (square & 7)))) {
+        mask |= 1L << square;
+      }
+    }
+    return mask;
+  }
+
+  private static long buildPawnMoves(int row, int col, Color color) {
+    int forward = Pawn.forward(color);
+    long mask = Bitboards.bit(row + forward, col);
+    if (row == Pawn.startRow(color)) {
+      mask |= Bitboards.bit(row + 2 * forward, col);
+    }
+    return mask;
+  }
+
+  private static long buildPawnKills(int row, int col, Color color) {
+    int forward = Pawn.forward(color);
+    return Bitboards.bit(row + forward, col - 1) | Bitboards.bit(row + forward, col + 1);
+  }
+
+  /**
+   * Decides whether a piece can move a given distance.
+   */
+  private interface Reach {
+    boolean test(int rowDiff, int colDiff);
+  }
+}
@@ -0,0 +1,113 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a set of chess pieces as an array of {@link PackedPiece}s. The 32 pieces of a
+ * full board take 64 bytes, one cache line, where the same pieces as objects take a
+ * reference each plus an object of their own each, spread over the heap.
+ */
+public final class PackedBoard {
+  private short[] pieces;
+  private int size;
+
+  /**
+   * Constructs an empty board, with room for 32 pieces before it needs to grow.
+   */
+  public PackedBoard() {
+    this.pieces = new short[32];
+  }
+
+  /**
+   * Packs the given pieces onto a new board, in the same order.
+   *
+   * @param pieces the pieces
+   * @return the board
+   * @throws IllegalArgumentException if a piece is off the board or not one of the known
+   *                                  kinds
+   */
+  public static PackedBoard of(Iterable<? extends ChessPiece> pieces) {
+    PackedBoard board = new PackedBoard();
+    for (ChessPiece piece : pieces) {
+      board.add(PackedPiece.of(piece));
+    }
+    return board;
+  }
+
+  /**
+   * Adds a packed piece.
+   *
+   * @param packed the packed piece
+   * @throws IllegalArgumentException if the value is not a packed piece
+   */
+  public void add(short packed) {
+    PackedPiece.check(packed);
+    if (this.size == this.pieces.length) {
+      this.pieces = Arrays.copyOf(this.pieces, this.size * 2);
+    }
+    this.pieces[this.size++] = packed;
+  }
+
+  /**
+   * Returns the number of pieces.
+   *
+   * @return the number of pieces
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns a packed piece. Pieces are in the order they were added.
+   *
+   * @param index the index of the piece
+   * @return the packed piece
+   * @throws IndexOutOfBoundsException if the index is not less than the size
+   */
+  public short get(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("No piece at index " + index);
+    }
+    return this.pieces[index];
+  }
+
+  /**
+   * Removes every piece.
+   */
+  public void clear() {
+    this.size = 0;
+  }
+
+  /**
+   * Counts the attacker and victim pairs among the pieces, each pair where
+   * {@link PackedPiece#canKill} holds.
+   *
+   * @return the number of pairs
+   */
+  public int killPairs() {
+    short[] pieces = this.pieces;
+    int pairs = 0;
+    for (int i = 0; i < this.size; i++) {
+      short attacker = pieces[i];
+      for (int j = 0; j < this.size; j++) {
+        if (PackedPiece.canKill(attacker, pieces[j])) {
+          pairs++;
+        }
+      }
+    }
+    return pairs;
+  }
+
+  /**
+   * Decodes the pieces into new piece objects.
+   *
+   * @return a new list of the pieces, in order
+   */
+  public List<ChessPiece> toPieces() {
+    List<ChessPiece> result = new ArrayList<>(this.size);
+    for (int i = 0; i < this.size; i++) {
+      result.add(PackedPiece.toPiece(this.pieces[i]));
+    }
+    return result;
+  }
+}
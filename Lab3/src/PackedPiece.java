@@ -0,0 +1,186 @@
+/**
+ * Encodes chess pieces as single {@code short}s, for searches and bulk analysis that handle
+ * too many pieces to give each one an object. A packed piece holds its square, numbered
+ * like {@link Bitboards}, its color and its kind, as
+ * {@code type << 7 | color << 6 | square}, where the type and color are the
+ * {@link PieceType} and {@link Color} ordinals; every packed piece is below 768.
+ * Rather than dispatching on the class of a piece, {@link #canMove} and {@link #canKill}
+ * index tables by the packed piece itself, filled from the {@link ChessPiece#movesMask()}
+ * and {@link ChessPiece#killsMask()} of each kind of piece on each square, so they follow
+ * the same rules as the piece objects.
+ */
+public final class PackedPiece {
+  private static final int TYPE_SHIFT = 7;
+  private static final int COLOR_SHIFT = 6;
+  private static final int LIMIT = PieceType.values().length << TYPE_SHIFT;
+  // Indexed by packed piece.
+  private static final long[] MOVES = new long[LIMIT];
+  private static final long[] KILLS = new long[LIMIT];
+  private static final PieceType[] TYPES = PieceType.values();
+  private static final Color[] COLORS = Color.values();
+
+  static {
+    for (int packed = 0; packed < LIMIT; packed++) {
+      ChessPiece piece = toPiece((short) packed);
+      MOVES[packed] = piece.movesMask();
+      KILLS[packed] = piece.killsMask();
+    }
+  }
+
+  private PackedPiece() {
+  }
+
+  /**
+   * Encodes a piece.
+   *
+   * @param type  the kind of piece
+   * @param color the color of the piece
+   * @param row   the row of the piece
+   * @param col   the column of the piece
+   * @return the packed piece
+   * @throws IllegalArgumentException if the position is off the board
+   */
+  public static short of(PieceType type, Color color, int row, int col) {
+    if (!Bitboards.isOnBoard(row, col)) {
+      throw new IllegalArgumentException("Piece is off the board");
+    }
+    return (short) (type.ordinal() << TYPE_SHIFT | color.ordinal() << COLOR_SHIFT
+        | Bitboards.square(row, col));
+  }
+
+  /**
+   * Encodes the given piece as it stands now.
+   *
+   * @param piece the piece
+   * @return the packed piece
+   * @throws IllegalArgumentException if the piece is off the board or not one of the known
+   *                                  kinds
+   */
+  public static short of(ChessPiece piece) {
+    return of(PieceType.of(piece), piece.getColor(), piece.getRow(), piece.getColumn());
+  }
+
+  /**
+   * Decodes a packed piece into a new piece object.
+   *
+   * @param packed the packed piece
+   * @return the piece
+   * @throws IllegalArgumentException if the value is not a packed piece
+   */
+  public static ChessPiece toPiece(short packed) {
+    check(packed);
+    return type(packed).create(row(packed), col(packed), color(packed));
+  }
+
+  /**
+   * Returns the kind of a packed piece.
+   *
+   * @param packed the packed piece
+   * @return the kind of piece
+   */
+  public static PieceType type(short packed) {
+    return TYPES[packed >>> TYPE_SHIFT];
+  }
+
+  /**
+   * Returns the color of a packed piece.
+   *
+   * @param packed the packed piece
+   * @return the color
+   */
+  public static Color color(short packed) {
+    return COLORS[(packed >>> COLOR_SHIFT) & 1];
+  }
+
+  /**
+   * Returns the square of a packed piece.
+   *
+   * @param packed the packed piece
+   * @return the square (0–63)
+   */
+  public static int square(short packed) {
+    return packed & 0x3F;
+  }
+
+  /**
+   * Returns the row of a packed piece.
+   *
+   * @param packed the packed piece
+   * @return the row (0–7)
+   */
+  public static int row(short packed) {
+    return (packed >>> 3) & 7;
+  }
+
+  /**
+   * Returns the column of a packed piece.
+   *
+   * @param packed the packed piece
+   * @return the column (0–7)
+   */
+  public static int col(short packed) {
+    return packed & 7;
+  }
+
+  /**
+   * Determines whether a packed piece can move to the given position, by the same rules as
+   * {@link ChessPiece#canMove}.
+   *
+   * @param packed the packed piece
+   * @param row    the target row
+   * @param col    the target column
+   * @return true if the piece can move there
+   */
+  public static boolean canMove(short packed, int row, int col) {
+    if (((row | col) >>> 3) != 0) {
+      return false;
+    }
+    return ((MOVES[packed] >>> (row << 3 | col)) & 1) != 0;
+  }
+
+  /**
+   * Determines whether a packed piece can kill another, by the same rules as
+   * {@link ChessPiece#canKill}.
+   *
+   * @param attacker the packed attacking piece
+   * @param victim   the packed piece that may be killed
+   * @return true if the attacker can kill the victim
+   */
+  public static boolean canKill(short attacker, short victim) {
+    return ((attacker ^ victim) & 1 << COLOR_SHIFT) != 0
+        && ((KILLS[attacker] >>> (victim & 0x3F)) & 1) != 0;
+  }
+
+  /**
+   * Returns the squares a packed piece can move to, like {@link ChessPiece#movesMask()}.
+   *
+   * @param packed the packed piece
+   * @return the reachable squares as a bitboard
+   */
+  public static long movesMask(short packed) {
+    return MOVES[packed];
+  }
+
+  /**
+   * Returns the squares on which a packed piece can kill, like
+   * {@link ChessPiece#killsMask()}.
+   *
+   * @param packed the packed piece
+   * @return the attacked squares as a bitboard
+   */
+  public static long killsMask(short packed) {
+    return KILLS[packed];
+  }
+
+  /**
+   * Checks that a value is a packed piece.
+   *
+   * @param packed the value
+   * @throws IllegalArgumentException if it is not
+   */
+  static void check(short packed) {
+    if (packed < 0 || packed >= LIMIT) {
+      throw new IllegalArgumentException("Not a packed piece: " + packed);
+    }
+  }
+}
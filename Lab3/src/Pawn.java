@@ -0,0 +1,63 @@
+/**
+ * Represents a pawn chess piece that moves one square forward, or two from its starting
+ * row, and kills one square diagonally forward. White pawns start on row 1 and move towards
+ * higher rows; black pawns start on row 6 and move towards lower rows.
+ */
+public class Pawn extends AbstractChessPiece {
+
+  /**
+   * Constructs a {@code Pawn} object.
+   *
+   * @param row   the row on the chess board
+   * @param col   the column on the chess board
+   * @param color the color of the pawn
+   * @throws IllegalArgumentException if the position is invalid
+   */
+  public Pawn(int row, int col, Color color) throws IllegalArgumentException {
+    super(row, col, color);
+    if ((row < 0) || (col < 0)) {
+      throw new IllegalArgumentException("Illegal position");
+    }
+  }
+
+  /**
+   * Gets the positions the pawn can move to without killing, from a table precomputed for
+   * every square.
+   *
+   * @return the reachable positions as a bitboard
+   */
+  @Override
+  public long movesMask() {
+    return MoveMasks.pawnMoves(this.row, this.col, this.color);
+  }
+
+  /**
+   * Gets the positions on which the pawn can kill, one square diagonally forward.
+   *
+   * @return the attacked positions as a bitboard
+   */
+  @Override
+  public long killsMask() {
+    return MoveMasks.pawnKills(this.row, this.col, this.color);
+  }
+
+  /**
+   * Returns the direction pawns of the given color move in.
+   *
+   * @param color the color
+   * @return 1 if they move towards higher rows, -1 if towards lower rows
+   */
+  static int forward(Color color) {
+    return color == Color.WHITE ? 1 : -1;
+  }
+
+  /**
+   * Returns the row pawns of the given color start on.
+   *
+   * @param color the color
+   * @return the starting row
+   */
+  static int startRow(Color color) {
+    return color == Color.WHITE ? 1 : 6;
+  }
+}
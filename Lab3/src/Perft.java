@@ -0,0 +1,93 @@
+import java.util.Arrays;
+
+/**
+ * Counts the leaf nodes of the legal move tree of a {@link Position} to a fixed depth, a
+ * number known for many positions and so a standard check of a move generator, and a
+ * measure of its speed.
+ */
+public final class Perft {
+  private Perft() {
+  }
+
+  /**
+   * Counts the sequences of legal moves of the given length from the given position.
+   *
+   * @param position the position, which is left as it was
+   * @param depth    the number of moves in each sequence
+   * @return the number of sequences
+   * @throws IllegalArgumentException if the depth is negative
+   */
+  public static long perft(Position position, int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Depth cannot be negative");
+    }
+    if (depth == 0) {
+      return 1;
+    }
+    return perft(position, depth, new int[depth * MoveGenerator.MAX_MOVES]);
+  }
+
+  /**
+   * Counts the sequences of legal moves of the given length from the given position, for
+   * each first move separately.
+   *
+   * @param position the position, which is left as it was
+   * @param depth    the number of moves in each sequence
+   * @return one line per legal move, such as {@code e2e4: 600}, in generation order
+   * @throws IllegalArgumentException if the depth is less than one
+   */
+  public static String divide(Position position, int depth) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("Depth must be at least one");
+    }
+    int[] moves = new int[depth * MoveGenerator.MAX_MOVES];
+    int offset = (depth - 1) * MoveGenerator.MAX_MOVES;
+    int count = MoveGenerator.generateLegal(position, moves, offset);
+    StringBuilder out = new StringBuilder();
+    for (int i = offset; i < offset + count; i++) {
+      position.makeMove(moves[i]);
+      long nodes = depth == 1 ? 1 : perft(position, depth - 1, moves);
+      position.unmakeMove(moves[i]);
+      out.append(Move.toString(moves[i])).append(": ").append(nodes).append('\n');
+    }
+    return out.toString();
+  }
+
+  // With d moves left to play, moves are written from index (d - 1) * MAX_MOVES, so each
+  // level of the tree has its own slice of the one array.
+  private static long perft(Position position, int depth, int[] moves) {
+    int offset = (depth - 1) * MoveGenerator.MAX_MOVES;
+    int count = MoveGenerator.generateLegal(position, moves, offset);
+    if (depth == 1) {
+      return count;
+    }
+    long nodes = 0;
+    for (int i = offset; i < offset + count; i++) {
+      position.makeMove(moves[i]);
+      nodes += perft(position, depth - 1, moves);
+      position.unmakeMove(moves[i]);
+    }
+    return nodes;
+  }
+
+  /**
+   * Prints the node count and speed of perft at each depth up to the given one.
+   * The arguments are the maximum depth, 5 if left out, and a position in FEN, the starting
+   * position if left out.
+   *
+   * @param args the depth and position
+   */
+  public static void main(String[] args) {
+    int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+    Position position = args.length > 1
+        ? Position.fromFen(String.join(" ", Arrays.copyOfRange(args, 1, args.length)))
+        : Position.start();
+    for (int d = 1; d <= depth; d++) {
+      long start = System.nanoTime();
+      long nodes = perft(position, d);
+      long elapsed = Math.max(1, System.nanoTime() - start);
+      System.out.printf("depth %d: %d nodes in %.3f s, %.0f nodes/s%n", d, nodes,
+          elapsed / 1e9, nodes * 1e9 / elapsed);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+import java.util.Arrays;
+
+/**
+ * Holds the pieces of one position at a time, reusing the same piece objects for every
+ * position it is filled with, so that reading many positions in a row allocates nothing
+ * once each kind of piece has been seen in its greatest number.
+ * The pieces it hands out belong to the buffer: they change when it is next filled, and
+ * must not be kept beyond that.
+ */
+public final class PieceBuffer {
+  // Spare pieces of each kind, indexed by PieceType ordinal; the first used[type] are in use.
+  private final AbstractChessPiece[][] spares;
+  private final int[] used;
+  private final ChessPiece[] pieces;
+  private int size;
+  private Color sideToMove;
+
+  /**
+   * Constructs an empty buffer.
+   */
+  public PieceBuffer() {
+    PieceType[] types = PieceType.values();
+    this.spares = new AbstractChessPiece[types.length][];
+    for (PieceType type : types) {
+      this.spares[type.ordinal()] = new AbstractChessPiece[type == PieceType.KING ? 2 : 16];
+    }
+    this.used = new int[types.length];
+    this.pieces = new ChessPiece[64];
+    this.sideToMove = Color.WHITE;
+  }
+
+  /**
+   * Returns the number of pieces in the position.
+   *
+   * @return the number of pieces
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns a piece of the position. Pieces are in the order they were added.
+   *
+   * @param index the index of the piece
+   * @return the piece, valid until the buffer is next filled
+   * @throws IndexOutOfBoundsException if the index is not less than the size
+   */
+  public ChessPiece get(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("No piece at index " + index);
+    }
+    return this.pieces[index];
+  }
+
+  /**
+   * Returns the color whose turn it is in the position.
+   *
+   * @return the side to move
+   */
+  public Color sideToMove() {
+    return this.sideToMove;
+  }
+
+  /**
+   * Empties the buffer for the next position.
+   */
+  void clear() {
+    Arrays.fill(this.used, 0);
+    this.size = 0;
+  }
+
+  /**
+   * Sets the side to move of the position.
+   *
+   * @param sideToMove the side to move
+   */
+  void setSideToMove(Color sideToMove) {
+    this.sideToMove = sideToMove;
+  }
+
+  /**
+   * Adds a piece to the position, reusing a spare piece of that kind if there is one.
+   *
+   * @param type  the kind of piece
+   * @param row   the row of the piece (0–7)
+   * @param col   the column of the piece (0–7)
+   * @param color the color of the piece
+   * @throws IllegalStateException if the position already has 64 pieces
+   */
+  void add(PieceType type, int row, int col, Color color) {
+    if (this.size == this.pieces.length) {
+      throw new IllegalStateException("Position is full");
+    }
+    int kind = type.ordinal();
+    AbstractChessPiece[] spares = this.spares[kind];
+    int index = this.used[kind]++;
+    if (index == spares.length) {
+      spares = Arrays.copyOf(spares, spares.length * 2);
+      this.spares[kind] = spares;
+    }
+    AbstractChessPiece piece = spares[index];
+    if (piece == null) {
+      piece = (AbstractChessPiece) type.create(row, col, color);
+      spares[index] = piece;
+    } else {
+      piece.place(row, col, color);
+    }
+    this.pieces[this.size++] = piece;
+  }
+}
@@ -0,0 +1,56 @@
+/**
+ * Represents the kind of a chess piece, independent of its color and position.
+ */
+public enum PieceType {
+  KNIGHT, BISHOP, ROOK, QUEEN, KING, PAWN;
+
+  /**
+   * Returns the kind of the given piece.
+   *
+   * @param piece the piece
+   * @return the kind of that piece
+   * @throws IllegalArgumentException if the piece is not one of the known kinds
+   */
+  public static PieceType of(ChessPiece piece) {
+    if (piece instanceof Knight) {
+      return KNIGHT;
+    } else if (piece instanceof Bishop) {
+      return BISHOP;
+    } else if (piece instanceof Rook) {
+      return ROOK;
+    } else if (piece instanceof Queen) {
+      return QUEEN;
+    } else if (piece instanceof King) {
+      return KING;
+    } else if (piece instanceof Pawn) {
+      return PAWN;
+    }
+    throw new IllegalArgumentException("Unknown piece");
+  }
+
+  /**
+   * Creates a piece of this kind.
+   *
+   * @param row   the row on the chess board
+   * @param col   the column on the chess board
+   * @param color the color of the piece
+   * @return the new piece
+   * @throws IllegalArgumentException if the position is invalid
+   */
+  public ChessPiece create(int row, int col, Color color) {
+    switch (this) {
+      case KNIGHT:
+        return new Knight(row, col, color);
+      case BISHOP:
+        return new Bishop(row, col, color);
+      case ROOK:
+        return new Rook(row, col, color);
+      case QUEEN:
+        return new Queen(row, col, color);
+      case KING:
+        return new King(row, col, color);
+      default:
+        return new Pawn(row, col, color);
+    }
+  }
+}
@@ -0,0 +1,515 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a game of chess in progress: where the pieces stand, whose turn it is, which
+ * castling moves are still allowed, the square a pawn can be killed en passant on and the
+ * move counters, everything a line of Forsyth–Edwards Notation (FEN) holds.
+ * Pieces are kept as {@link Bitboards}-style bitboards per color and kind, together with a
+ * square-by-square array of piece codes, where a piece's code is its color ordinal times the
+ * number of kinds plus its {@link PieceType} ordinal. Moves encoded by {@link Move} are
+ * played with {@link #makeMove} and taken back with {@link #unmakeMove}, so a search can walk
+ * the game tree on one position without copying it. Each move also updates the position's
+ * {@link Zobrist} key, so identical positions reached by different moves can be recognized
+ * without comparing them square by square.
+ */
+public final class Position {
+  static final int KINDS = 6;
+  static final int EMPTY = -1;
+  static final int WHITE = 0;
+  static final int BLACK = 1;
+  // Piece kinds, equal to the PieceType ordinals.
+  static final int KNIGHT = 0;
+  static final int BISHOP = 1;
+  static final int ROOK = 2;
+  static final int QUEEN = 3;
+  static final int KING = 4;
+  static final int PAWN = 5;
+  // Castling rights.
+  static final int WHITE_KINGSIDE = 1;
+  static final int WHITE_QUEENSIDE = 2;
+  static final int BLACK_KINGSIDE = 4;
+  static final int BLACK_QUEENSIDE = 8;
+
+  private static final String CASTLING_LETTERS = "KQkq";
+  // The castling rights that survive a move from or to each square.
+  private static final int[] CASTLING_KEPT = new int[64];
+
+  static {
+    Arrays.fill(CASTLING_KEPT, 15);
+    CASTLING_KEPT[4] = ~(WHITE_KINGSIDE | WHITE_QUEENSIDE) & 15;
+    CASTLING_KEPT[7] = ~WHITE_KINGSIDE & 15;
+    CASTLING_KEPT[0] = ~WHITE_QUEENSIDE & 15;
+    CASTLING_KEPT[60] = ~(BLACK_KINGSIDE | BLACK_QUEENSIDE) & 15;
+    CASTLING_KEPT[63] = ~BLACK_KINGSIDE & 15;
+    CASTLING_KEPT[56] = ~BLACK_QUEENSIDE & 15;
+  }
+
+  final long[][] pieces;
+  final long[] colors;
+  final byte[] board;
+  int side;
+  int castling;
+  int enPassant;
+  int halfmoves;
+  int fullmoves;
+  long key;
+  // What each played move cannot be undone without, packed as by push, and the key before it.
+  private long[] history;
+  private long[] keys;
+  private int ply;
+
+  private Position() {
+    this.pieces = new long[2][KINDS];
+    this.colors = new long[2];
+    this.board = new byte[64];
+    Arrays.fill(this.board, (byte) EMPTY);
+    this.enPassant = -1;
+    this.fullmoves = 1;
+    this.history = new long[64];
+    this.keys = new long[64];
+  }
+
+  /**
+   * Returns a new position at the start of a game.
+   *
+   * @return the starting position
+   */
+  public static Position start() {
+    return fromFen(Fen.START);
+  }
+
+  /**
+   * Reads a position from a line of FEN, such as
+   * {@code rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1}. The move counters at
+   * the end may be left out. Castling rights that the pieces no longer allow, because the
+   * king or the rook has left its starting square, are dropped.
+   *
+   * @param fen the position in FEN
+   * @return the position
+   * @throws IllegalArgumentException if the text is not valid FEN, or the position does not
+   *                                  have exactly one king per color or has a pawn on the
+   *                                  first or last row
+   */
+  public static Position fromFen(CharSequence fen) {
+    String[] fields = fen.toString().trim().split("\\s+");
+    if (fields.length < 4 || fields.length > 6) {
+      throw new IllegalArgumentException("Invalid FEN: " + fen);
+    }
+    Position position = new Position();
+    int row = 7;
+    int col = 0;
+    for (int i = 0; i < fields[0].length(); i++) {
+      char c = fields[0].charAt(i);
+      if (c == '/') {
+        if (col != 8 || row == 0) {
+          throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        row--;
+        col = 0;
+      } else if (c >= '1' && c <= '8') {
+        col += c - '0';
+      } else {
+        int piece = Fen.pieceOf(c);
+        if (piece == EMPTY || col > 7) {
+          throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        position.put(piece, Bitboards.square(row, col));
+        col++;
+      }
+      if (col > 8) {
+        throw new IllegalArgumentException("Invalid FEN: " + fen);
+      }
+    }
+    if (row != 0 || col != 8) {
+      throw new IllegalArgumentException("Invalid FEN: " + fen);
+    }
+
+    if (fields[1].equals("w")) {
+      position.side = WHITE;
+    } else if (fields[1].equals("b")) {
+      position.side = BLACK;
+    } else {
+      throw new IllegalArgumentException("Invalid FEN: " + fen);
+    }
+
+    if (!fields[2].equals("-")) {
+      for (int i = 0; i < fields[2].length(); i++) {
+        int right = CASTLING_LETTERS.indexOf(fields[2].charAt(i));
+        if (right < 0) {
+          throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        position.castling |= 1 << right;
+      }
+    }
+
+    if (!fields[3].equals("-")) {
+      position.enPassant = parseSquare(fields[3]);
+      int passedRow = position.side == WHITE ? 5 : 2;
+      if (position.enPassant < 0 || position.enPassant >>> 3 != passedRow) {
+        throw new IllegalArgumentException("Invalid FEN: " + fen);
+      }
+    }
+
+    try {
+      if (fields.length > 4) {
+        position.halfmoves = Integer.parseInt(fields[4]);
+      }
+      if (fields.length > 5) {
+        position.fullmoves = Integer.parseInt(fields[5]);
+      }
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid FEN: " + fen);
+    }
+    if (position.halfmoves < 0 || position.fullmoves < 1) {
+      throw new IllegalArgumentException("Invalid FEN: " + fen);
+    }
+    position.validate();
+    position.key = Zobrist.keyOf(position);
+    return position;
+  }
+
+  /**
+   * Builds a position holding the given pieces, with the given side to move, no castling
+   * rights and no en passant square.
+   *
+   * @param pieces     the pieces, each on the square it stands on
+   * @param sideToMove the color whose turn it is
+   * @return the position
+   * @throws IllegalArgumentException if a piece is off the board or shares a square with
+   *                                  another, or the position does not have exactly one king
+   *                                  per color or has a pawn on the first or last row
+   */
+  public static Position of(Iterable<? extends ChessPiece> pieces, Color sideToMove) {
+    Position position = new Position();
+    for (ChessPiece piece : pieces) {
+      if (!Bitboards.isOnBoard(piece.getRow(), piece.getColumn())) {
+        throw new IllegalArgumentException("Piece is off the board");
+      }
+      int square = Bitboards.square(piece.getRow(), piece.getColumn());
+      if (position.board[square] != EMPTY) {
+        throw new IllegalArgumentException("Square is already occupied");
+      }
+      position.put(piece.getColor().ordinal() * KINDS + PieceType.of(piece).ordinal(), square);
+    }
+    position.side = sideToMove.ordinal();
+    position.validate();
+    position.key = Zobrist.keyOf(position);
+    return position;
+  }
+
+  /**
+   * Returns an independent copy of this position. The moves played so far are not copied,
+   * so they cannot be taken back on the copy.
+   *
+   * @return the copy
+   */
+  public Position copy() {
+    Position copy = new Position();
+    for (int color = 0; color < 2; color++) {
+      System.arraycopy(this.pieces[color], 0, copy.pieces[color], 0, KINDS);
+    }
+    System.arraycopy(this.colors, 0, copy.colors, 0, 2);
+    System.arraycopy(this.board, 0, copy.board, 0, 64);
+    copy.side = this.side;
+    copy.castling = this.castling;
+    copy.enPassant = this.enPassant;
+    copy.halfmoves = this.halfmoves;
+    copy.fullmoves = this.fullmoves;
+    copy.key = this.key;
+    return copy;
+  }
+
+  /**
+   * Returns the color whose turn it is.
+   *
+   * @return the side to move
+   */
+  public Color sideToMove() {
+    return Color.values()[this.side];
+  }
+
+  /**
+   * Returns the pieces on the board, ordered by square.
+   *
+   * @return a new list of new pieces
+   */
+  public List<ChessPiece> pieces() {
+    List<ChessPiece> result = new ArrayList<>();
+    PieceType[] types = PieceType.values();
+    Color[] colors = Color.values();
+    for (int square = 0; square < 64; square++) {
+      int piece = this.board[square];
+      if (piece != EMPTY) {
+        result.add(types[piece % KINDS].create(square >>> 3, square & 7, colors[piece / KINDS]));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the Zobrist key of this position, which depends on the pieces and their squares,
+   * the side to move, the castling rights and the en passant square, but not on the move
+   * counters. Equal positions have equal keys; different positions almost always have
+   * different keys.
+   *
+   * @return the key
+   */
+  public long key() {
+    return this.key;
+  }
+
+  /**
+   * Determines whether the king of the side to move is attacked.
+   *
+   * @return true if the side to move is in check
+   */
+  public boolean inCheck() {
+    return isAttacked(kingSquare(this.side), this.side ^ 1);
+  }
+
+  /**
+   * Plays the given move, which must be one {@link MoveGenerator} generates for this
+   * position. Moves that leave the mover's own king attacked are played all the same.
+   *
+   * @param move the encoded move
+   */
+  public void makeMove(int move) {
+    int from = Move.from(move);
+    int to = Move.to(move);
+    int flag = Move.flag(move);
+    int us = this.side;
+    int piece = this.board[from];
+    int captured = this.board[to];
+    push(captured, this.castling, this.enPassant, this.halfmoves);
+    this.key ^= Zobrist.castling(this.castling) ^ Zobrist.enPassant(this.enPassant);
+
+    this.halfmoves++;
+    if (captured != EMPTY) {
+      remove(to);
+      this.halfmoves = 0;
+    }
+    remove(from);
+    int promotion = (move >>> 12) & 7;
+    put(promotion == 0 ? piece : us * KINDS + promotion - 1, to);
+    if (piece % KINDS == PAWN) {
+      this.halfmoves = 0;
+    }
+
+    this.enPassant = -1;
+    if (flag == Move.DOUBLE_STEP) {
+      this.enPassant = (from + to) >>> 1;
+    } else if (flag == Move.EN_PASSANT) {
+      remove(us == WHITE ? to - 8 : to + 8);
+    } else if (flag == Move.CASTLE) {
+      if (to > from) {
+        put(remove(from + 3), from + 1);
+      } else {
+        put(remove(from - 4), from - 1);
+      }
+    }
+    this.castling &= CASTLING_KEPT[from] & CASTLING_KEPT[to];
+    this.key ^= Zobrist.castling(this.castling) ^ Zobrist.enPassant(this.enPassant)
+        ^ Zobrist.blackToMove();
+    if (us == BLACK) {
+      this.fullmoves++;
+    }
+    this.side = us ^ 1;
+  }
+
+  /**
+   * Takes back the given move, which must be the last move played and not yet taken back.
+   *
+   * @param move the encoded move
+   * @throws IllegalStateException if no move has been played
+   */
+  public void unmakeMove(int move) {
+    if (this.ply == 0) {
+      throw new IllegalStateException("No move to take back");
+    }
+    int from = Move.from(move);
+    int to = Move.to(move);
+    int flag = Move.flag(move);
+    int us = this.side ^ 1;
+    long state = this.history[--this.ply];
+
+    int piece = remove(to);
+    put(((move >>> 12) & 7) == 0 ? piece : us * KINDS + PAWN, from);
+    int captured = (int) (state & 0xF) - 1;
+    if (captured != EMPTY) {
+      put(captured, to);
+    }
+    if (flag == Move.EN_PASSANT) {
+      put((us ^ 1) * KINDS + PAWN, us == WHITE ? to - 8 : to + 8);
+    } else if (flag == Move.CASTLE) {
+      if (to > from) {
+        put(remove(from + 1), from + 3);
+      } else {
+        put(remove(from - 1), from - 4);
+      }
+    }
+
+    this.castling = (int) (state >>> 4) & 0xF;
+    this.enPassant = (int) ((state >>> 8) & 0x7F) - 1;
+    this.halfmoves = (int) (state >>> 32);
+    this.key = this.keys[this.ply];
+    if (us == BLACK) {
+      this.fullmoves--;
+    }
+    this.side = us;
+  }
+
+  /**
+   * Returns the position as a line of FEN.
+   *
+   * @return the position in FEN
+   */
+  public String toFen() {
+    StringBuilder out = new StringBuilder(90);
+    PieceType[] types = PieceType.values();
+    Color[] colors = Color.values();
+    for (int row = 7; row >= 0; row--) {
+      int empty = 0;
+      for (int col = 0; col < 8; col++) {
+        int piece = this.board[Bitboards.square(row, col)];
+        if (piece == EMPTY) {
+          empty++;
+        } else {
+          if (empty > 0) {
+            out.append(empty);
+            empty = 0;
+          }
+          out.append(Fen.letterOf(types[piece % KINDS], colors[piece / KINDS]));
+        }
+      }
+      if (empty > 0) {
+        out.append(empty);
+      }
+      if (row > 0) {
+        out.append('/');
+      }
+    }
+    out.append(this.side == WHITE ? " w " : " b ");
+    if (this.castling == 0) {
+      out.append('-');
+    }
+    for (int right = 0; right < 4; right++) {
+      if ((this.castling & 1 << right) != 0) {
+        out.append(CASTLING_LETTERS.charAt(right));
+      }
+    }
+    out.append(' ');
+    if (this.enPassant < 0) {
+      out.append('-');
+    } else {
+      Move.appendSquare(this.enPassant, out);
+    }
+    return out.append(' ').append(this.halfmoves).append(' ').append(this.fullmoves)
+        .toString();
+  }
+
+  @Override
+  public String toString() {
+    return this.toFen();
+  }
+
+  /**
+   * Determines whether any piece of the given color attacks the given square.
+   *
+   * @param square the square
+   * @param by     the ordinal of the attacking color
+   * @return true if the square is attacked
+   */
+  boolean isAttacked(int square, int by) {
+    long[] attackers = this.pieces[by];
+    long occupied = this.colors[WHITE] | this.colors[BLACK];
+    return (Bitboards.knightAttacks(square) & attackers[KNIGHT]) != 0
+        || (Bitboards.kingAttacks(square) & attackers[KING]) != 0
+        || (Bitboards.pawnAttacks(by ^ 1, square) & attackers[PAWN]) != 0
+        || (Bitboards.bishopAttacks(square, occupied) & (attackers[BISHOP] | attackers[QUEEN]))
+            != 0
+        || (Bitboards.rookAttacks(square, occupied) & (attackers[ROOK] | attackers[QUEEN]))
+            != 0;
+  }
+
+  /**
+   * Returns the square of the king of the given color.
+   *
+   * @param color the ordinal of the color
+   * @return the square of its king
+   */
+  int kingSquare(int color) {
+    return Long.numberOfTrailingZeros(this.pieces[color][KING]);
+  }
+
+  private void put(int piece, int square) {
+    long bit = 1L << square;
+    this.pieces[piece / KINDS][piece % KINDS] |= bit;
+    this.colors[piece / KINDS] |= bit;
+    this.board[square] = (byte) piece;
+    this.key ^= Zobrist.piece(piece, square);
+  }
+
+  private int remove(int square) {
+    int piece = this.board[square];
+    long bit = ~(1L << square);
+    this.pieces[piece / KINDS][piece % KINDS] &= bit;
+    this.colors[piece / KINDS] &= bit;
+    this.board[square] = (byte) EMPTY;
+    this.key ^= Zobrist.piece(piece, square);
+    return piece;
+  }
+
+  private void push(int captured, int castling, int enPassant, int halfmoves) {
+    if (this.ply == this.history.length) {
+      this.history = Arrays.copyOf(this.history, this.ply * 2);
+      this.keys = Arrays.copyOf(this.keys, this.ply * 2);
+    }
+    this.keys[this.ply] = this.key;
+    this.history[this.ply++] = (captured + 1) | castling << 4 | (enPassant + 1) << 8
+        | (long) halfmoves << 32;
+  }
+
+  private void validate() {
+    for (int color = 0; color < 2; color++) {
+      if (Long.bitCount(this.pieces[color][KING]) != 1) {
+        throw new IllegalArgumentException("Each side needs exactly one king");
+      }
+      if ((this.pieces[color][PAWN] & 0xFF000000000000FFL) != 0) {
+        throw new IllegalArgumentException("Pawn on the first or last row");
+      }
+    }
+    if (!hasPiece(WHITE * KINDS + KING, 4)) {
+      this.castling &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+    }
+    if (!hasPiece(WHITE * KINDS + ROOK, 7)) {
+      this.castling &= ~WHITE_KINGSIDE;
+    }
+    if (!hasPiece(WHITE * KINDS + ROOK, 0)) {
+      this.castling &= ~WHITE_QUEENSIDE;
+    }
+    if (!hasPiece(BLACK * KINDS + KING, 60)) {
+      this.castling &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+    }
+    if (!hasPiece(BLACK * KINDS + ROOK, 63)) {
+      this.castling &= ~BLACK_KINGSIDE;
+    }
+    if (!hasPiece(BLACK * KINDS + ROOK, 56)) {
+      this.castling &= ~BLACK_QUEENSIDE;
+    }
+  }
+
+  private boolean hasPiece(int piece, int square) {
+    return this.board[square] == piece;
+  }
+
+  private static int parseSquare(String name) {
+    if (name.length() != 2) {
+      return -1;
+    }
+    int col = name.charAt(0) - 'a';
+    int row = name.charAt(1) - '1';
+    return Bitboards.isOnBoard(row, col) ? Bitboards.square(row, col) : -1;
+  }
+}
@@ -19,18 +19,12 @@ public class Queen extends AbstractChessPiece {
   }
 
   /**
-   * Determines whether the queen can move to the given position.
+   * Gets the positions the queen can move to, from a table precomputed for every square.
    *
-   * @param row the target row on the chess board
-   * @param col the target column on the chess board
-   * @return true if the queen can move to the specified position, false otherwise
+   * @return the reachable positions as a bitboard
    */
   @Override
-  public boolean canMove(int row, int col) {
-    if ((row < 0) || (col < 0) || (row >= 8) || (col >= 8)) {
-      return false;
-    }
-    return ((this.row == row) || (this.col == col)
-            || (Math.abs(this.row - row) == Math.abs(this.col - col)));
+  public long movesMask() {
+    return MoveMasks.queen(this.row, this.col);
   }
 }
@@ -0,0 +1,520 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Searches chess positions for the best move with iterative deepening alpha-beta on a
+ * {@link ForkJoinPool}, scoring positions by material.
+ * Several threads search the same position at once, lazy SMP style: each walks the tree on
+ * its own copy of the position, and they share nothing but a {@link TranspositionTable}. A
+ * result one thread stores lets the others skip that part of the tree, so together they
+ * reach a given depth sooner than one thread alone. Half of the helper threads start one
+ * ply deeper than the main thread, so they fill the table ahead of it. The main thread's
+ * result is the one reported; when it finishes, the helpers stop.
+ * The threads live until the search is closed, so use it in a try-with-resources statement.
+ */
+public final class Search implements AutoCloseable {
+  /**
+   * The greatest depth that can be searched.
+   */
+  public static final int MAX_DEPTH = 64;
+  /**
+   * The score of mate in no moves; mate in n plies scores {@code MATE - n}.
+   */
+  public static final int MATE = 30000;
+
+  private static final int INFINITY = MATE + 1;
+  // Depth plus the captures searched beyond it.
+  private static final int MAX_PLY = 2 * MAX_DEPTH;
+  // Material values, indexed by PieceType ordinal.
+  private static final int[] VALUES = {320, 330, 500, 900, 0, 100};
+  // Breaks ties between kills of equally valuable victims, indexed by PieceType ordinal:
+  // the less valuable the attacker, the higher, with the king lowest of all.
+  private static final int[] ATTACKER_RANKS = {4, 3, 2, 1, 0, 5};
+
+  private final ForkJoinPool pool;
+  private final TranspositionTable table;
+
+  /**
+   * Constructs a search using the given number of threads and a transposition table of
+   * 2^20 entries.
+   *
+   * @param threads the number of threads
+   * @throws IllegalArgumentException if the number of threads is less than one
+   */
+  public Search(int threads) {
+    this(threads, new TranspositionTable(1 << 20));
+  }
+
+  /**
+   * Constructs a search using the given number of threads and transposition table.
+   *
+   * @param threads the number of threads
+   * @param table   the table the threads share
+   * @throws IllegalArgumentException if the number of threads is less than one
+   */
+  public Search(int threads, TranspositionTable table) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Need at least one thread");
+    }
+    this.pool = new ForkJoinPool(threads);
+    this.table = table;
+  }
+
+  /**
+   * Returns the number of threads searching.
+   *
+   * @return the number of threads
+   */
+  public int threads() {
+    return this.pool.getParallelism();
+  }
+
+  /**
+   * Searches the position made of the given pieces.
+   *
+   * @param pieces     the pieces, each on the square it stands on
+   * @param sideToMove the color whose turn it is
+   * @param depth      the depth to search to, in plies
+   * @return the result
+   * @throws IllegalArgumentException if the pieces do not make a valid position, or the
+   *                                  depth is not between 1 and {@link #MAX_DEPTH}
+   */
+  public Result search(Iterable<? extends ChessPiece> pieces, Color sideToMove, int depth) {
+    return this.search(Position.of(pieces, sideToMove), depth);
+  }
+
+  /**
+   * Searches the given position, deepening one ply at a time up to the given depth.
+   *
+   * @param position the position, which is left as it was
+   * @param depth    the depth to search to, in plies
+   * @return the result
+   * @throws IllegalArgumentException if the depth is not between 1 and {@link #MAX_DEPTH}
+   */
+  public Result search(Position position, int depth) {
+    if (depth < 1 || depth > MAX_DEPTH) {
+      throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH);
+    }
+    this.table.newSearch();
+    long start = System.nanoTime();
+    Worker[] workers = new Worker[this.threads()];
+    Control control = new Control();
+    for (int i = 0; i < workers.length; i++) {
+      workers[i] = new Worker(position.copy(), this.table, control);
+    }
+    this.pool.invoke(new Root(workers, control, depth));
+
+    long nodes = 0;
+    for (Worker worker : workers) {
+      nodes += worker.nodes;
+    }
+    Worker main = workers[0];
+    return new Result(main.bestMove, main.bestScore, main.completedDepth, nodes,
+        System.nanoTime() - start);
+  }
+
+  /**
+   * Stops the threads of this search. It cannot be used afterwards.
+   */
+  @Override
+  public void close() {
+    this.pool.shutdown();
+  }
+
+  /**
+   * Scores the given position by material, from the point of view of the side to move.
+   *
+   * @param position the position
+   * @return the material of the side to move minus that of the other side
+   */
+  static int evaluate(Position position) {
+    int score = 0;
+    for (int type = 0; type < Position.KINDS; type++) {
+      score += VALUES[type] * (Long.bitCount(position.pieces[Position.WHITE][type])
+          - Long.bitCount(position.pieces[Position.BLACK][type]));
+    }
+    return position.side == Position.WHITE ? score : -score;
+  }
+
+  /**
+   * Searches a position and prints the result and speed.
+   * The arguments are the depth, 6 if left out, the number of threads, all processors if
+   * left out, and a position in FEN, the starting position if left out.
+   *
+   * @param args the depth, number of threads and position
+   */
+  public static void main(String[] args) {
+    int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+    int threads = args.length > 1 ? Integer.parseInt(args[1])
+        : Runtime.getRuntime().availableProcessors();
+    Position position = args.length > 2
+        ? Position.fromFen(String.join(" ", Arrays.copyOfRange(args, 2, args.length)))
+        : Position.start();
+    try (Search search = new Search(threads)) {
+      System.out.println(search.search(position, depth));
+    }
+  }
+
+  /**
+   * Scores a move for the order in which the search tries it: the move from the
+   * transposition table first, then kills of the most valuable victims, the least valuable
+   * attacker first among equal victims, then promotions, then quiet moves at 0.
+   *
+   * @param position the position the move is made in
+   * @param move     the move
+   * @param hashMove the move from the transposition table, or 0 if there is none
+   * @return the score, higher for moves to try sooner
+   */
+  static int orderScore(Position position, int move, int hashMove) {
+    if (move == hashMove) {
+      return 1 << 20;
+    }
+    byte[] board = position.board;
+    int score = 0;
+    int victim = board[Move.to(move)];
+    if (victim != Position.EMPTY) {
+      score = 1 << 16 | VALUES[victim % Position.KINDS] << 4
+          | ATTACKER_RANKS[board[Move.from(move)] % Position.KINDS];
+    } else if (Move.flag(move) == Move.EN_PASSANT) {
+      score = 1 << 16 | VALUES[Position.PAWN] << 4 | ATTACKER_RANKS[Position.PAWN];
+    }
+    PieceType promotion = Move.promotion(move);
+    if (promotion != null) {
+      score += 1 << 15 | VALUES[promotion.ordinal()];
+    }
+    return score;
+  }
+
+  // Mate scores are stored relative to the node rather than the root, so they stay right
+  // when the same position is reached at another ply.
+  private static int toTable(int score, int ply) {
+    if (score > MATE - MAX_PLY) {
+      return score + ply;
+    } else if (score < MAX_PLY - MATE) {
+      return score - ply;
+    }
+    return score;
+  }
+
+  private static int fromTable(int score, int ply) {
+    if (score > MATE - MAX_PLY) {
+      return score - ply;
+    } else if (score < MAX_PLY - MATE) {
+      return score + ply;
+    }
+    return score;
+  }
+
+  /**
+   * Represents the outcome of a search.
+   */
+  public static final class Result {
+    private final int move;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long nanos;
+
+    private Result(int move, int score, int depth, long nodes, long nanos) {
+      this.move = move;
+      this.score = score;
+      this.depth = depth;
+      this.nodes = nodes;
+      this.nanos = nanos;
+    }
+
+    /**
+     * Returns the best move found.
+     *
+     * @return the move, encoded by {@link Move}, or 0 if the side to move has no legal move
+     */
+    public int move() {
+      return this.move;
+    }
+
+    /**
+     * Returns the score of the best move, from the point of view of the side to move, where
+     * a pawn is worth 100 and being mated in n plies is worth {@code n - MATE}.
+     *
+     * @return the score
+     */
+    public int score() {
+      return this.score;
+    }
+
+    /**
+     * Returns the depth searched, in plies.
+     *
+     * @return the depth
+     */
+    public int depth() {
+      return this.depth;
+    }
+
+    /**
+     * Returns the number of positions visited by all threads together.
+     *
+     * @return the number of nodes
+     */
+    public long nodes() {
+      return this.nodes;
+    }
+
+    /**
+     * Returns the time the search took.
+     *
+     * @return the time in nanoseconds
+     */
+    public long nanos() {
+      return this.nanos;
+    }
+
+    /**
+     * Returns the number of positions visited per second by all threads together.
+     *
+     * @return the number of nodes per second
+     */
+    public long nodesPerSecond() {
+      return this.nodes * 1_000_000_000L / Math.max(1, this.nanos);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("depth %d move %s score %d nodes %d time %.3f s nodes/s %d",
+          this.depth, this.move == 0 ? "none" : Move.toString(this.move), this.score,
+          this.nodes, this.nanos / 1e9, this.nodesPerSecond());
+    }
+  }
+
+  /**
+   * Tells the helper threads when to stop.
+   */
+  private static final class Control {
+    volatile boolean stop;
+  }
+
+  /**
+   * Runs the main search in the calling pool thread and the helpers in the others.
+   */
+  private static final class Root extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Worker[] workers;
+    private final Control control;
+    private final int depth;
+
+    Root(Worker[] workers, Control control, int depth) {
+      this.workers = workers;
+      this.control = control;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      List<RecursiveTask<Void>> helpers = new ArrayList<>();
+      for (int i = 1; i < this.workers.length; i++) {
+        Worker helper = this.workers[i];
+        int first = 1 + (i & 1);
+        RecursiveTask<Void> task = new RecursiveTask<Void>() {
+          @Override
+          protected Void compute() {
+            helper.iterate(first, depth);
+            return null;
+          }
+        };
+        task.fork();
+        helpers.add(task);
+      }
+      this.workers[0].iterate(1, this.depth);
+      this.control.stop = true;
+      for (RecursiveTask<Void> helper : helpers) {
+        helper.join();
+      }
+    }
+  }
+
+  /**
+   * Searches one copy of the position. Moves for the node at ply p are kept from index
+   * {@code p * MAX_MOVES} of one array, with their ordering scores alongside.
+   */
+  private static final class Worker {
+    private final Position position;
+    private final TranspositionTable table;
+    private final Control control;
+    private final int[] moves = new int[MAX_PLY * MoveGenerator.MAX_MOVES];
+    private final int[] order = new int[MAX_PLY * MoveGenerator.MAX_MOVES];
+    private boolean aborted;
+    private int rootMove;
+    long nodes;
+    int bestMove;
+    int bestScore;
+    int completedDepth;
+
+    Worker(Position position, TranspositionTable table, Control control) {
+      this.position = position;
+      this.table = table;
+      this.control = control;
+    }
+
+    void iterate(int firstDepth, int maxDepth) {
+      for (int depth = firstDepth; depth <= maxDepth; depth++) {
+        int score = this.alphaBeta(depth, -INFINITY, INFINITY, 0);
+        if (this.aborted) {
+          return;
+        }
+        this.bestMove = this.rootMove;
+        this.bestScore = score;
+        this.completedDepth = depth;
+      }
+    }
+
+    private int alphaBeta(int depth, int alpha, int beta, int ply) {
+      this.nodes++;
+      if (this.control.stop) {
+        this.aborted = true;
+        return 0;
+      }
+      Position position = this.position;
+      if (ply > 0 && position.halfmoves >= 100) {
+        return 0;
+      }
+      if (depth <= 0) {
+        return this.quiesce(alpha, beta, ply);
+      }
+
+      long key = position.key;
+      int hashMove = 0;
+      long data = this.table.probe(key);
+      if (data != TranspositionTable.MISS) {
+        hashMove = TranspositionTable.move(data);
+        if (ply > 0 && TranspositionTable.depth(data) >= depth) {
+          int score = fromTable(TranspositionTable.score(data), ply);
+          int bound = TranspositionTable.bound(data);
+          if (bound == TranspositionTable.EXACT
+              || (bound == TranspositionTable.LOWER && score >= beta)
+              || (bound == TranspositionTable.UPPER && score <= alpha)) {
+            return score;
+          }
+        }
+      }
+
+      int us = position.side;
+      int offset = ply * MoveGenerator.MAX_MOVES;
+      int end = offset + MoveGenerator.generatePseudoLegal(position, this.moves, offset);
+      this.scoreMoves(offset, end, hashMove);
+      int originalAlpha = alpha;
+      int best = -INFINITY;
+      int bestMove = 0;
+      for (int i = offset; i < end; i++) {
+        int move = this.nextBest(i, end);
+        position.makeMove(move);
+        if (position.isAttacked(position.kingSquare(us), us ^ 1)) {
+          position.unmakeMove(move);
+          continue;
+        }
+        int score = -this.alphaBeta(depth - 1, -beta, -alpha, ply + 1);
+        position.unmakeMove(move);
+        if (this.aborted) {
+          return 0;
+        }
+        if (score > best) {
+          best = score;
+          bestMove = move;
+          if (score > alpha) {
+            alpha = score;
+            if (alpha >= beta) {
+              break;
+            }
+          }
+        }
+      }
+      if (bestMove == 0) {
+        return position.inCheck() ? ply - MATE : 0;
+      }
+
+      int bound = best >= beta ? TranspositionTable.LOWER
+          : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+      this.table.store(key, bestMove, toTable(best, ply), depth, bound);
+      if (ply == 0) {
+        this.rootMove = bestMove;
+      }
+      return best;
+    }
+
+    // Searches only kills and promotions, so that a position is not scored in the middle
+    // of an exchange. The side to move may also stop killing, so its score is at least
+    // the material as it stands.
+    private int quiesce(int alpha, int beta, int ply) {
+      this.nodes++;
+      if (this.control.stop) {
+        this.aborted = true;
+        return 0;
+      }
+      Position position = this.position;
+      int best = evaluate(position);
+      if (best >= beta || ply >= MAX_PLY - 1) {
+        return best;
+      }
+      alpha = Math.max(alpha, best);
+
+      int us = position.side;
+      int offset = ply * MoveGenerator.MAX_MOVES;
+      int end = offset + MoveGenerator.generatePseudoLegal(position, this.moves, offset);
+      this.scoreMoves(offset, end, 0);
+      for (int i = offset; i < end; i++) {
+        int move = this.nextBest(i, end);
+        if (this.order[i] <= 0) {
+          // The rest are quiet moves.
+          break;
+        }
+        position.makeMove(move);
+        if (position.isAttacked(position.kingSquare(us), us ^ 1)) {
+          position.unmakeMove(move);
+          continue;
+        }
+        int score = -this.quiesce(-beta, -alpha, ply + 1);
+        position.unmakeMove(move);
+        if (this.aborted) {
+          return 0;
+        }
+        if (score > best) {
+          best = score;
+          if (score > alpha) {
+            alpha = score;
+            if (alpha >= beta) {
+              break;
+            }
+          }
+        }
+      }
+      return best;
+    }
+
+    private void scoreMoves(int offset, int end, int hashMove) {
+      for (int i = offset; i < end; i++) {
+        this.order[i] = orderScore(this.position, this.moves[i], hashMove);
+      }
+    }
+
+    // Swaps the highest scored of the remaining moves into place and returns it.
+    private int nextBest(int from, int end) {
+      int best = from;
+      for (int i = from + 1; i < end; i++) {
+        if (this.order[i] > this.order[best]) {
+          best = i;
+        }
+      }
+      int move = this.moves[best];
+      int score = this.order[best];
+      this.moves[best] = this.moves[from];
+      this.order[best] = this.order[from];
+      this.moves[from] = move;
+      this.order[from] = score;
+      return move;
+    }
+  }
+}
@@ -0,0 +1,198 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs {@link ChessPiece#canMove} and {@link ChessPiece#canKill} over every position in a
+ * file read by {@link FenReader}: for each piece, how many squares it can move to on an
+ * empty board and how many of the other pieces it can kill.
+ * The file is split into byte ranges, several per thread, and each range is read and
+ * analyzed by one task on a {@link ForkJoinPool}, with its own reader and
+ * {@link PieceBuffer}, so the threads share nothing but the mapped file.
+ */
+public final class ThreatAnalysis {
+  // Ranges per thread, so that a thread that finishes early can take on another.
+  private static final int RANGES_PER_THREAD = 4;
+
+  private ThreatAnalysis() {
+  }
+
+  /**
+   * Analyzes every position in the given file.
+   *
+   * @param path    the file, with one position in FEN or EPD per line
+   * @param threads the number of threads
+   * @return the totals over all positions
+   * @throws IOException              if the file cannot be read or holds an invalid line
+   * @throws IllegalArgumentException if the number of threads is less than one
+   */
+  public static Report analyze(Path path, int threads) throws IOException {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Need at least one thread");
+    }
+    long start = System.nanoTime();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      int ranges = (int) Math.max(1, Math.min((long) threads * RANGES_PER_THREAD,
+          size / FenReader.MAX_LINE_LENGTH));
+      List<RecursiveTask<long[]>> tasks = new ArrayList<>();
+      for (int i = 0; i < ranges; i++) {
+        long from = size * i / ranges;
+        long to = i == ranges - 1 ? Long.MAX_VALUE : size * (i + 1) / ranges;
+        tasks.add(new RecursiveTask<long[]>() {
+          @Override
+          protected long[] compute() {
+            try {
+              return analyze(channel, from, to);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          }
+        });
+      }
+
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      long[] totals = new long[3];
+      try {
+        for (RecursiveTask<long[]> task : tasks) {
+          pool.execute(task);
+        }
+        for (RecursiveTask<long[]> task : tasks) {
+          long[] counts = task.join();
+          for (int i = 0; i < totals.length; i++) {
+            totals[i] += counts[i];
+          }
+        }
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      } finally {
+        pool.shutdown();
+      }
+      return new Report(totals[0], totals[1], totals[2], System.nanoTime() - start);
+    }
+  }
+
+  // Returns the number of positions, moves and kills in the lines starting in the range.
+  private static long[] analyze(FileChannel channel, long from, long to) throws IOException {
+    FenReader reader = new FenReader(channel, from, to);
+    PieceBuffer buffer = new PieceBuffer();
+    long positions = 0;
+    long moves = 0;
+    long kills = 0;
+    while (reader.read(buffer)) {
+      positions++;
+      int size = buffer.size();
+      for (int i = 0; i < size; i++) {
+        ChessPiece piece = buffer.get(i);
+        for (int row = 0; row < 8; row++) {
+          for (int col = 0; col < 8; col++) {
+            if (piece.canMove(row, col)) {
+              moves++;
+            }
+          }
+        }
+        for (int j = 0; j < size; j++) {
+          if (j != i && piece.canKill(buffer.get(j))) {
+            kills++;
+          }
+        }
+      }
+    }
+    // The channel is shared, so the reader is not closed.
+    return new long[] {positions, moves, kills};
+  }
+
+  /**
+   * Analyzes a file and prints the totals and speed.
+   * The arguments are the file and the number of threads, all processors if left out.
+   *
+   * @param args the file and number of threads
+   * @throws IOException if the file cannot be read or holds an invalid line
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: ThreatAnalysis <file> [threads]");
+      return;
+    }
+    int threads = args.length > 1 ? Integer.parseInt(args[1])
+        : Runtime.getRuntime().availableProcessors();
+    System.out.println(analyze(Paths.get(args[0]), threads));
+  }
+
+  /**
+   * Represents the totals of an analysis.
+   */
+  public static final class Report {
+    private final long positions;
+    private final long moves;
+    private final long kills;
+    private final long nanos;
+
+    private Report(long positions, long moves, long kills, long nanos) {
+      this.positions = positions;
+      this.moves = moves;
+      this.kills = kills;
+      this.nanos = nanos;
+    }
+
+    /**
+     * Returns the number of positions analyzed.
+     *
+     * @return the number of positions
+     */
+    public long positions() {
+      return this.positions;
+    }
+
+    /**
+     * Returns the number of squares the pieces can move to, over all pieces of all
+     * positions.
+     *
+     * @return the number of moves
+     */
+    public long moves() {
+      return this.moves;
+    }
+
+    /**
+     * Returns the number of attacker and victim pairs, over all positions.
+     *
+     * @return the number of kills
+     */
+    public long kills() {
+      return this.kills;
+    }
+
+    /**
+     * Returns the time the analysis took, reading the file included.
+     *
+     * @return the time in nanoseconds
+     */
+    public long nanos() {
+      return this.nanos;
+    }
+
+    /**
+     * Returns the number of positions analyzed per second.
+     *
+     * @return the number of positions per second
+     */
+    public long positionsPerSecond() {
+      return this.positions * 1_000_000_000L / Math.max(1, this.nanos);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d positions, %d moves, %d kills in %.3f s, %d positions/s",
+          this.positions, this.moves, this.kills, this.nanos / 1e9,
+          this.positionsPerSecond());
+    }
+  }
+}
@@ -0,0 +1,178 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Represents every attacker and victim pair among a set of chess pieces: each pair where
+ * {@link ChessPiece#canKill(ChessPiece)} holds. Rather than asking every piece about every
+ * other, the map is built in one pass over the pieces: the squares held by each color are
+ * gathered into an occupancy bitboard, and each attacker's {@link ChessPiece#killsMask()}
+ * is intersected with the occupancy of the other colors, so only actual victims are
+ * visited. Several pieces may share a square, and all of them are found.
+ * Pieces are referred to by their position in the collection the map was built from.
+ */
+public final class ThreatMap {
+  private final List<ChessPiece> pieces;
+  // The victims of attacker i are victims[firstVictim[i]] to victims[firstVictim[i + 1] - 1].
+  private final int[] firstVictim;
+  private final int[] victims;
+  private final boolean[] threatened;
+
+  private ThreatMap(List<ChessPiece> pieces, int[] firstVictim, int[] victims,
+                    boolean[] threatened) {
+    this.pieces = pieces;
+    this.firstVictim = firstVictim;
+    this.victims = victims;
+    this.threatened = threatened;
+  }
+
+  /**
+   * Finds every attacker and victim pair among the given pieces.
+   *
+   * @param pieces the pieces, in the order they are to be referred to
+   * @return the threat map
+   */
+  public static ThreatMap of(Collection<? extends ChessPiece> pieces) {
+    List<ChessPiece> list = Collections.unmodifiableList(new ArrayList<>(pieces));
+    int count = list.size();
+    int colors = Color.values().length;
+
+    // Chain the pieces on each square of each color: first[color][square] is the first
+    // piece there and next[i] the one after piece i, or -1 at the end of a chain.
+    long[] occupied = new long[colors];
+    int[][] first = new int[colors][64];
+    int[] next = new int[count];
+    for (int[] squares : first) {
+      Arrays.fill(squares, -1);
+    }
+    for (int i = count - 1; i >= 0; i--) {
+      ChessPiece piece = list.get(i);
+      int row = piece.getRow();
+      int col = piece.getColumn();
+      if (((row | col) >>> 3) == 0) {
+        int color = piece.getColor().ordinal();
+        int square = row << 3 | col;
+        occupied[color] |= 1L << square;
+        next[i] = first[color][square];
+        first[color][square] = i;
+      }
+    }
+
+    int[] firstVictim = new int[count + 1];
+    int[] victims = new int[Math.max(16, count)];
+    boolean[] threatened = new boolean[count];
+    int pairs = 0;
+    for (int i = 0; i < count; i++) {
+      firstVictim[i] = pairs;
+      ChessPiece attacker = list.get(i);
+      long kills = attacker.killsMask();
+      int own = attacker.getColor().ordinal();
+      for (int color = 0; color < colors; color++) {
+        if (color == own) {
+          continue;
+        }
+        long hits = kills & occupied[color];
+        while (hits != 0) {
+          int square = Long.numberOfTrailingZeros(hits);
+          hits &= hits - 1;
+          for (int victim = first[color][square]; victim >= 0; victim = next[victim]) {
+            if (pairs == victims.length) {
+              victims = Arrays.copyOf(victims, pairs * 2);
+            }
+            victims[pairs++] = victim;
+            threatened[victim] = true;
+          }
+        }
+      }
+    }
+    firstVictim[count] = pairs;
+    return new ThreatMap(list, firstVictim, Arrays.copyOf(victims, pairs), threatened);
+  }
+
+  /**
+   * Builds the threat maps of many positions at once, spreading the positions across the
+   * threads of the common fork-join pool.
+   *
+   * @param positions the pieces of each position
+   * @return the threat map of each position, in the same order
+   */
+  public static List<ThreatMap> ofAll(List<? extends Collection<? extends ChessPiece>> positions) {
+    return positions.parallelStream().map(ThreatMap::of).collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the pieces this map was built from, in their original order.
+   *
+   * @return the pieces
+   */
+  public List<ChessPiece> pieces() {
+    return this.pieces;
+  }
+
+  /**
+   * Returns the number of attacker and victim pairs.
+   *
+   * @return the number of pairs
+   */
+  public int pairCount() {
+    return this.victims.length;
+  }
+
+  /**
+   * Returns the pieces the piece at the given index can kill, ordered by square and then by
+   * their order among the pieces this map was built from.
+   *
+   * @param attacker the index of the attacking piece
+   * @return the pieces it can kill
+   * @throws IndexOutOfBoundsException if the index is outside the pieces
+   */
+  public List<ChessPiece> victimsOf(int attacker) {
+    this.checkIndex(attacker);
+    List<ChessPiece> result = new ArrayList<>();
+    for (int pair = this.firstVictim[attacker]; pair < this.firstVictim[attacker + 1]; pair++) {
+      result.add(this.pieces.get(this.victims[pair]));
+    }
+    return result;
+  }
+
+  /**
+   * Determines whether the piece at the given index can kill the piece at the other index.
+   *
+   * @param attacker the index of the attacking piece
+   * @param victim   the index of the attacked piece
+   * @return true if the attacker can kill the victim
+   * @throws IndexOutOfBoundsException if either index is outside the pieces
+   */
+  public boolean threatens(int attacker, int victim) {
+    this.checkIndex(attacker);
+    this.checkIndex(victim);
+    for (int pair = this.firstVictim[attacker]; pair < this.firstVictim[attacker + 1]; pair++) {
+      if (this.victims[pair] == victim) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Determines whether any piece can kill the piece at the given index.
+   *
+   * @param victim the index of the piece
+   * @return true if at least one piece can kill it
+   * @throws IndexOutOfBoundsException if the index is outside the pieces
+   */
+  public boolean isThreatened(int victim) {
+    this.checkIndex(victim);
+    return this.threatened[victim];
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= this.pieces.size()) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size "
+          + this.pieces.size());
+    }
+  }
+}
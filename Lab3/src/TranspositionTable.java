@@ -0,0 +1,196 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Represents a fixed-size table of search results keyed by {@link Position#key()}, so that a
+ * search reaching a position it has already searched, by another order of moves or from
+ * another thread, can reuse the result instead of searching it again.
+ * Each entry is one {@code long} of data, packing the best move, the score, the depth
+ * searched and what kind of bound the score is, and one {@code long} holding the key
+ * exclusive-ored with the data. Entries are read and written without locks; a reader that
+ * sees the two halves of different writes finds the key does not match and treats it as a
+ * miss, so a torn entry is never returned.
+ * Entries sit in buckets of two, chosen by the low bits of the key. A new result goes into
+ * the entry already holding its position if there is one, and otherwise replaces whichever
+ * entry is shallower, counting entries from earlier searches as shallower the older they are.
+ */
+public final class TranspositionTable {
+  /**
+   * The data returned by {@link #probe} when the position is not in the table.
+   */
+  public static final long MISS = 0;
+  /**
+   * Marks a score that is at most the true score.
+   */
+  public static final int UPPER = 1;
+  /**
+   * Marks a score that is at least the true score.
+   */
+  public static final int LOWER = 2;
+  /**
+   * Marks an exact score.
+   */
+  public static final int EXACT = 3;
+  /**
+   * The greatest depth that can be stored.
+   */
+  public static final int MAX_DEPTH = 0xFF;
+
+  private static final int BUCKET = 2;
+  // Each entry is two longs.
+  private static final int ENTRY_BITS = 1;
+  private static final int MOVE_BITS = 18;
+  private static final int BOUND_SHIFT = MOVE_BITS;
+  private static final int DEPTH_SHIFT = BOUND_SHIFT + 2;
+  private static final int GENERATION_SHIFT = DEPTH_SHIFT + 8;
+  private static final int SCORE_SHIFT = 48;
+
+  private final AtomicLongArray entries;
+  private final int bucketMask;
+  private volatile int generation;
+
+  /**
+   * Constructs an empty table.
+   *
+   * @param capacity the greatest number of entries, rounded down to a power of two
+   * @throws IllegalArgumentException if the capacity is less than two or more than 2^29
+   */
+  public TranspositionTable(int capacity) {
+    if (capacity < BUCKET || capacity > 1 << 29) {
+      throw new IllegalArgumentException("Capacity must be between 2 and 2^29");
+    }
+    int buckets = Integer.highestOneBit(capacity) / BUCKET;
+    this.entries = new AtomicLongArray(buckets * BUCKET << ENTRY_BITS);
+    this.bucketMask = buckets - 1;
+  }
+
+  /**
+   * Returns the number of entries the table holds.
+   *
+   * @return the capacity
+   */
+  public int capacity() {
+    return this.entries.length() >> ENTRY_BITS;
+  }
+
+  /**
+   * Looks up the result stored for the given position.
+   *
+   * @param key the key of the position
+   * @return the packed data, to be read with {@link #move}, {@link #score}, {@link #depth}
+   *         and {@link #bound}, or {@link #MISS} if the position is not in the table
+   */
+  public long probe(long key) {
+    int index = this.bucketOf(key);
+    for (int i = 0; i < BUCKET; i++, index += 2) {
+      long data = this.entries.getOpaque(index + 1);
+      if ((this.entries.getOpaque(index) ^ data) == key && data != MISS) {
+        return data;
+      }
+    }
+    return MISS;
+  }
+
+  /**
+   * Stores a search result for the given position.
+   *
+   * @param key   the key of the position
+   * @param move  the best move found, encoded by {@link Move}, or 0 if there is none
+   * @param score the score, between {@link Short#MIN_VALUE} and {@link Short#MAX_VALUE}
+   * @param depth the depth searched, from 0 to {@link #MAX_DEPTH}
+   * @param bound one of {@link #UPPER}, {@link #LOWER} and {@link #EXACT}
+   * @throws IllegalArgumentException if any of the values is out of range
+   */
+  public void store(long key, int move, int score, int depth, int bound) {
+    if (move >>> MOVE_BITS != 0 || score != (short) score || depth < 0 || depth > MAX_DEPTH
+        || bound < UPPER || bound > EXACT) {
+      throw new IllegalArgumentException("Value out of range");
+    }
+    int generation = this.generation;
+    long data = (long) score << SCORE_SHIFT | (long) generation << GENERATION_SHIFT
+        | (long) depth << DEPTH_SHIFT | (long) bound << BOUND_SHIFT | move;
+
+    int first = this.bucketOf(key);
+    int victim = first;
+    int victimWorth = Integer.MAX_VALUE;
+    for (int i = 0, index = first; i < BUCKET; i++, index += 2) {
+      long old = this.entries.getOpaque(index + 1);
+      if ((this.entries.getOpaque(index) ^ old) == key || old == MISS) {
+        victim = index;
+        break;
+      }
+      int age = (generation - generationOf(old)) & 0xFF;
+      int worth = depth(old) - 8 * age;
+      if (worth < victimWorth) {
+        victim = index;
+        victimWorth = worth;
+      }
+    }
+    this.entries.setOpaque(victim + 1, data);
+    this.entries.setOpaque(victim, key ^ data);
+  }
+
+  /**
+   * Starts a new search, so that entries stored until now lose out to new ones.
+   */
+  public void newSearch() {
+    this.generation = (this.generation + 1) & 0xFF;
+  }
+
+  /**
+   * Empties the table. It must not be used by other threads meanwhile.
+   */
+  public void clear() {
+    for (int i = 0; i < this.entries.length(); i++) {
+      this.entries.setPlain(i, 0);
+    }
+    this.generation = 0;
+  }
+
+  /**
+   * Returns the best move of stored data.
+   *
+   * @param data the data returned by {@link #probe}
+   * @return the move, or 0 if there is none
+   */
+  public static int move(long data) {
+    return (int) data & ((1 << MOVE_BITS) - 1);
+  }
+
+  /**
+   * Returns the score of stored data.
+   *
+   * @param data the data returned by {@link #probe}
+   * @return the score
+   */
+  public static int score(long data) {
+    return (int) (data >> SCORE_SHIFT);
+  }
+
+  /**
+   * Returns the depth searched of stored data.
+   *
+   * @param data the data returned by {@link #probe}
+   * @return the depth
+   */
+  public static int depth(long data) {
+    return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+  }
+
+  /**
+   * Returns the kind of bound of stored data.
+   *
+   * @param data the data returned by {@link #probe}
+   * @return one of {@link #UPPER}, {@link #LOWER} and {@link #EXACT}
+   */
+  public static int bound(long data) {
+    return (int) (data >>> BOUND_SHIFT) & 3;
+  }
+
+  private static int generationOf(long data) {
+    return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+  }
+
+  private int bucketOf(long key) {
+    return ((int) key & this.bucketMask) * BUCKET << ENTRY_BITS;
+  }
+}
@@ -0,0 +1,98 @@
+import java.util.SplittableRandom;
+
+/**
+ * Holds the random keys of Zobrist hashing, which gives each chess position a 64-bit key:
+ * the exclusive or of one key per piece on its square, one for the castling rights, one
+ * for the column of the en passant square, if any, and one more when black is to move.
+ * Since exclusive or undoes itself, a move changes the key by the keys of just the few
+ * things it changes, which is how {@link Position} keeps its key up to date.
+ * The keys come from a fixed seed, so a position has the same key in every run.
+ */
+final class Zobrist {
+  private static final long SEED = 3500;
+  // Indexed by Position piece code, then square.
+  private static final long[][] PIECES = new long[2 * Position.KINDS][64];
+  // Indexed by the set of castling rights.
+  private static final long[] CASTLING = new long[16];
+  // Indexed by the column of the en passant square.
+  private static final long[] EN_PASSANT = new long[8];
+  private static final long BLACK_TO_MOVE;
+
+  static {
+    SplittableRandom random = new SplittableRandom(SEED);
+    for (long[] squares : PIECES) {
+      for (int square = 0; square < 64; square++) {
+        squares[square] = random.nextLong();
+      }
+    }
+    // No rights at all leaves the key as it is.
+    for (int rights = 1; rights < CASTLING.length; rights++) {
+      CASTLING[rights] = random.nextLong();
+    }
+    for (int col = 0; col < EN_PASSANT.length; col++) {
+      EN_PASSANT[col] = random.nextLong();
+    }
+    BLACK_TO_MOVE = random.nextLong();
+  }
+
+  private Zobrist() {
+  }
+
+  /**
+   * Returns the key of a piece on a square.
+   *
+   * @param piece  the piece code
+   * @param square the square
+   * @return the key
+   */
+  static long piece(int piece, int square) {
+    return PIECES[piece][square];
+  }
+
+  /**
+   * Returns the key of a set of castling rights.
+   *
+   * @param rights the rights, as the bits of {@link Position}
+   * @return the key, zero if there are none
+   */
+  static long castling(int rights) {
+    return CASTLING[rights];
+  }
+
+  /**
+   * Returns the key of an en passant square.
+   *
+   * @param square the en passant square, or -1 for none
+   * @return the key of its column, zero if there is none
+   */
+  static long enPassant(int square) {
+    return square < 0 ? 0 : EN_PASSANT[square & 7];
+  }
+
+  /**
+   * Returns the key of black being the side to move.
+   *
+   * @return the key
+   */
+  static long blackToMove() {
+    return BLACK_TO_MOVE;
+  }
+
+  /**
+   * Computes the key of a position from scratch.
+   *
+   * @param position the position
+   * @return its key
+   */
+  static long keyOf(Position position) {
+    long key = 0;
+    for (int square = 0; square < 64; square++) {
+      int piece = position.board[square];
+      if (piece != Position.EMPTY) {
+        key ^= piece(piece, square);
+      }
+    }
+    key ^= castling(position.castling) ^ enPassant(position.enPassant);
+    return position.side == Position.BLACK ? key ^ BLACK_TO_MOVE : key;
+  }
+}
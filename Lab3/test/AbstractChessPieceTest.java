@@ -14,6 +14,18 @@ public abstract class AbstractChessPieceTest {
 
   protected abstract void setupResults(int row, int col);
 
+  /**
+   * Marks the positions a piece of the given color at the given position can kill on. By
+   * default these are the positions it can move to.
+   *
+   * @param row   the row of the piece
+   * @param col   the column of the piece
+   * @param color the color of the piece
+   */
+  protected void setupKillResults(int row, int col, Color color) {
+    setupResults(row, col);
+  }
+
   /**
    * Sets up the test environment before each test method.
    */
@@ -128,7 +140,7 @@ public abstract class AbstractChessPieceTest {
         for (int col = 0; col < 8; col++) {
           initializeResults();
           ChessPiece piece = createPiece(row, col, c);
-          setupResults(row, col);
+          setupKillResults(row, col, c);
           verifyKillResults(piece);
         }
       }
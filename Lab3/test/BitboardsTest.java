@@ -0,0 +1,103 @@
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the bitboard attack tables.
+ */
+public class BitboardsTest {
+
+  /**
+   * Tests the square numbering and the board bounds.
+   */
+  @Test
+  public void testSquares() {
+    assertEquals(0, Bitboards.square(0, 0));
+    assertEquals(7, Bitboards.square(0, 7));
+    assertEquals(56, Bitboards.square(7, 0));
+    assertEquals(63, Bitboards.square(7, 7));
+    assertTrue(Bitboards.isOnBoard(7, 0));
+    assertFalse(Bitboards.isOnBoard(8, 0));
+    assertFalse(Bitboards.isOnBoard(0, -1));
+    assertEquals(0, Bitboards.bit(-1, 3));
+    assertEquals(1L << 63, Bitboards.bit(7, 7));
+  }
+
+  /**
+   * Tests that on an empty board every attack set matches the moves of the pieces, apart
+   * from the piece's own square.
+   */
+  @Test
+  public void testEmptyBoardMatchesCanMove() {
+    for (int row = 0; row < 8; row++) {
+      for (int col = 0; col < 8; col++) {
+        int square = Bitboards.square(row, col);
+        long own = 1L << square;
+        assertEquals(movesOf(new Knight(row, col, Color.WHITE)) & ~own,
+            Bitboards.knightAttacks(square));
+        assertEquals(movesOf(new Bishop(row, col, Color.WHITE)) & ~own,
+            Bitboards.bishopAttacks(square, 0));
+        assertEquals(movesOf(new Rook(row, col, Color.WHITE)) & ~own,
+            Bitboards.rookAttacks(square, 0));
+        assertEquals(movesOf(new Queen(row, col, Color.WHITE)) & ~own,
+            Bitboards.queenAttacks(square, own));
+        assertEquals(movesOf(new King(row, col, Color.WHITE)),
+            Bitboards.kingAttacks(square));
+        for (Color color : Color.values()) {
+          assertEquals(new Pawn(row, col, color).killsMask(),
+              Bitboards.pawnAttacks(color.ordinal(), square));
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests the sliding attacks against walking each ray square by square on random boards.
+   */
+  @Test
+  public void testSlidingAttacksStopAtBlockers() {
+    Random random = new Random(3500);
+    for (int i = 0; i < 2000; i++) {
+      long occupied = random.nextLong() & random.nextLong();
+      int square = random.nextInt(64);
+      assertEquals(walk(square, occupied, new int[][] {{0, 1}, {0, -1}, {1, 0}, {-1, 0}}),
+          Bitboards.rookAttacks(square, occupied));
+      assertEquals(walk(square, occupied, new int[][] {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}}),
+          Bitboards.bishopAttacks(square, occupied));
+    }
+  }
+
+  private static long movesOf(ChessPiece piece) {
+    long moves = 0;
+    for (int row = 0; row < 8; row++) {
+      for (int col = 0; col < 8; col++) {
+        if (piece.canMove(row, col)) {
+          moves |= Bitboards.bit(row, col);
+        }
+      }
+    }
+    return moves;
+  }
+
+  private static long walk(int square, long occupied, int[][] directions) {
+    long attacks = 0;
+    for (int[] direction : directions) {
+      int row = (square >>> 3) + direction[0];
+      int col = (square & 7) + direction[1];
+      while (Bitboards.isOnBoard(row, col)) {
+        long bit = Bitboards.bit(row, col);
+        attacks |= bit;
+        if ((occupied & bit) != 0) {
+          break;
+        }
+        row += direction[0];
+        col += direction[1];
+      }
+    }
+    return attacks;
+  }
+}
@@ -0,0 +1,103 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the bitboard chess board.
+ */
+public class BoardTest {
+
+  /**
+   * Tests placing, finding and removing pieces.
+   */
+  @Test
+  public void testAddAndRemove() {
+    Board board = new Board();
+    ChessPiece rook = new Rook(0, 0, Color.WHITE);
+    ChessPiece knight = new Knight(7, 6, Color.BLACK);
+    board.add(rook);
+    board.add(knight);
+
+    assertSame(rook, board.pieceAt(0, 0));
+    assertSame(knight, board.pieceAt(7, 6));
+    assertNull(board.pieceAt(3, 3));
+    assertNull(board.pieceAt(8, 0));
+    assertEquals(1L | 1L << 62, board.occupied());
+    assertEquals(1L, board.pieces(Color.WHITE));
+    assertEquals(1L << 62, board.pieces(Color.BLACK, PieceType.KNIGHT));
+    assertEquals(0L, board.pieces(Color.BLACK, PieceType.ROOK));
+
+    assertSame(rook, board.remove(0, 0));
+    assertNull(board.remove(0, 0));
+    assertEquals(1L << 62, board.occupied());
+    assertEquals(0L, board.pieces(Color.WHITE, PieceType.ROOK));
+  }
+
+  /**
+   * Tests that pieces cannot share a square or be placed off the board.
+   */
+  @Test
+  public void testInvalidAdds() {
+    Board board = new Board();
+    board.add(new Queen(4, 4, Color.WHITE));
+    try {
+      board.add(new Bishop(4, 4, Color.BLACK));
+      fail("Did not throw an exception when a square was taken twice");
+    } catch (IllegalArgumentException e) {
+      // passes
+    }
+    try {
+      board.add(new Rook(8, 2, Color.BLACK));
+      fail("Did not throw an exception when a piece was off the board");
+    } catch (IllegalArgumentException e) {
+      // passes
+    }
+  }
+
+  /**
+   * Tests that sliding attacks stop at, and include, the first piece in each direction.
+   */
+  @Test
+  public void testAttacksStopAtBlockers() {
+    Board board = new Board();
+    ChessPiece rook = new Rook(0, 0, Color.WHITE);
+    board.add(rook);
+    board.add(new Knight(0, 2, Color.WHITE));
+    board.add(new Bishop(3, 0, Color.BLACK));
+
+    long expected = Bitboards.bit(0, 1) | Bitboards.bit(0, 2)
+        | Bitboards.bit(1, 0) | Bitboards.bit(2, 0) | Bitboards.bit(3, 0);
+    assertEquals(expected, board.attacks(rook));
+
+    ChessPiece bishop = board.pieceAt(3, 0);
+    expected = Bitboards.bit(4, 1) | Bitboards.bit(5, 2) | Bitboards.bit(6, 3)
+        | Bitboards.bit(7, 4) | Bitboards.bit(2, 1) | Bitboards.bit(1, 2) | Bitboards.bit(0, 3);
+    assertEquals(expected, board.attacks(bishop));
+  }
+
+  /**
+   * Tests the squares attacked by all the pieces of one color together.
+   */
+  @Test
+  public void testAttacksBy() {
+    Board board = new Board();
+    ChessPiece knight = new Knight(0, 1, Color.WHITE);
+    ChessPiece queen = new Queen(7, 3, Color.WHITE);
+    board.add(knight);
+    board.add(queen);
+    board.add(new Rook(7, 7, Color.BLACK));
+
+    assertEquals(board.attacks(knight) | board.attacks(queen), board.attacksBy(Color.WHITE));
+    long expected = 0;
+    for (int i = 0; i < 7; i++) {
+      expected |= Bitboards.bit(i, 7);
+    }
+    for (int col = 3; col < 7; col++) {
+      expected |= Bitboards.bit(7, col);
+    }
+    assertEquals(expected, board.attacksBy(Color.BLACK));
+  }
+}
@@ -0,0 +1,198 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the memory-mapped FEN and EPD reader.
+ */
+public class FenReaderTest {
+  private static final String[] FENS = {
+      "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+      "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+      "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 b - -",
+      "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - bm Nxf2; id \"test\";"
+  };
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path write(String text) throws IOException {
+    Path path = this.folder.newFile().toPath();
+    Files.write(path, text.getBytes(StandardCharsets.US_ASCII));
+    return path;
+  }
+
+  // Describes the buffer's position in FEN, without the last three fields.
+  private static String describe(PieceBuffer buffer) {
+    char[][] board = new char[8][8];
+    for (int i = 0; i < buffer.size(); i++) {
+      ChessPiece piece = buffer.get(i);
+      board[piece.getRow()][piece.getColumn()] =
+          Fen.letterOf(PieceType.of(piece), piece.getColor());
+    }
+    StringBuilder out = new StringBuilder();
+    for (int row = 7; row >= 0; row--) {
+      int empty = 0;
+      for (int col = 0; col < 8; col++) {
+        if (board[row][col] == 0) {
+          empty++;
+          continue;
+        }
+        if (empty > 0) {
+          out.append(empty);
+          empty = 0;
+        }
+        out.append(board[row][col]);
+      }
+      if (empty > 0) {
+        out.append(empty);
+      }
+      out.append(row > 0 ? "/" : "");
+    }
+    return out.append(buffer.sideToMove() == Color.WHITE ? " w" : " b").toString();
+  }
+
+  private static String prefix(String fen) {
+    String[] fields = fen.split(" ");
+    return fields[0] + " " + fields[1];
+  }
+
+  private static List<String> readAll(FenReader reader) throws IOException {
+    List<String> read = new ArrayList<>();
+    PieceBuffer buffer = new PieceBuffer();
+    while (reader.read(buffer)) {
+      read.add(describe(buffer));
+    }
+    return read;
+  }
+
+  /**
+   * Tests reading FEN and EPD lines, with blank lines and both kinds of line ends.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Test
+  public void testReadsPositions() throws IOException {
+    Path path = write(FENS[0] + "\n\n" + FENS[1] + "\r\n" + FENS[2] + "\n" + FENS[3]);
+    try (FenReader reader = FenReader.open(path)) {
+      List<String> read = readAll(reader);
+      assertEquals(FENS.length, read.size());
+      for (int i = 0; i < FENS.length; i++) {
+        assertEquals(prefix(FENS[i]), read.get(i));
+      }
+    }
+  }
+
+  /**
+   * Tests that the buffer reuses its piece objects from one position to the next.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Test
+  public void testReusesPieces() throws IOException {
+    Path path = write(FENS[0] + "\n" + FENS[0] + "\n");
+    try (FenReader reader = FenReader.open(path)) {
+      PieceBuffer buffer = new PieceBuffer();
+      assertTrue(reader.read(buffer));
+      List<ChessPiece> first = new ArrayList<>();
+      for (int i = 0; i < buffer.size(); i++) {
+        first.add(buffer.get(i));
+      }
+      assertTrue(reader.read(buffer));
+      for (int i = 0; i < buffer.size(); i++) {
+        assertSame(first.get(i), buffer.get(i));
+      }
+      assertFalse(reader.read(buffer));
+    }
+  }
+
+  /**
+   * Tests that readers over adjacent byte ranges, split at every possible point, read each
+   * line exactly once between them, with windows small enough to be remapped.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Test
+  public void testRangesCoverEveryLineOnce() throws IOException {
+    StringBuilder text = new StringBuilder();
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      text.append(FENS[i % FENS.length]).append('\n');
+      expected.add(prefix(FENS[i % FENS.length]));
+    }
+    Path path = write(text.toString());
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      for (long split = 1; split < size; split += 97) {
+        List<String> read = readAll(new FenReader(channel, 0, split, 0));
+        read.addAll(readAll(new FenReader(channel, split, size, 0)));
+        assertEquals(expected, read);
+      }
+    }
+  }
+
+  /**
+   * Tests that invalid lines are reported with their place in the file.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  @Test
+  public void testInvalidLines() throws IOException {
+    String[] lines = {
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1",
+        "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNX w KQkq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR wb KQkq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR"
+    };
+    for (String line : lines) {
+      try (FenReader reader = FenReader.open(write(FENS[0] + "\n" + line + "\n"))) {
+        PieceBuffer buffer = new PieceBuffer();
+        assertTrue(reader.read(buffer));
+        reader.read(buffer);
+        fail("Did not throw an exception for " + line);
+      } catch (IOException e) {
+        assertEquals("Invalid position at byte " + (FENS[0].length() + 1), e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Tests that empty files and empty ranges hold no positions.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Test
+  public void testEmpty() throws IOException {
+    try (FenReader reader = FenReader.open(write(""))) {
+      assertFalse(reader.read(new PieceBuffer()));
+    }
+    Path path = write(FENS[0] + "\n");
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      assertFalse(new FenReader(channel, 5, 10).read(new PieceBuffer()));
+      assertFalse(new FenReader(channel, 1000, 2000).read(new PieceBuffer()));
+      try {
+        new FenReader(channel, 10, 10);
+        fail("Did not throw an exception for an empty range");
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+  }
+}
@@ -0,0 +1,37 @@
+/**
+ * Tests for the King chess piece implementation.
+ */
+public class KingTest extends AbstractChessPieceTest {
+  /**
+   * Creates a new King piece with the given position and color.
+   *
+   * @param row the row position
+   * @param col the column position
+   * @param color the piece color
+   * @return a new King instance
+   */
+  @Override
+  protected ChessPiece createPiece(int row, int col, Color color) {
+    return new King(row, col, color);
+  }
+
+  /**
+   * Marks the squares next to the king, in every direction, as valid moves.
+   *
+   * @param row the current row position of the king
+   * @param col the current column position of the king
+   */
+  @Override
+  protected void setupResults(int row, int col) {
+    for (int rowStep = -1; rowStep <= 1; rowStep++) {
+      for (int colStep = -1; colStep <= 1; colStep++) {
+        int newRow = row + rowStep;
+        int newCol = col + colStep;
+        if ((rowStep != 0 || colStep != 0)
+            && newRow >= 0 && newRow < 8 && newCol >= 0 && newCol < 8) {
+          results[newRow][newCol] = true;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,111 @@
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for generating pseudo-legal and legal moves.
+ */
+public class MoveGeneratorTest {
+
+  private static Set<String> legalMoves(String fen) {
+    int[] moves = new int[MoveGenerator.MAX_MOVES];
+    int count = MoveGenerator.generateLegal(Position.fromFen(fen), moves, 0);
+    Set<String> names = new HashSet<>();
+    for (int i = 0; i < count; i++) {
+      names.add(Move.toString(moves[i]));
+    }
+    assertEquals(count, names.size());
+    return names;
+  }
+
+  /**
+   * Tests the twenty moves of the starting position.
+   */
+  @Test
+  public void testStartPosition() {
+    Set<String> expected = new HashSet<>(Arrays.asList(
+        "a2a3", "a2a4", "b2b3", "b2b4", "c2c3", "c2c4", "d2d3", "d2d4",
+        "e2e3", "e2e4", "f2f3", "f2f4", "g2g3", "g2g4", "h2h3", "h2h4",
+        "b1a3", "b1c3", "g1f3", "g1h3"));
+    assertEquals(expected, legalMoves(Fen.START));
+  }
+
+  /**
+   * Tests that moves leaving the king attacked are left out, including those of a piece
+   * pinned to it.
+   */
+  @Test
+  public void testLegalMovesKeepKingSafe() {
+    // The knight is pinned to the king by the rook, so only the king can move.
+    assertEquals(new HashSet<>(Arrays.asList("e1d1", "e1d2", "e1f1", "e1f2")),
+        legalMoves("4r1k1/8/8/8/8/8/4N3/4K3 w - - 0 1"));
+
+    int[] moves = new int[MoveGenerator.MAX_MOVES];
+    Position position = Position.fromFen("4r1k1/8/8/8/8/8/4N3/4K3 w - - 0 1");
+    assertEquals(10, MoveGenerator.generatePseudoLegal(position, moves, 0));
+  }
+
+  /**
+   * Tests that castling needs empty squares between king and rook and a king that is not in
+   * check and does not pass over an attacked square.
+   */
+  @Test
+  public void testCastling() {
+    Set<String> moves = legalMoves("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+    assertEquals(true, moves.contains("e1g1"));
+    assertEquals(true, moves.contains("e1c1"));
+
+    moves = legalMoves("r3k2r/8/8/8/8/8/8/RN2K1NR w KQkq - 0 1");
+    assertEquals(false, moves.contains("e1g1"));
+    assertEquals(false, moves.contains("e1c1"));
+
+    moves = legalMoves("r3k2r/8/8/8/8/8/8/R3K2R b KQkq - 0 1");
+    assertEquals(true, moves.contains("e8g8"));
+    assertEquals(true, moves.contains("e8c8"));
+
+    // The bishop attacks f1, which the king would pass over, but not b1, which only the
+    // rook passes over.
+    moves = legalMoves("4k3/8/8/8/8/8/6b1/R3K2R w KQ - 0 1");
+    assertEquals(false, moves.contains("e1g1"));
+    assertEquals(true, moves.contains("e1c1"));
+
+    moves = legalMoves("4k3/8/8/8/8/8/8/R3K2r w Q - 0 1");
+    assertEquals(false, moves.contains("e1c1"));
+  }
+
+  /**
+   * Tests en passant kills and all four promotions.
+   */
+  @Test
+  public void testPawnSpecialMoves() {
+    Set<String> moves = legalMoves("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1");
+    assertEquals(true, moves.contains("e5d6"));
+    assertEquals(true, moves.contains("e5e6"));
+
+    moves = legalMoves("4k3/8/8/8/8/8/p7/4K3 b - - 0 1");
+    assertEquals(true, moves.containsAll(Arrays.asList("a2a1q", "a2a1r", "a2a1b", "a2a1n")));
+    assertEquals(false, moves.contains("a2a1"));
+
+    // Killing en passant would leave the white king open along the row.
+    moves = legalMoves("8/8/8/K2pP2r/8/8/8/4k3 w - d6 0 1");
+    assertEquals(false, moves.contains("e5d6"));
+  }
+
+  /**
+   * Tests that moves are written from the offset and the position is left unchanged.
+   */
+  @Test
+  public void testOffsetAndPositionUnchanged() {
+    Position position = Position.start();
+    int[] moves = new int[10 + MoveGenerator.MAX_MOVES];
+    assertEquals(20, MoveGenerator.generateLegal(position, moves, 10));
+    for (int i = 0; i < 10; i++) {
+      assertEquals(0, moves[i]);
+    }
+    assertEquals(Fen.START, position.toFen());
+  }
+}
@@ -0,0 +1,79 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the precomputed move masks behind {@link ChessPiece#canMove(int, int)}.
+ */
+public class MoveMasksTest {
+
+  /**
+   * Tests the masks against the movement rules of each piece, including for pieces placed
+   * off the board.
+   */
+  @Test
+  public void testMasksFollowMovementRules() {
+    for (int row = 0; row < 12; row++) {
+      for (int col = 0; col < 12; col++) {
+        long knight = 0;
+        long bishop = 0;
+        long rook = 0;
+        long king = 0;
+        long whiteKills = 0;
+        long blackKills = 0;
+        for (int square = 0; square < 64; square++) {
+          int rowDiff = Math.abs(row - square / 8);
+          int colDiff = Math.abs(col - square % 8);
+          if ((rowDiff == 2 && colDiff == 1) || (rowDiff == 1 && colDiff == 2)) {
+            knight |= 1L << square;
+          }
+          if (rowDiff == colDiff) {
+            bishop |= 1L << square;
+          }
+          if (rowDiff == 0 || colDiff == 0) {
+            rook |= 1L << square;
+          }
+          if (rowDiff <= 1 && colDiff <= 1 && rowDiff + colDiff > 0) {
+            king |= 1L << square;
+          }
+          if (colDiff == 1 && square / 8 == row + 1) {
+            whiteKills |= 1L << square;
+          }
+          if (colDiff == 1 && square / 8 == row - 1) {
+            blackKills |= 1L << square;
+          }
+        }
+        assertEquals(knight, new Knight(row, col, Color.WHITE).movesMask());
+        assertEquals(bishop, new Bishop(row, col, Color.WHITE).movesMask());
+        assertEquals(rook, new Rook(row, col, Color.WHITE).movesMask());
+        assertEquals(bishop | rook, new Queen(row, col, Color.WHITE).movesMask());
+        assertEquals(king, new King(row, col, Color.WHITE).movesMask());
+        assertEquals(whiteKills, new Pawn(row, col, Color.WHITE).killsMask());
+        assertEquals(blackKills, new Pawn(row, col, Color.BLACK).killsMask());
+      }
+    }
+  }
+
+  /**
+   * Tests that canMove agrees with the mask and rejects positions off the board.
+   */
+  @Test
+  public void testCanMoveTestsMaskBit() {
+    ChessPiece rook = new Rook(10, 3, Color.BLACK);
+    assertTrue(rook.canMove(0, 3));
+    assertTrue(rook.canMove(7, 3));
+    assertFalse(rook.canMove(7, 4));
+    assertFalse(rook.canMove(10, 3));
+    assertFalse(rook.canMove(-1, 3));
+    assertFalse(rook.canMove(3, Integer.MIN_VALUE));
+
+    ChessPiece queen = new Queen(2, 5, Color.WHITE);
+    for (int row = 0; row < 8; row++) {
+      for (int col = 0; col < 8; col++) {
+        assertEquals((queen.movesMask() >>> (row * 8 + col) & 1) == 1, queen.canMove(row, col));
+      }
+    }
+  }
+}
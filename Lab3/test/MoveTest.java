@@ -0,0 +1,46 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for the int encoding of moves.
+ */
+public class MoveTest {
+
+  /**
+   * Tests that every part of a move comes back out of its encoding.
+   */
+  @Test
+  public void testEncoding() {
+    for (int from = 0; from < 64; from++) {
+      for (int to = 0; to < 64; to++) {
+        for (int flag = Move.NORMAL; flag <= Move.CASTLE; flag++) {
+          int move = Move.of(from, to, flag);
+          assertEquals(from, Move.from(move));
+          assertEquals(to, Move.to(move));
+          assertEquals(flag, Move.flag(move));
+          assertNull(Move.promotion(move));
+        }
+        for (PieceType type : PieceType.values()) {
+          int move = Move.promotion(from, to, type);
+          assertEquals(from, Move.from(move));
+          assertEquals(to, Move.to(move));
+          assertEquals(Move.NORMAL, Move.flag(move));
+          assertEquals(type, Move.promotion(move));
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests the coordinate notation of moves.
+   */
+  @Test
+  public void testToString() {
+    assertEquals("e2e4", Move.toString(Move.of(12, 28, Move.DOUBLE_STEP)));
+    assertEquals("a1h8", Move.toString(Move.of(0, 63, Move.NORMAL)));
+    assertEquals("e7e8q", Move.toString(Move.promotion(52, 60, PieceType.QUEEN)));
+    assertEquals("b2a1n", Move.toString(Move.promotion(9, 0, PieceType.KNIGHT)));
+  }
+}
@@ -0,0 +1,62 @@
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for boards of packed pieces.
+ */
+public class PackedBoardTest {
+
+  /**
+   * Tests packing pieces and getting them back.
+   */
+  @Test
+  public void testOfAndToPieces() {
+    List<ChessPiece> pieces = Position.fromFen(
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1").pieces();
+    PackedBoard board = PackedBoard.of(pieces);
+    assertEquals(pieces.size(), board.size());
+    List<ChessPiece> unpacked = board.toPieces();
+    for (int i = 0; i < pieces.size(); i++) {
+      assertEquals(PackedPiece.of(pieces.get(i)), board.get(i));
+      assertEquals(pieces.get(i).getClass(), unpacked.get(i).getClass());
+      assertEquals(pieces.get(i).getRow(), unpacked.get(i).getRow());
+      assertEquals(pieces.get(i).getColumn(), unpacked.get(i).getColumn());
+      assertEquals(pieces.get(i).getColor(), unpacked.get(i).getColor());
+    }
+    assertEquals(ThreatMap.of(pieces).pairCount(), board.killPairs());
+
+    board.clear();
+    assertEquals(0, board.size());
+    assertEquals(0, board.killPairs());
+  }
+
+  /**
+   * Tests growing past 32 pieces and rejecting bad values and indices.
+   */
+  @Test
+  public void testGrowthAndInvalid() {
+    PackedBoard board = new PackedBoard();
+    for (int square = 0; square < 64; square++) {
+      board.add(PackedPiece.of(PieceType.KNIGHT, Color.values()[square & 1], square / 8,
+          square % 8));
+    }
+    assertEquals(64, board.size());
+    assertEquals(63, PackedPiece.square(board.get(63)));
+    try {
+      board.get(64);
+      fail("Did not throw an exception for a missing piece");
+    } catch (IndexOutOfBoundsException e) {
+      //passes
+    }
+    try {
+      board.add((short) 1000);
+      fail("Did not throw an exception for a value that is not a packed piece");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+  }
+}
@@ -0,0 +1,103 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for pieces packed into shorts.
+ */
+public class PackedPieceTest {
+
+  /**
+   * Tests that every piece packs and unpacks to itself.
+   */
+  @Test
+  public void testRoundTrip() {
+    for (PieceType type : PieceType.values()) {
+      for (Color color : Color.values()) {
+        for (int row = 0; row < 8; row++) {
+          for (int col = 0; col < 8; col++) {
+            short packed = PackedPiece.of(type, color, row, col);
+            assertTrue(packed >= 0 && packed < 768);
+            assertEquals(type, PackedPiece.type(packed));
+            assertEquals(color, PackedPiece.color(packed));
+            assertEquals(row, PackedPiece.row(packed));
+            assertEquals(col, PackedPiece.col(packed));
+            assertEquals(row * 8 + col, PackedPiece.square(packed));
+
+            ChessPiece piece = PackedPiece.toPiece(packed);
+            assertEquals(type, PieceType.of(piece));
+            assertEquals(color, piece.getColor());
+            assertEquals(row, piece.getRow());
+            assertEquals(col, piece.getColumn());
+            assertEquals(packed, PackedPiece.of(piece));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests that canMove and canKill agree with the piece objects for every pair of pieces.
+   */
+  @Test
+  public void testAgreesWithPieces() {
+    for (short attacker = 0; attacker < 768; attacker++) {
+      ChessPiece piece = PackedPiece.toPiece(attacker);
+      assertEquals(piece.movesMask(), PackedPiece.movesMask(attacker));
+      assertEquals(piece.killsMask(), PackedPiece.killsMask(attacker));
+      for (int row = -1; row <= 8; row++) {
+        for (int col = -1; col <= 8; col++) {
+          assertEquals(piece.canMove(row, col), PackedPiece.canMove(attacker, row, col));
+        }
+      }
+      for (short victim = 0; victim < 768; victim += 5) {
+        assertEquals(piece.canKill(PackedPiece.toPiece(victim)),
+            PackedPiece.canKill(attacker, victim));
+      }
+    }
+  }
+
+  /**
+   * Tests a few kills by hand, pawns included.
+   */
+  @Test
+  public void testKills() {
+    short rook = PackedPiece.of(PieceType.ROOK, Color.WHITE, 0, 0);
+    assertTrue(PackedPiece.canKill(rook, PackedPiece.of(PieceType.KING, Color.BLACK, 7, 0)));
+    assertFalse(PackedPiece.canKill(rook, PackedPiece.of(PieceType.KING, Color.WHITE, 7, 0)));
+    short pawn = PackedPiece.of(PieceType.PAWN, Color.BLACK, 6, 3);
+    assertTrue(PackedPiece.canMove(pawn, 4, 3));
+    assertFalse(PackedPiece.canKill(pawn, PackedPiece.of(PieceType.PAWN, Color.WHITE, 5, 3)));
+    assertTrue(PackedPiece.canKill(pawn, PackedPiece.of(PieceType.PAWN, Color.WHITE, 5, 4)));
+  }
+
+  /**
+   * Tests that pieces off the board and values that are not packed pieces are rejected.
+   */
+  @Test
+  public void testInvalid() {
+    try {
+      PackedPiece.of(PieceType.QUEEN, Color.WHITE, 8, 0);
+      fail("Did not throw an exception for a piece off the board");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    try {
+      PackedPiece.of(new Rook(3, 9, Color.BLACK));
+      fail("Did not throw an exception for a piece off the board");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    for (short value : new short[] {-1, 768, Short.MAX_VALUE}) {
+      try {
+        PackedPiece.toPiece(value);
+        fail("Did not throw an exception for " + value);
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+  }
+}
@@ -0,0 +1,78 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the Pawn chess piece implementation.
+ */
+public class PawnTest extends AbstractChessPieceTest {
+  /**
+   * Creates a new Pawn piece with the given position and color.
+   *
+   * @param row the row position
+   * @param col the column position
+   * @param color the piece color
+   * @return a new Pawn instance
+   */
+  @Override
+  protected ChessPiece createPiece(int row, int col, Color color) {
+    return new Pawn(row, col, color);
+  }
+
+  /**
+   * Marks the moves of a black pawn, the color the movement test uses: one row down, or two
+   * from row 6.
+   *
+   * @param row the current row position of the pawn
+   * @param col the current column position of the pawn
+   */
+  @Override
+  protected void setupResults(int row, int col) {
+    if (row >= 1) {
+      results[row - 1][col] = true;
+    }
+    if (row == 6) {
+      results[4][col] = true;
+    }
+  }
+
+  /**
+   * Marks the squares one row forward and one column to either side.
+   *
+   * @param row the current row position of the pawn
+   * @param col the current column position of the pawn
+   * @param color the color of the pawn
+   */
+  @Override
+  protected void setupKillResults(int row, int col, Color color) {
+    int newRow = color == Color.WHITE ? row + 1 : row - 1;
+    if (newRow < 0 || newRow >= 8) {
+      return;
+    }
+    if (col >= 1) {
+      results[newRow][col - 1] = true;
+    }
+    if (col < 7) {
+      results[newRow][col + 1] = true;
+    }
+  }
+
+  /**
+   * Tests that white pawns move towards higher rows, two squares only from row 1.
+   */
+  @Test
+  public void testWhitePawnMoves() {
+    ChessPiece start = new Pawn(1, 4, Color.WHITE);
+    assertTrue(start.canMove(2, 4));
+    assertTrue(start.canMove(3, 4));
+    assertFalse(start.canMove(0, 4));
+    assertFalse(start.canMove(2, 5));
+
+    ChessPiece moved = new Pawn(2, 4, Color.WHITE);
+    assertTrue(moved.canMove(3, 4));
+    assertFalse(moved.canMove(4, 4));
+
+    assertFalse(new Pawn(7, 4, Color.WHITE).canMove(8, 4));
+  }
+}
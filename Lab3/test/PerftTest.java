@@ -0,0 +1,73 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the move generator against the published perft counts of well-known positions.
+ */
+public class PerftTest {
+
+  private static void assertPerft(String fen, long... expected) {
+    Position position = Position.fromFen(fen);
+    for (int depth = 1; depth <= expected.length; depth++) {
+      assertEquals(fen + " at depth " + depth, expected[depth - 1],
+          Perft.perft(position, depth));
+      assertEquals(fen, position.toFen());
+    }
+  }
+
+  /**
+   * Tests the starting position.
+   */
+  @Test
+  public void testStartPosition() {
+    assertPerft(Fen.START, 20, 400, 8902, 197281);
+    assertEquals(1, Perft.perft(Position.start(), 0));
+  }
+
+  /**
+   * Tests a position rich in castling, en passant, promotions and pins.
+   */
+  @Test
+  public void testKiwipete() {
+    assertPerft("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        48, 2039, 97862);
+  }
+
+  /**
+   * Tests an endgame with en passant pins along the rows.
+   */
+  @Test
+  public void testRookEndgame() {
+    assertPerft("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191, 2812, 43238);
+  }
+
+  /**
+   * Tests a position with promotions that kill and black castling rights only.
+   */
+  @Test
+  public void testPromotions() {
+    assertPerft("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+        6, 264, 9467);
+    assertPerft("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44, 1486, 62379);
+  }
+
+  /**
+   * Tests the per-move breakdown.
+   */
+  @Test
+  public void testDivide() {
+    String divide = Perft.divide(Position.start(), 2);
+    assertEquals(20, divide.split("\n").length);
+    assertEquals(true, divide.contains("e2e4: 20\n"));
+    assertEquals(true, divide.contains("g1f3: 20\n"));
+  }
+
+  /**
+   * Tests that a negative depth is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDepth() {
+    Perft.perft(Position.start(), -1);
+  }
+}
@@ -0,0 +1,64 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the reusable buffer of pieces.
+ */
+public class PieceBufferTest {
+
+  /**
+   * Tests that pieces come back in order, with their kind, position and color.
+   */
+  @Test
+  public void testAddAndGet() {
+    PieceBuffer buffer = new PieceBuffer();
+    assertEquals(0, buffer.size());
+    buffer.add(PieceType.KING, 0, 4, Color.WHITE);
+    buffer.add(PieceType.PAWN, 6, 3, Color.BLACK);
+    buffer.setSideToMove(Color.BLACK);
+
+    assertEquals(2, buffer.size());
+    assertEquals(Color.BLACK, buffer.sideToMove());
+    assertTrue(buffer.get(0) instanceof King);
+    assertEquals(4, buffer.get(0).getColumn());
+    assertTrue(buffer.get(1) instanceof Pawn);
+    assertEquals(6, buffer.get(1).getRow());
+    assertEquals(Color.BLACK, buffer.get(1).getColor());
+    assertTrue(buffer.get(1).canMove(4, 3));
+
+    try {
+      buffer.get(2);
+      fail("Did not throw an exception for a missing piece");
+    } catch (IndexOutOfBoundsException e) {
+      //passes
+    }
+  }
+
+  /**
+   * Tests that clearing the buffer hands out the same objects again, and that more pieces
+   * of one kind than it started with are made as needed.
+   */
+  @Test
+  public void testReuseAndGrowth() {
+    PieceBuffer buffer = new PieceBuffer();
+    for (int i = 0; i < 40; i++) {
+      buffer.add(PieceType.QUEEN, i / 8, i % 8, Color.WHITE);
+    }
+    ChessPiece last = buffer.get(39);
+    ChessPiece first = buffer.get(0);
+
+    buffer.clear();
+    assertEquals(0, buffer.size());
+    buffer.add(PieceType.QUEEN, 7, 7, Color.BLACK);
+    buffer.add(PieceType.ROOK, 7, 6, Color.BLACK);
+    assertSame(first, buffer.get(0));
+    assertEquals(7, first.getRow());
+    assertEquals(Color.BLACK, first.getColor());
+    assertNotSame(last, buffer.get(1));
+  }
+}
@@ -0,0 +1,177 @@
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for chess positions and playing moves on them.
+ */
+public class PositionTest {
+  private static final String KIWIPETE =
+      "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+  /**
+   * Tests that FEN read into a position comes back out unchanged.
+   */
+  @Test
+  public void testFenRoundTrip() {
+    String[] fens = {
+        Fen.START,
+        KIWIPETE,
+        "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+        "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 12 40"
+    };
+    for (String fen : fens) {
+      assertEquals(fen, Position.fromFen(fen).toFen());
+    }
+    assertEquals(Fen.START, Position.start().toFen());
+    assertEquals("8/8/8/8/8/8/8/K6k b - - 0 1", Position.fromFen("8/8/8/8/8/8/8/K6k b - -")
+        .toFen());
+  }
+
+  /**
+   * Tests that castling rights the pieces no longer allow are dropped.
+   */
+  @Test
+  public void testUnusableCastlingRightsDropped() {
+    assertEquals("4k3/8/8/8/8/8/8/R3K3 w Q - 0 1",
+        Position.fromFen("4k3/8/8/8/8/8/8/R3K3 w KQkq - 0 1").toFen());
+  }
+
+  /**
+   * Tests that malformed FEN and impossible positions are rejected.
+   */
+  @Test
+  public void testInvalidFen() {
+    String[] fens = {
+        "",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1",
+        "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNRR w KQkq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNX w KQkq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQxq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e4 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - x 1",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 0",
+        "8/8/8/8/8/8/8/K7 w - - 0 1",
+        "k7/8/8/8/8/8/8/KK6 w - - 0 1",
+        "k6P/8/8/8/8/8/8/K7 w - - 0 1"
+    };
+    for (String fen : fens) {
+      try {
+        Position.fromFen(fen);
+        fail("Did not throw an exception for " + fen);
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+  }
+
+  /**
+   * Tests building a position from pieces and listing them back.
+   */
+  @Test
+  public void testOfAndPieces() {
+    List<ChessPiece> pieces = Arrays.asList(new King(0, 4, Color.WHITE),
+        new Pawn(1, 4, Color.WHITE), new Knight(5, 2, Color.BLACK), new King(7, 4, Color.BLACK));
+    Position position = Position.of(pieces, Color.BLACK);
+    assertEquals("4k3/8/2n5/8/8/8/4P3/4K3 b - - 0 1", position.toFen());
+    assertEquals(Color.BLACK, position.sideToMove());
+
+    List<ChessPiece> listed = position.pieces();
+    assertEquals(4, listed.size());
+    for (int i = 0; i < pieces.size(); i++) {
+      assertEquals(pieces.get(i).getClass(), listed.get(i).getClass());
+      assertEquals(pieces.get(i).getRow(), listed.get(i).getRow());
+      assertEquals(pieces.get(i).getColumn(), listed.get(i).getColumn());
+      assertEquals(pieces.get(i).getColor(), listed.get(i).getColor());
+    }
+
+    try {
+      Position.of(Arrays.asList(new King(0, 4, Color.WHITE), new King(0, 4, Color.BLACK)),
+          Color.WHITE);
+      fail("Did not throw an exception for two pieces on one square");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    try {
+      Position.of(Arrays.asList(new King(0, 4, Color.WHITE)), Color.WHITE);
+      fail("Did not throw an exception for a missing king");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+  }
+
+  /**
+   * Tests that playing and taking back every move, special moves included, restores the
+   * position exactly.
+   */
+  @Test
+  public void testMakeAndUnmakeRestorePosition() {
+    String[] fens = {
+        Fen.START,
+        KIWIPETE,
+        "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+        "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"
+    };
+    int[] moves = new int[MoveGenerator.MAX_MOVES];
+    for (String fen : fens) {
+      Position position = Position.fromFen(fen);
+      int count = MoveGenerator.generatePseudoLegal(position, moves, 0);
+      for (int i = 0; i < count; i++) {
+        position.makeMove(moves[i]);
+        position.unmakeMove(moves[i]);
+        assertEquals(fen, position.toFen());
+      }
+    }
+  }
+
+  /**
+   * Tests the board, rights and counters after special moves.
+   */
+  @Test
+  public void testSpecialMoves() {
+    Position position = Position.fromFen(KIWIPETE);
+    position.makeMove(Move.of(4, 6, Move.CASTLE));
+    assertEquals("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R4RK1 b kq - 1 1",
+        position.toFen());
+    position.makeMove(Move.of(63, 61, Move.NORMAL));
+    assertEquals("r3kr2/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R4RK1 w q - 2 2",
+        position.toFen());
+
+    position = Position.fromFen("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+    position.makeMove(Move.of(36, 45, Move.EN_PASSANT));
+    assertEquals("rnbqkbnr/ppp1p1pp/5P2/3p4/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 3",
+        position.toFen());
+
+    position = Position.fromFen("4k3/1P6/8/8/8/8/8/4K3 w - - 5 9");
+    position.makeMove(Move.promotion(49, 57, PieceType.KNIGHT));
+    assertEquals("1N2k3/8/8/8/8/8/8/4K3 b - - 0 9", position.toFen());
+  }
+
+  /**
+   * Tests detecting check.
+   */
+  @Test
+  public void testInCheck() {
+    assertFalse(Position.start().inCheck());
+    assertTrue(Position.fromFen("4k3/8/8/8/8/8/8/4K2r w - - 0 1").inCheck());
+    assertFalse(Position.fromFen("4k3/8/8/8/8/8/8/4KN1r w - - 0 1").inCheck());
+    assertTrue(Position.fromFen("4k3/8/8/8/8/8/3p4/4K3 w - - 0 1").inCheck());
+    assertFalse(Position.fromFen("4k3/8/8/8/8/3p4/8/4K3 w - - 0 1").inCheck());
+  }
+
+  /**
+   * Tests that taking back a move requires one to have been played.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testUnmakeWithoutMove() {
+    Position.start().unmakeMove(Move.of(12, 28, Move.DOUBLE_STEP));
+  }
+}
@@ -0,0 +1,160 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the alpha-beta search.
+ */
+public class SearchTest {
+
+  private static Search.Result search(String fen, int depth, int threads) {
+    try (Search search = new Search(threads, new TranspositionTable(1 << 16))) {
+      Position position = Position.fromFen(fen);
+      Search.Result result = search.search(position, depth);
+      assertEquals(fen, position.toFen());
+      return result;
+    }
+  }
+
+  /**
+   * Tests that a mate is found, with every thread count.
+   */
+  @Test
+  public void testFindsMate() {
+    for (int threads = 1; threads <= 4; threads++) {
+      Search.Result result = search("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", 4, threads);
+      assertEquals("a1a8", Move.toString(result.move()));
+      assertEquals(Search.MATE - 1, result.score());
+      assertEquals(4, result.depth());
+    }
+    // Mate in two moves: the rook cuts off the king, then the other rook mates.
+    Search.Result result = search("7k/8/8/8/8/8/R7/1R4K1 w - - 0 1", 4, 2);
+    assertEquals(Search.MATE - 3, result.score());
+  }
+
+  /**
+   * Tests that a free queen is taken and a defended knight is left alone.
+   */
+  @Test
+  public void testWinsMaterial() {
+    Search.Result result = search("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1", 3, 1);
+    assertEquals("d2d5", Move.toString(result.move()));
+    assertEquals(500, result.score());
+
+    result = search("4k3/2p5/3n4/8/8/8/8/3RK3 w - - 0 1", 3, 1);
+    assertEquals(80, result.score());
+    assertNotEquals("d1d6", Move.toString(result.move()));
+  }
+
+  /**
+   * Tests positions without legal moves.
+   */
+  @Test
+  public void testNoLegalMoves() {
+    Search.Result mated = search("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1", 3, 1);
+    assertEquals(0, mated.move());
+    assertEquals(-Search.MATE, mated.score());
+
+    Search.Result stalemate = search("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1", 3, 1);
+    assertEquals(0, stalemate.move());
+    assertEquals(0, stalemate.score());
+  }
+
+  /**
+   * Tests searching a board of pieces and the reported counts.
+   */
+  @Test
+  public void testSearchPieces() {
+    try (Search search = new Search(2)) {
+      assertEquals(2, search.threads());
+      Search.Result result = search.search(Arrays.asList(new King(0, 4, Color.WHITE),
+          new Rook(1, 0, Color.WHITE), new Knight(6, 0, Color.BLACK),
+          new King(7, 4, Color.BLACK)), Color.WHITE, 3);
+      assertEquals("a2a7", Move.toString(result.move()));
+      assertEquals(3, result.depth());
+      assertTrue(result.nodes() > 0);
+      assertTrue(result.nodesPerSecond() > 0);
+    }
+  }
+
+  /**
+   * Tests that bad thread counts and depths are rejected.
+   */
+  @Test
+  public void testInvalidArguments() {
+    try {
+      new Search(0);
+      fail("Did not throw an exception for no threads");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+    try (Search search = new Search(1, new TranspositionTable(16))) {
+      for (int depth : new int[] {0, Search.MAX_DEPTH + 1}) {
+        try {
+          search.search(Position.start(), depth);
+          fail("Did not throw an exception for depth " + depth);
+        } catch (IllegalArgumentException e) {
+          //passes
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests the material evaluation.
+   */
+  @Test
+  public void testEvaluate() {
+    assertEquals(0, Search.evaluate(Position.start()));
+    assertEquals(900, Search.evaluate(Position.fromFen("4k3/8/8/8/8/8/8/3QK3 w - - 0 1")));
+    assertEquals(-900, Search.evaluate(Position.fromFen("4k3/8/8/8/8/8/8/3QK3 b - - 0 1")));
+  }
+
+  /**
+   * Tests that kills are ordered most valuable victim first, then least valuable attacker.
+   */
+  @Test
+  public void testMoveOrdering() {
+    // Every kind of white piece can take the queen on d5.
+    Position position = Position.fromFen("7k/8/4K3/3q2Q1/4PN2/8/B7/3R4 w - - 0 1");
+    int[] moves = new int[MoveGenerator.MAX_MOVES];
+    int count = MoveGenerator.generatePseudoLegal(position, moves, 0);
+    List<Integer> kills = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      if (Move.to(moves[i]) == Bitboards.square(4, 3)) {
+        kills.add(moves[i]);
+      }
+    }
+    kills.sort((a, b) -> Integer.compare(Search.orderScore(position, b, 0),
+        Search.orderScore(position, a, 0)));
+    List<String> names = new ArrayList<>();
+    for (int move : kills) {
+      names.add(Move.toString(move));
+    }
+    assertEquals(Arrays.asList("e4d5", "f4d5", "a2d5", "d1d5", "g5d5", "e6d5"), names);
+
+    int quiet = Move.of(Bitboards.square(5, 4), Bitboards.square(6, 4), Move.NORMAL);
+    assertEquals(0, Search.orderScore(position, quiet, 0));
+    assertTrue(Search.orderScore(position, kills.get(kills.size() - 1), 0) > 0);
+    // The move from the table comes before any kill.
+    assertTrue(Search.orderScore(position, quiet, quiet)
+        > Search.orderScore(position, kills.get(0), 0));
+
+    // A more valuable victim comes first whatever the attackers.
+    Position victims = Position.fromFen("k7/8/8/2r1q2Q/3P4/8/8/4K3 w - - 0 1");
+    int queenByQueen = Move.of(Bitboards.square(4, 7), Bitboards.square(4, 4), Move.NORMAL);
+    int rookByPawn = Move.of(Bitboards.square(3, 3), Bitboards.square(4, 2), Move.NORMAL);
+    int queenByPawn = Move.of(Bitboards.square(3, 3), Bitboards.square(4, 4), Move.NORMAL);
+    assertTrue(Search.orderScore(victims, queenByQueen, 0)
+        > Search.orderScore(victims, rookByPawn, 0));
+    assertTrue(Search.orderScore(victims, queenByPawn, 0)
+        > Search.orderScore(victims, queenByQueen, 0));
+  }
+}
@@ -0,0 +1,84 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the parallel canMove and canKill analysis of position files.
+ */
+public class ThreatAnalysisTest {
+  private static final String[] FENS = {
+      "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+      "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+      "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 b - -"
+  };
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Tests that every thread count gives the totals found by asking each piece directly.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Test
+  public void testTotalsMatchDirectQueries() throws IOException {
+    StringBuilder text = new StringBuilder();
+    long moves = 0;
+    long kills = 0;
+    int count = 3000;
+    for (int i = 0; i < count; i++) {
+      String fen = FENS[i % FENS.length];
+      text.append(fen).append('\n');
+      for (ChessPiece piece : Position.fromFen(fen).pieces()) {
+        moves += Long.bitCount(piece.movesMask());
+      }
+      kills += ThreatMap.of(Position.fromFen(fen).pieces()).pairCount();
+    }
+    Path path = this.folder.newFile().toPath();
+    Files.write(path, text.toString().getBytes(StandardCharsets.US_ASCII));
+
+    for (int threads = 1; threads <= 4; threads++) {
+      ThreatAnalysis.Report report = ThreatAnalysis.analyze(path, threads);
+      assertEquals(count, report.positions());
+      assertEquals(moves, report.moves());
+      assertEquals(kills, report.kills());
+      assertTrue(report.positionsPerSecond() > 0);
+    }
+  }
+
+  /**
+   * Tests that an invalid line fails the analysis with an IOException.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  @Test(expected = IOException.class)
+  public void testInvalidLine() throws IOException {
+    Path path = this.folder.newFile().toPath();
+    Files.write(path, (FENS[0] + "\nnot a position\n").getBytes(StandardCharsets.US_ASCII));
+    ThreatAnalysis.analyze(path, 2);
+  }
+
+  /**
+   * Tests that the number of threads must be positive.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Test
+  public void testInvalidThreads() throws IOException {
+    try {
+      ThreatAnalysis.analyze(this.folder.newFile().toPath(), 0);
+      fail("Did not throw an exception for no threads");
+    } catch (IllegalArgumentException e) {
+      //passes
+    }
+  }
+}
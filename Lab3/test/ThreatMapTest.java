@@ -0,0 +1,100 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the threat map over many chess pieces.
+ */
+public class ThreatMapTest {
+
+  /**
+   * Tests a small position by hand, including two pieces on one square.
+   */
+  @Test
+  public void testSmallPosition() {
+    ChessPiece rook = new Rook(0, 0, Color.WHITE);
+    ChessPiece bishop = new Bishop(0, 5, Color.BLACK);
+    ChessPiece knight = new Knight(2, 1, Color.BLACK);
+    ChessPiece queen = new Queen(0, 5, Color.BLACK);
+    ThreatMap map = ThreatMap.of(Arrays.asList(rook, bishop, knight, queen));
+
+    assertEquals(Arrays.asList(bishop, queen), map.victimsOf(0));
+    assertEquals(Arrays.asList(), map.victimsOf(1));
+    assertEquals(Arrays.asList(rook), map.victimsOf(2));
+    assertEquals(Arrays.asList(rook), map.victimsOf(3));
+    assertEquals(4, map.pairCount());
+    assertTrue(map.threatens(0, 3));
+    assertFalse(map.threatens(3, 1));
+    assertTrue(map.isThreatened(0));
+    assertFalse(map.isThreatened(2));
+    try {
+      map.victimsOf(4);
+      fail("Did not throw an exception for an index outside the pieces");
+    } catch (IndexOutOfBoundsException e) {
+      // passes
+    }
+  }
+
+  /**
+   * Tests the map against asking canKill of every pair, on crowded random positions that
+   * put several pieces on a square and some pieces off the board.
+   */
+  @Test
+  public void testMatchesCanKill() {
+    Random random = new Random(3500);
+    List<List<ChessPiece>> positions = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      positions.add(randomPieces(random, 1 + random.nextInt(80)));
+    }
+    List<ThreatMap> maps = ThreatMap.ofAll(positions);
+    assertEquals(positions.size(), maps.size());
+    for (int p = 0; p < positions.size(); p++) {
+      List<ChessPiece> pieces = positions.get(p);
+      ThreatMap map = maps.get(p);
+      assertEquals(pieces, map.pieces());
+      int pairs = 0;
+      for (int a = 0; a < pieces.size(); a++) {
+        for (int v = 0; v < pieces.size(); v++) {
+          boolean kills = pieces.get(a).canKill(pieces.get(v));
+          assertEquals(kills, map.threatens(a, v));
+          if (kills) {
+            pairs++;
+          }
+        }
+      }
+      assertEquals(pairs, map.pairCount());
+    }
+  }
+
+  private static List<ChessPiece> randomPieces(Random random, int count) {
+    List<ChessPiece> pieces = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      int row = random.nextInt(9);
+      int col = random.nextInt(9);
+      Color color = Color.values()[random.nextInt(2)];
+      switch (random.nextInt(4)) {
+        case 0:
+          pieces.add(new Knight(row, col, color));
+          break;
+        case 1:
+          pieces.add(new Bishop(row, col, color));
+          break;
+        case 2:
+          pieces.add(new Rook(row, col, color));
+          break;
+        default:
+          pieces.add(new Queen(row, col, color));
+          break;
+      }
+    }
+    return pieces;
+  }
+}
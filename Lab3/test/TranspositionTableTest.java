@@ -0,0 +1,143 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the lock-free transposition table.
+ */
+public class TranspositionTableTest {
+
+  /**
+   * Tests that stored results come back out whole.
+   */
+  @Test
+  public void testStoreAndProbe() {
+    TranspositionTable table = new TranspositionTable(1024);
+    int move = Move.promotion(52, 60, PieceType.QUEEN) | Move.CASTLE << 15;
+    table.store(42, move, -1234, 17, TranspositionTable.LOWER);
+    long data = table.probe(42);
+    assertEquals(move, TranspositionTable.move(data));
+    assertEquals(-1234, TranspositionTable.score(data));
+    assertEquals(17, TranspositionTable.depth(data));
+    assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+    assertEquals(TranspositionTable.MISS, table.probe(43));
+
+    table.store(42, 0, Short.MAX_VALUE, TranspositionTable.MAX_DEPTH, TranspositionTable.EXACT);
+    data = table.probe(42);
+    assertEquals(0, TranspositionTable.move(data));
+    assertEquals(Short.MAX_VALUE, TranspositionTable.score(data));
+    assertEquals(TranspositionTable.MAX_DEPTH, TranspositionTable.depth(data));
+
+    table.store(0, 0, 0, 0, TranspositionTable.UPPER);
+    assertEquals(TranspositionTable.UPPER, TranspositionTable.bound(table.probe(0)));
+
+    table.clear();
+    assertEquals(TranspositionTable.MISS, table.probe(42));
+  }
+
+  /**
+   * Tests the capacity rounding and rejected values.
+   */
+  @Test
+  public void testLimits() {
+    assertEquals(1024, new TranspositionTable(1500).capacity());
+    assertEquals(2, new TranspositionTable(2).capacity());
+    for (int capacity : new int[] {1, 0, -4, (1 << 29) + 1}) {
+      try {
+        new TranspositionTable(capacity);
+        fail("Did not throw an exception for capacity " + capacity);
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+    TranspositionTable table = new TranspositionTable(16);
+    int[][] bad = {{1 << 18, 0, 0, 1}, {0, 40000, 0, 1}, {0, 0, -1, 1}, {0, 0, 256, 1},
+        {0, 0, 0, 0}, {0, 0, 0, 4}};
+    for (int[] values : bad) {
+      try {
+        table.store(1, values[0], values[1], values[2], values[3]);
+        fail("Did not throw an exception for out of range values");
+      } catch (IllegalArgumentException e) {
+        //passes
+      }
+    }
+  }
+
+  /**
+   * Tests that a full bucket keeps the deeper result, unless it comes from an earlier
+   * search.
+   */
+  @Test
+  public void testReplacement() {
+    // One bucket of two entries, so every key collides.
+    TranspositionTable table = new TranspositionTable(2);
+    table.store(1, 0, 0, 10, TranspositionTable.EXACT);
+    table.store(2, 0, 0, 3, TranspositionTable.EXACT);
+    table.store(3, 0, 0, 5, TranspositionTable.EXACT);
+    assertEquals(10, TranspositionTable.depth(table.probe(1)));
+    assertEquals(TranspositionTable.MISS, table.probe(2));
+    assertEquals(5, TranspositionTable.depth(table.probe(3)));
+
+    // Storing the same position again replaces it even when shallower.
+    table.store(1, 0, 0, 2, TranspositionTable.EXACT);
+    assertEquals(2, TranspositionTable.depth(table.probe(1)));
+    table.store(1, 0, 0, 10, TranspositionTable.EXACT);
+
+    // Once both entries are from an earlier search, new results replace even the deeper one.
+    table.newSearch();
+    table.newSearch();
+    table.store(4, 0, 0, 1, TranspositionTable.EXACT);
+    table.store(5, 0, 0, 1, TranspositionTable.EXACT);
+    assertEquals(TranspositionTable.MISS, table.probe(1));
+    assertEquals(TranspositionTable.MISS, table.probe(3));
+    assertEquals(1, TranspositionTable.depth(table.probe(4)));
+    assertEquals(1, TranspositionTable.depth(table.probe(5)));
+  }
+
+  /**
+   * Tests that threads storing and probing the same small table never see an entry whose
+   * data belongs to another position.
+   *
+   * @throws InterruptedException if interrupted while waiting for the threads
+   */
+  @Test
+  public void testConcurrentAccessNeverTears() throws InterruptedException {
+    TranspositionTable table = new TranspositionTable(64);
+    AtomicBoolean torn = new AtomicBoolean();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      long seed = t;
+      threads.add(new Thread(() -> {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < 200_000; i++) {
+          long key = random.nextLong(1024);
+          if (random.nextBoolean()) {
+            // Every field is derived from the key, so a mismatch means a torn entry.
+            table.store(key, (int) key, (int) -key, (int) (key & 0xFF),
+                TranspositionTable.EXACT);
+          } else {
+            long data = table.probe(key);
+            if (data != TranspositionTable.MISS && (TranspositionTable.move(data) != key
+                || TranspositionTable.score(data) != -key)) {
+              torn.set(true);
+            }
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertFalse(torn.get());
+  }
+}
@@ -0,0 +1,97 @@
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests for the Zobrist keys of positions.
+ */
+public class ZobristTest {
+
+  /**
+   * Tests that the key kept up to date by every move, and restored by taking it back,
+   * matches the key computed from scratch, throughout the tree to depth 3 of a position
+   * with every kind of special move.
+   */
+  @Test
+  public void testIncrementalKeyMatchesFullKey() {
+    Position position = Position.fromFen(
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+    walk(position, 3, new int[3 * MoveGenerator.MAX_MOVES]);
+    position = Position.fromFen(
+        "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1");
+    walk(position, 3, new int[3 * MoveGenerator.MAX_MOVES]);
+  }
+
+  private static void walk(Position position, int depth, int[] moves) {
+    assertEquals(Zobrist.keyOf(position), position.key());
+    if (depth == 0) {
+      return;
+    }
+    long key = position.key();
+    int offset = (depth - 1) * MoveGenerator.MAX_MOVES;
+    int count = MoveGenerator.generateLegal(position, moves, offset);
+    for (int i = offset; i < offset + count; i++) {
+      position.makeMove(moves[i]);
+      walk(position, depth - 1, moves);
+      position.unmakeMove(moves[i]);
+      assertEquals(key, position.key());
+    }
+  }
+
+  /**
+   * Tests that the same position reached by different orders of moves has the same key,
+   * whatever the move counters say.
+   */
+  @Test
+  public void testTranspositionsShareKey() {
+    Position first = Position.start();
+    first.makeMove(Move.of(6, 21, Move.NORMAL));
+    first.makeMove(Move.of(62, 45, Move.NORMAL));
+    first.makeMove(Move.of(1, 18, Move.NORMAL));
+
+    Position second = Position.start();
+    second.makeMove(Move.of(1, 18, Move.NORMAL));
+    second.makeMove(Move.of(62, 45, Move.NORMAL));
+    second.makeMove(Move.of(6, 21, Move.NORMAL));
+
+    assertEquals(first.key(), second.key());
+    assertEquals(first.key(),
+        Position.fromFen("rnbqkb1r/pppppppp/5n2/8/8/2N2N2/PPPPPPPP/R1BQKB1R b KQkq - 7 30")
+            .key());
+  }
+
+  /**
+   * Tests that the side to move, the castling rights and the en passant square all change
+   * the key.
+   */
+  @Test
+  public void testStateChangesKey() {
+    String[] fens = {
+        "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+        "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 1",
+        "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQk - 0 1",
+        "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b - - 0 1",
+        "rnbqkbnr/pppppppp/8/8/8/4P3/PPPP1PPP/RNBQKBNR b KQkq - 0 1"
+    };
+    Set<Long> keys = new HashSet<>();
+    for (String fen : fens) {
+      keys.add(Position.fromFen(fen).key());
+    }
+    assertEquals(fens.length, keys.size());
+  }
+
+  /**
+   * Tests that keys do not change from run to run.
+   */
+  @Test
+  public void testKeysAreFixed() {
+    assertEquals(Position.start().key(), Position.start().key());
+    assertEquals(Zobrist.keyOf(Position.start()), Position.start().copy().key());
+    assertNotEquals(0L, Position.start().key());
+  }
+}
@@ -0,0 +1,150 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Lab2 date classes: the table-driven calendar kernel against the original
+ * modulo-chain leap year and month length checks, and the public {@code MyDate} paths built
+ * on it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CalendarBenchmark {
+  private static final MethodHandle IS_LEAP_YEAR =
+      Unnamed.statics("CalendarMath", "isLeapYear", boolean.class, int.class);
+  private static final MethodHandle DAYS_IN_MONTH =
+      Unnamed.statics("CalendarMath", "daysInMonth", int.class, int.class, int.class);
+  private static final MethodHandle NEW_MY_DATE =
+      Unnamed.constructor("MyDate", int.class, int.class, int.class);
+  private static final MethodHandle ADVANCE =
+      Unnamed.virtual("MyDate", "advance", void.class, int.class);
+  private static final MethodHandle TO_STRING =
+      Unnamed.virtual("MyDate", "toString", String.class);
+
+  private static final int SAMPLES = 1024;
+
+  @Param({"1", "2024", "9999"})
+  private int year;
+
+  private int[] years;
+  private int[] months;
+  private Object date;
+
+  /**
+   * Prepares random years and months around the chosen year, and a date in that year.
+   *
+   * @throws Throwable if the lab classes cannot be called
+   */
+  @Setup
+  public void setUp() throws Throwable {
+    Random random = new Random(42);
+    this.years = new int[SAMPLES];
+    this.months = new int[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      this.years[i] = this.year + random.nextInt(800);
+      this.months[i] = 1 + random.nextInt(12);
+    }
+    this.date = (Object) NEW_MY_DATE.invokeExact(15, 6, this.year);
+  }
+
+  @Benchmark
+  public int leapYearKernel() throws Throwable {
+    int count = 0;
+    for (int y : this.years) {
+      if ((boolean) IS_LEAP_YEAR.invokeExact(y)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int leapYearModuloChain() {
+    int count = 0;
+    for (int y : this.years) {
+      if (isLeapYearModuloChain(y)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int daysInMonthKernel() throws Throwable {
+    int total = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      total += (int) DAYS_IN_MONTH.invokeExact(this.months[i], this.years[i]);
+    }
+    return total;
+  }
+
+  @Benchmark
+  public int daysInMonthModuloChain() {
+    int total = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      total += daysInMonthModuloChain(this.months[i], this.years[i]);
+    }
+    return total;
+  }
+
+  @Benchmark
+  public Object advance() throws Throwable {
+    ADVANCE.invokeExact(this.date, 1000);
+    ADVANCE.invokeExact(this.date, -1000);
+    return this.date;
+  }
+
+  @Benchmark
+  public Object construct() throws Throwable {
+    return (Object) NEW_MY_DATE.invokeExact(28, 2, this.year);
+  }
+
+  @Benchmark
+  public String format() throws Throwable {
+    return (String) TO_STRING.invokeExact(this.date);
+  }
+
+  // The leap year and month length checks MyDate used before the table-driven kernel.
+
+  private static boolean isLeapYearModuloChain(int y) {
+    if (y % 4 != 0) {
+      return false;
+    }
+    if (y % 100 != 0) {
+      return true;
+    }
+    return y % 400 == 0;
+  }
+
+  private static int daysInMonthModuloChain(int month, int year) {
+    if (month == 2) {
+      if (isLeapYearModuloChain(year)) {
+        return 29;
+      } else {
+        return 28;
+      }
+    } else if ((month <= 7 && month % 2 == 1) || (month >= 8 && month % 2 == 0)) {
+      return 31;
+    } else {
+      return 30;
+    }
+  }
+}
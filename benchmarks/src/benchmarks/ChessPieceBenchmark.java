@@ -0,0 +1,127 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code canMove} and {@code canKill} of the Lab3 chess pieces, each call sweeping
+ * all 64 squares of the board, both on the piece objects and on the same pieces packed by
+ * {@code PackedPiece}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChessPieceBenchmark {
+  private static final Class<?> CHESS_PIECE = Unnamed.type("ChessPiece");
+  private static final Class<?> COLOR = Unnamed.type("Color");
+  private static final MethodHandle CAN_MOVE =
+      Unnamed.virtual("ChessPiece", "canMove", boolean.class, int.class, int.class);
+  private static final MethodHandle MOVES_MASK =
+      Unnamed.virtual("ChessPiece", "movesMask", long.class);
+  private static final MethodHandle CAN_KILL =
+      Unnamed.virtual("ChessPiece", "canKill", boolean.class, CHESS_PIECE);
+  private static final MethodHandle PACK =
+      Unnamed.statics("PackedPiece", "of", short.class, CHESS_PIECE);
+  private static final MethodHandle PACKED_CAN_MOVE = Unnamed.statics("PackedPiece",
+      "canMove", boolean.class, short.class, int.class, int.class);
+  private static final MethodHandle PACKED_CAN_KILL = Unnamed.statics("PackedPiece",
+      "canKill", boolean.class, short.class, short.class);
+
+  @Param({"Rook", "Bishop", "Queen", "Knight", "King", "Pawn"})
+  private String piece;
+
+  private Object attacker;
+  private Object[] victims;
+  private short packedAttacker;
+  private short[] packedVictims;
+
+  /**
+   * Places the chosen piece near the center and one opposing piece on every square.
+   *
+   * @throws Throwable if the lab classes cannot be called
+   */
+  @Setup
+  public void setUp() throws Throwable {
+    MethodHandle create = Unnamed.constructor(this.piece, int.class, int.class, COLOR);
+    Object white = COLOR.getEnumConstants()[0];
+    Object black = COLOR.getEnumConstants()[1];
+    this.attacker = (Object) create.invokeExact(3, 4, white);
+    this.victims = new Object[64];
+    for (int square = 0; square < 64; square++) {
+      this.victims[square] = (Object) create.invokeExact(square / 8, square % 8, black);
+    }
+    this.packedAttacker = (short) PACK.invokeExact(this.attacker);
+    this.packedVictims = new short[64];
+    for (int square = 0; square < 64; square++) {
+      this.packedVictims[square] = (short) PACK.invokeExact(this.victims[square]);
+    }
+  }
+
+  @Benchmark
+  public int canMove() throws Throwable {
+    int count = 0;
+    for (int row = 0; row < 8; row++) {
+      for (int col = 0; col < 8; col++) {
+        if ((boolean) CAN_MOVE.invokeExact(this.attacker, row, col)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int movesMask() throws Throwable {
+    return Long.bitCount((long) MOVES_MASK.invokeExact(this.attacker));
+  }
+
+  @Benchmark
+  public int canKill() throws Throwable {
+    int count = 0;
+    for (Object victim : this.victims) {
+      if ((boolean) CAN_KILL.invokeExact(this.attacker, victim)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int packedCanMove() throws Throwable {
+    int count = 0;
+    for (int row = 0; row < 8; row++) {
+      for (int col = 0; col < 8; col++) {
+        if ((boolean) PACKED_CAN_MOVE.invokeExact(this.packedAttacker, row, col)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int packedCanKill() throws Throwable {
+    int count = 0;
+    for (short victim : this.packedVictims) {
+      if ((boolean) PACKED_CAN_KILL.invokeExact(this.packedAttacker, victim)) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
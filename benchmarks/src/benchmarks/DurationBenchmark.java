@@ -0,0 +1,114 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@code AbstractDuration} operations for both duration representations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DurationBenchmark {
+  private static final Class<?> DURATION = Unnamed.type("Duration");
+  private static final MethodHandle NEW_COMPACT =
+      Unnamed.constructor("CompactDuration", long.class);
+  private static final MethodHandle NEW_HMS =
+      Unnamed.constructor("HMSDuration", int.class, int.class, int.class);
+  private static final MethodHandle OF_SECONDS =
+      Unnamed.statics("Duration", "ofSeconds", DURATION, long.class);
+  private static final MethodHandle ADD =
+      Unnamed.virtual("Duration", "add", DURATION, DURATION);
+  private static final MethodHandle COMPARE_TO =
+      Unnamed.virtual("AbstractDuration", "compareTo", int.class, DURATION);
+  private static final MethodHandle AS_HMS =
+      Unnamed.virtual("Duration", "asHms", String.class);
+  private static final MethodHandle FORMAT_HMS_TO =
+      Unnamed.virtual("Duration", "formatHmsTo", void.class, StringBuilder.class);
+  private static final MethodHandle PARSE_HMS =
+      Unnamed.statics("HmsParser", "parse", long.class, CharSequence.class, int.class);
+  private static final String HMS_TEXT = "22:59:59";
+
+  @Param({"compact", "hms"})
+  private String representation;
+
+  private boolean compact;
+  private Object first;
+  private Object second;
+  private final StringBuilder report = new StringBuilder();
+
+  /**
+   * Creates two durations in the chosen representation.
+   *
+   * @throws Throwable if the lab classes cannot be called
+   */
+  @Setup
+  public void setUp() throws Throwable {
+    this.compact = "compact".equals(this.representation);
+    if (this.compact) {
+      this.first = (Object) NEW_COMPACT.invokeExact(3_600L);
+      this.second = (Object) NEW_COMPACT.invokeExact(82_799L);
+    } else {
+      this.first = (Object) NEW_HMS.invokeExact(1, 0, 0);
+      this.second = (Object) NEW_HMS.invokeExact(22, 59, 59);
+    }
+  }
+
+  @Benchmark
+  public Object add() throws Throwable {
+    return (Object) ADD.invokeExact(this.first, this.second);
+  }
+
+  @Benchmark
+  public Object ofSeconds() throws Throwable {
+    return (Object) OF_SECONDS.invokeExact(3_600L);
+  }
+
+  @Benchmark
+  public int compareTo() throws Throwable {
+    return (int) COMPARE_TO.invokeExact(this.first, this.second);
+  }
+
+  @Benchmark
+  public String asHms() throws Throwable {
+    // A duration keeps the string asHms renders, so only a fresh one measures rendering.
+    Object duration = this.compact
+        ? (Object) NEW_COMPACT.invokeExact(82_799L)
+        : (Object) NEW_HMS.invokeExact(22, 59, 59);
+    return (String) AS_HMS.invokeExact(duration);
+  }
+
+  @Benchmark
+  public int formatHmsTo() throws Throwable {
+    this.report.setLength(0);
+    FORMAT_HMS_TO.invokeExact(this.second, this.report);
+    return this.report.length();
+  }
+
+  @Benchmark
+  public long parseHms() throws Throwable {
+    return (long) PARSE_HMS.invokeExact((CharSequence) HMS_TEXT, 0);
+  }
+
+  @Benchmark
+  public long splitParseHms() {
+    String[] fields = HMS_TEXT.split(":");
+    return 3600L * Integer.parseInt(fields[0]) + 60 * Integer.parseInt(fields[1])
+        + Integer.parseInt(fields[2]);
+  }
+}
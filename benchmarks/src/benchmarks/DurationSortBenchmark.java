@@ -0,0 +1,86 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sorting a list of durations with {@code compareTo} against the {@code Durations}
+ * sorts, and against picking the longest few without sorting at all.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DurationSortBenchmark {
+  private static final Class<?> DURATION = Unnamed.type("Duration");
+  private static final MethodHandle OF_SECONDS =
+      Unnamed.statics("Duration", "ofSeconds", DURATION, long.class);
+  private static final MethodHandle RADIX_SORT =
+      Unnamed.statics("Durations", "radixSort", void.class, List.class);
+  private static final MethodHandle PARALLEL_SORT =
+      Unnamed.statics("Durations", "parallelSort", void.class, List.class);
+  private static final MethodHandle LONGEST =
+      Unnamed.statics("Durations", "longest", List.class, Iterable.class, int.class);
+
+  @Param({"100000"})
+  private int size;
+
+  private List<Object> durations;
+
+  /**
+   * Creates a list of durations of up to one week in random order.
+   *
+   * @throws Throwable if the lab classes cannot be called
+   */
+  @Setup
+  public void setUp() throws Throwable {
+    Random random = new Random(42);
+    this.durations = new ArrayList<>(this.size);
+    for (int i = 0; i < this.size; i++) {
+      this.durations.add((Object) OF_SECONDS.invokeExact((long) random.nextInt(604_800)));
+    }
+  }
+
+  @Benchmark
+  public List<Object> compareToSort() {
+    List<Object> copy = new ArrayList<>(this.durations);
+    copy.sort(null);
+    return copy;
+  }
+
+  @Benchmark
+  public List<Object> radixSort() throws Throwable {
+    List<Object> copy = new ArrayList<>(this.durations);
+    RADIX_SORT.invokeExact(copy);
+    return copy;
+  }
+
+  @Benchmark
+  public List<Object> parallelSort() throws Throwable {
+    List<Object> copy = new ArrayList<>(this.durations);
+    PARALLEL_SORT.invokeExact(copy);
+    return copy;
+  }
+
+  @Benchmark
+  public List<?> longest1000() throws Throwable {
+    return (List<?>) LONGEST.invokeExact((Iterable<?>) this.durations, 1000);
+  }
+}
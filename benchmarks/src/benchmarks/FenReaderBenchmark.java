@@ -0,0 +1,98 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Lab3 position file pipeline per position: decoding alone with
+ * {@code FenReader}, and decoding plus the {@code canMove}/{@code canKill} analysis of
+ * {@code ThreatAnalysis} on one thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FenReaderBenchmark {
+  private static final int POSITIONS = 10_000;
+  private static final String[] FENS = {
+      "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+      "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+      "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 b - - bm Rb1; id \"endgame\";"
+  };
+  private static final Class<?> READER = Unnamed.type("FenReader");
+  private static final Class<?> BUFFER = Unnamed.type("PieceBuffer");
+  private static final MethodHandle OPEN =
+      Unnamed.statics("FenReader", "open", READER, Path.class);
+  private static final MethodHandle NEW_BUFFER = Unnamed.constructor("PieceBuffer");
+  private static final MethodHandle READ =
+      Unnamed.virtual("FenReader", "read", boolean.class, BUFFER);
+  private static final MethodHandle CLOSE = Unnamed.virtual("FenReader", "close", void.class);
+  private static final MethodHandle ANALYZE = Unnamed.statics("ThreatAnalysis", "analyze",
+      Unnamed.type("ThreatAnalysis$Report"), Path.class, int.class);
+
+  private Path path;
+  private Object buffer;
+
+  /**
+   * Writes the position file.
+   *
+   * @throws Throwable if the file cannot be written or the lab classes cannot be called
+   */
+  @Setup
+  public void setUp() throws Throwable {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < POSITIONS; i++) {
+      text.append(FENS[i % FENS.length]).append('\n');
+    }
+    this.path = Files.createTempFile("positions", ".epd");
+    Files.write(this.path, text.toString().getBytes(StandardCharsets.US_ASCII));
+    this.buffer = (Object) NEW_BUFFER.invokeExact();
+  }
+
+  /**
+   * Deletes the position file.
+   *
+   * @throws IOException if the file cannot be deleted
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.delete(this.path);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POSITIONS)
+  public int read() throws Throwable {
+    Object reader = (Object) OPEN.invokeExact(this.path);
+    int count = 0;
+    while ((boolean) READ.invokeExact(reader, this.buffer)) {
+      count++;
+    }
+    CLOSE.invokeExact(reader);
+    return count;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POSITIONS)
+  public Object analyze() throws Throwable {
+    return (Object) ANALYZE.invokeExact(this.path, 1);
+  }
+}
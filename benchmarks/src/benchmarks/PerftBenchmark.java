@@ -0,0 +1,76 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Lab3 move generator: legal move generation in single positions, and perft,
+ * which walks the whole legal move tree to a fixed depth. Dividing the perft node count,
+ * which is fixed for each position and depth, by the time per call gives nodes per second.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PerftBenchmark {
+  private static final Class<?> POSITION = Unnamed.type("Position");
+  private static final MethodHandle FROM_FEN =
+      Unnamed.statics("Position", "fromFen", POSITION, CharSequence.class);
+  private static final MethodHandle PERFT =
+      Unnamed.statics("Perft", "perft", long.class, POSITION, int.class);
+  private static final MethodHandle GENERATE_LEGAL = Unnamed.statics("MoveGenerator",
+      "generateLegal", int.class, POSITION, int[].class, int.class);
+  private static final MethodHandle GENERATE_PSEUDO_LEGAL = Unnamed.statics("MoveGenerator",
+      "generatePseudoLegal", int.class, POSITION, int[].class, int.class);
+
+  @Param({
+      "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+      "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"
+  })
+  private String fen;
+
+  @Param({"3"})
+  private int depth;
+
+  private Object position;
+  private final int[] moves = new int[256];
+
+  /**
+   * Reads the chosen position.
+   *
+   * @throws Throwable if the lab classes cannot be called
+   */
+  @Setup
+  public void setUp() throws Throwable {
+    this.position = (Object) FROM_FEN.invokeExact((CharSequence) this.fen);
+  }
+
+  @Benchmark
+  public long perft() throws Throwable {
+    return (long) PERFT.invokeExact(this.position, this.depth);
+  }
+
+  @Benchmark
+  public int generateLegal() throws Throwable {
+    return (int) GENERATE_LEGAL.invokeExact(this.position, this.moves, 0);
+  }
+
+  @Benchmark
+  public int generatePseudoLegal() throws Throwable {
+    return (int) GENERATE_PSEUDO_LEGAL.invokeExact(this.position, this.moves, 0);
+  }
+}
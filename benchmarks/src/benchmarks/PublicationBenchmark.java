@@ -0,0 +1,63 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import publication.Article;
+import publication.Book;
+import publication.Publication;
+import publication.Webpage;
+
+/**
+ * Measures citation formatting for each kind of publication.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PublicationBenchmark {
+  @Param({"book", "article", "webpage"})
+  private String kind;
+
+  private Publication publication;
+
+  /**
+   * Creates a publication of the chosen kind.
+   */
+  @Setup
+  public void setUp() {
+    if ("book".equals(this.kind)) {
+      this.publication = new Book("Midnight's Children", "Salman Rushdie",
+          "Jonathan Cape", "London", 1980);
+    } else if ("article".equals(this.kind)) {
+      this.publication = new Article("Computing machinery and intelligence",
+          "A. M. Turing", "Mind", 59, 236, 1950);
+    } else {
+      this.publication = new Webpage("Khoury College at Northeastern University",
+          "https://www.khoury.northeastern.edu/", "10th August 2022");
+    }
+  }
+
+  @Benchmark
+  public String citeApa() {
+    return this.publication.citeApa();
+  }
+
+  @Benchmark
+  public String citeMla() {
+    return this.publication.citeMla();
+  }
+}
@@ -0,0 +1,93 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Lab3 alpha-beta search to a fixed depth with different numbers of threads.
+ * Each call starts from an empty transposition table, so no call benefits from the last.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+  private static final Class<?> POSITION = Unnamed.type("Position");
+  private static final Class<?> TABLE = Unnamed.type("TranspositionTable");
+  private static final MethodHandle FROM_FEN =
+      Unnamed.statics("Position", "fromFen", POSITION, CharSequence.class);
+  private static final MethodHandle NEW_TABLE = Unnamed.constructor("TranspositionTable",
+      int.class);
+  private static final MethodHandle CLEAR = Unnamed.virtual("TranspositionTable", "clear",
+      void.class);
+  private static final MethodHandle NEW_SEARCH = Unnamed.constructor("Search", int.class,
+      TABLE);
+  private static final MethodHandle SEARCH = Unnamed.virtual("Search", "search",
+      Unnamed.type("Search$Result"), POSITION, int.class);
+
+  @Param({"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"})
+  private String fen;
+
+  @Param({"5"})
+  private int depth;
+
+  @Param({"1", "2", "4"})
+  private int threads;
+
+  private Object position;
+  private Object table;
+  private Object search;
+
+  /**
+   * Reads the chosen position and starts the search threads.
+   *
+   * @throws Throwable if the lab classes cannot be called
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Throwable {
+    this.position = (Object) FROM_FEN.invokeExact((CharSequence) this.fen);
+    this.table = (Object) NEW_TABLE.invokeExact(1 << 20);
+    this.search = (Object) NEW_SEARCH.invokeExact(this.threads, this.table);
+  }
+
+  /**
+   * Empties the table before each call.
+   *
+   * @throws Throwable if the lab classes cannot be called
+   */
+  @Setup(Level.Invocation)
+  public void clearTable() throws Throwable {
+    CLEAR.invokeExact(this.table);
+  }
+
+  /**
+   * Stops the search threads.
+   *
+   * @throws Throwable if the lab classes cannot be called
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Throwable {
+    ((AutoCloseable) this.search).close();
+  }
+
+  @Benchmark
+  public Object search() throws Throwable {
+    return (Object) SEARCH.invokeExact(this.search, this.position, this.depth);
+  }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vehicle.ManualTransmission;
+import vehicle.RegularManualTransmission;
+
+/**
+ * Measures the state transitions of {@link RegularManualTransmission} by driving from a
+ * standstill to top speed in top gear and back again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransmissionBenchmark {
+  private ManualTransmission transmission;
+
+  /**
+   * Creates a transmission with overlapping gear ranges.
+   */
+  @Setup
+  public void setUp() {
+    this.transmission = new RegularManualTransmission(
+        0, 10,
+        5, 20,
+        15, 30,
+        25, 40,
+        35, 50);
+  }
+
+  @Benchmark
+  public ManualTransmission accelerateAndBrake() {
+    ManualTransmission t = this.transmission;
+    while (t.getSpeed() < 50) {
+      int speed = t.getSpeed();
+      t = t.increaseSpeed();
+      if (t.getSpeed() == speed) {
+        t = t.increaseGear();
+      }
+    }
+    while (t.getSpeed() > 0) {
+      int speed = t.getSpeed();
+      t = t.decreaseSpeed();
+      if (t.getSpeed() == speed) {
+        t = t.decreaseGear();
+      }
+    }
+    return t;
+  }
+}
@@ -0,0 +1,112 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Looks up members of the lab classes that live in the unnamed package.
+ * JMH only accepts benchmarks in a named package, and Java cannot import from the unnamed
+ * package, so benchmarks reach those classes through method handles instead. Every handle
+ * is adapted to take and return {@code Object} in place of unnamed-package types; stored in
+ * a {@code static final} field, the JIT compiler inlines the call as if it were direct.
+ */
+final class Unnamed {
+  private Unnamed() {
+  }
+
+  /**
+   * Finds the class with the given name in the unnamed package.
+   *
+   * @param name the simple name of the class
+   * @return the class
+   */
+  static Class<?> type(String name) {
+    try {
+      return Class.forName(name);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Lab class not on the classpath: " + name, e);
+    }
+  }
+
+  /**
+   * Finds a constructor, including package-private ones.
+   *
+   * @param owner      the simple name of the class
+   * @param parameters the parameter types of the constructor
+   * @return a handle returning {@code Object}
+   */
+  static MethodHandle constructor(String owner, Class<?>... parameters) {
+    Class<?> type = type(owner);
+    try {
+      MethodHandle handle = lookup(type)
+          .findConstructor(type, MethodType.methodType(void.class, parameters));
+      return erase(handle);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("No such constructor in " + owner, e);
+    }
+  }
+
+  /**
+   * Finds an instance method, including package-private ones.
+   *
+   * @param owner      the simple name of the class declaring the method
+   * @param name       the name of the method
+   * @param returnType the return type of the method
+   * @param parameters the parameter types of the method
+   * @return a handle taking the receiver as {@code Object}
+   */
+  static MethodHandle virtual(String owner, String name, Class<?> returnType,
+                              Class<?>... parameters) {
+    Class<?> type = type(owner);
+    try {
+      MethodHandle handle = lookup(type)
+          .findVirtual(type, name, MethodType.methodType(returnType, parameters));
+      return erase(handle);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("No such method " + owner + "." + name, e);
+    }
+  }
+
+  /**
+   * Finds a static method, including package-private ones.
+   *
+   * @param owner      the simple name of the class declaring the method
+   * @param name       the name of the method
+   * @param returnType the return type of the method
+   * @param parameters the parameter types of the method
+   * @return the handle
+   */
+  static MethodHandle statics(String owner, String name, Class<?> returnType,
+                              Class<?>... parameters) {
+    Class<?> type = type(owner);
+    try {
+      MethodHandle handle = lookup(type)
+          .findStatic(type, name, MethodType.methodType(returnType, parameters));
+      return erase(handle);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("No such method " + owner + "." + name, e);
+    }
+  }
+
+  private static MethodHandles.Lookup lookup(Class<?> type) throws IllegalAccessException {
+    return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+  }
+
+  private static MethodHandle erase(MethodHandle handle) {
+    MethodType type = handle.type();
+    for (int i = 0; i < type.parameterCount(); i++) {
+      if (isUnnamed(type.parameterType(i))) {
+        type = type.changeParameterType(i, Object.class);
+      }
+    }
+    if (isUnnamed(type.returnType())) {
+      type = type.changeReturnType(Object.class);
+    }
+    return handle.asType(type);
+  }
+
+  private static boolean isUnnamed(Class<?> type) {
+    return !type.isPrimitive() && !type.isArray() && type.getPackageName().isEmpty();
+  }
+}